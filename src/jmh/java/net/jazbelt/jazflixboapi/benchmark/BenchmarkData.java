@@ -0,0 +1,45 @@
+package net.jazbelt.jazflixboapi.benchmark;
+
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import net.jazbelt.jazflixboapi.model.entity.Section;
+import net.jazbelt.jazflixboapi.model.entity.User;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Deterministic entities, so every run and release measures the same
+ * payloads.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static Movie movie(int i) {
+        String id = String.format("%024x", i);
+        return new Movie(
+                id,
+                "Movie " + i,
+                "Description of benchmark movie number " + i,
+                "http://movies.info/" + i + ".png",
+                "movie" + i + ".mp4",
+                "tag" + (i % 10) + ",tag" + (i % 7) + ",Benchmark",
+                (long) i % 5,
+                null,
+                null
+        );
+    }
+
+    static List<Movie> movies(int count) {
+        return IntStream.range(0, count).mapToObj(BenchmarkData::movie).toList();
+    }
+
+    static Section section(int i) {
+        return new Section(String.format("%024x", i), "mdi-icon-" + i, "Section " + i, "/sections/" + i, i, 1L);
+    }
+
+    static User user(int i) {
+        return new User(String.format("%024x", i), "user" + i + "@jazflix.net", i % 2 == 0, 2L);
+    }
+}
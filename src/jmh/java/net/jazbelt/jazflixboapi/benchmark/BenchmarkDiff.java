@@ -0,0 +1,86 @@
+package net.jazbelt.jazflixboapi.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Compare two JMH JSON result files, typically the ones of the previous
+ * and the current release. Changes larger than both error margins
+ * together are marked with an asterisk.
+ */
+public final class BenchmarkDiff {
+
+    private static final String ROW = "%-64s %14s %14s %-8s %9s%n";
+
+    private BenchmarkDiff() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BenchmarkDiff <baseline.json> <current.json>");
+            System.exit(2);
+        }
+
+        Map<String, JsonNode> baseline = read(args[0]);
+        Map<String, JsonNode> current = read(args[1]);
+
+        TreeSet<String> names = new TreeSet<>(baseline.keySet());
+        names.addAll(current.keySet());
+
+        System.out.printf(ROW, "Benchmark", "Baseline", "Current", "Units", "Change");
+        for (String name : names) {
+            JsonNode before = baseline.get(name);
+            JsonNode after = current.get(name);
+            System.out.printf(ROW, name, score(before), score(after), unit(before, after), change(before, after));
+        }
+    }
+
+    private static Map<String, JsonNode> read(String path) throws IOException {
+        Map<String, JsonNode> results = new TreeMap<>();
+
+        for (JsonNode result : new ObjectMapper().readTree(new File(path))) {
+            StringBuilder name = new StringBuilder(simpleName(result.path("benchmark").asText()));
+            result.path("params").fields().forEachRemaining(param ->
+                    name.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            results.put(name.toString(), result.path("primaryMetric"));
+        }
+
+        return results;
+    }
+
+    private static String simpleName(String benchmark) {
+        int method = benchmark.lastIndexOf('.');
+        return benchmark.substring(benchmark.lastIndexOf('.', method - 1) + 1);
+    }
+
+    private static String score(JsonNode metric) {
+        return metric == null ? "-" : String.format("%.3f", metric.path("score").asDouble());
+    }
+
+    private static String unit(JsonNode before, JsonNode after) {
+        return (after != null ? after : before).path("scoreUnit").asText();
+    }
+
+    private static String change(JsonNode before, JsonNode after) {
+        if (before == null || after == null || before.path("score").asDouble() == 0) {
+            return "-";
+        }
+
+        double old = before.path("score").asDouble();
+        double delta = after.path("score").asDouble() - old;
+        double error = errorOf(before) + errorOf(after);
+
+        return String.format("%+.1f%%%s", 100 * delta / old, Math.abs(delta) > error ? "*" : "");
+    }
+
+    private static double errorOf(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble();
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
@@ -0,0 +1,62 @@
+package net.jazbelt.jazflixboapi.benchmark;
+
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to BSON document mapping done by the repositories on every
+ * write and for every document read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BsonMappingBenchmark {
+
+    private MappingMongoConverter converter;
+
+    private Movie movie;
+
+    private Document document;
+
+    @Setup
+    public void setUp() {
+        MongoMappingContext context = new MongoMappingContext();
+        context.afterPropertiesSet();
+
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.afterPropertiesSet();
+
+        movie = BenchmarkData.movie(1);
+        document = writeMovie();
+    }
+
+    @Benchmark
+    public Document writeMovie() {
+        Document target = new Document();
+        converter.write(movie, target);
+        return target;
+    }
+
+    @Benchmark
+    public Movie readMovie() {
+        return converter.read(Movie.class, document);
+    }
+}
@@ -0,0 +1,61 @@
+package net.jazbelt.jazflixboapi.benchmark;
+
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import net.jazbelt.jazflixboapi.model.repository.MovieRepository;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * MovieRepository answering the read methods the services use from a
+ * sorted map, so service benchmarks measure no database time.
+ */
+final class InMemoryMovieRepository {
+
+    private InMemoryMovieRepository() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static MovieRepository of(List<Movie> movies) {
+        NavigableMap<String, Movie> byId = new TreeMap<>();
+        movies.forEach(movie -> byId.put(movie.getId(), movie));
+
+        return (MovieRepository) Proxy.newProxyInstance(
+                MovieRepository.class.getClassLoader(),
+                new Class<?>[]{MovieRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findAll" -> new ArrayList<>(byId.values());
+                    case "findById" -> Optional.ofNullable(byId.get((String) args[0]));
+                    case "existsById" -> byId.containsKey((String) args[0]);
+                    case "findAllByOrderByIdAsc" -> limit(byId.values(), (Limit) args[0]);
+                    case "findByIdGreaterThanOrderByIdAsc" ->
+                            limit(byId.tailMap((String) args[0], false).values(), (Limit) args[1]);
+                    case "streamTitlesBy" -> byId.values().stream();
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryMovieRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+    }
+
+    private static List<Movie> limit(Collection<Movie> movies, Limit limit) {
+        int max = limit.isLimited() ? limit.max() : Integer.MAX_VALUE;
+        List<Movie> result = new ArrayList<>();
+
+        for (Movie movie : movies) {
+            if (result.size() == max) {
+                break;
+            }
+            result.add(movie);
+        }
+
+        return result;
+    }
+}
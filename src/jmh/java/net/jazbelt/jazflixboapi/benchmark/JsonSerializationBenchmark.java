@@ -0,0 +1,101 @@
+package net.jazbelt.jazflixboapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jazbelt.jazflixboapi.controller.JsonFragmentModule;
+import net.jazbelt.jazflixboapi.domain.JsonFragmentCache;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import net.jazbelt.jazflixboapi.model.entity.Section;
+import net.jazbelt.jazflixboapi.model.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response and request body mapping with the same ObjectMapper settings
+ * Spring Boot applies to the HTTP message converters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper mapper;
+
+    private Movie movie;
+
+    private Section section;
+
+    private User user;
+
+    private List<Movie> movies;
+
+    private List<Movie> movieFragments;
+
+    private byte[] movieJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        mapper = Jackson2ObjectMapperBuilder.json().modulesToInstall(new JsonFragmentModule()).build();
+        movie = BenchmarkData.movie(1);
+        section = BenchmarkData.section(1);
+        user = BenchmarkData.user(1);
+        movies = BenchmarkData.movies(100);
+        movieJson = mapper.writeValueAsBytes(movie);
+
+        JsonFragmentCache<Movie> cache = new JsonFragmentCache<>("movie-json", 1000, Duration.ofHours(1),
+                mapper.writerFor(Movie.class), Movie::getId, m -> m.getScore() == null);
+        movieFragments = cache.list(movies);
+        mapper.writeValueAsBytes(movieFragments);
+    }
+
+    @Benchmark
+    public byte[] writeMovie() throws Exception {
+        return mapper.writeValueAsBytes(movie);
+    }
+
+    @Benchmark
+    public byte[] writeSection() throws Exception {
+        return mapper.writeValueAsBytes(section);
+    }
+
+    @Benchmark
+    public byte[] writeUser() throws Exception {
+        return mapper.writeValueAsBytes(user);
+    }
+
+    /**
+     * Body of a GET /movies?limit=100 page.
+     */
+    @Benchmark
+    public byte[] writeMovieList() throws Exception {
+        return mapper.writeValueAsBytes(movies);
+    }
+
+    /**
+     * Same page with every movie already in the JSON fragment cache.
+     */
+    @Benchmark
+    public byte[] writeMovieListFromFragments() throws Exception {
+        return mapper.writeValueAsBytes(movieFragments);
+    }
+
+    @Benchmark
+    public Movie readMovie() throws Exception {
+        return mapper.readValue(movieJson, Movie.class);
+    }
+}
@@ -0,0 +1,122 @@
+package net.jazbelt.jazflixboapi.benchmark;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Sorts;
+import net.jazbelt.jazflixboapi.MongoClientProperties;
+import net.jazbelt.jazflixboapi.MongoConfig;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Movie list pages read by concurrent requests through clients built
+ * from {@link MongoClientProperties}, for each pool size and wire
+ * compressor. Throughput and sampled latency percentiles are reported.
+ * <p>
+ * Needs a running server, by default on localhost. Compression only pays
+ * off over a real network, point the benchmark at a remote server with
+ * -jvmArgsAppend -Dmongo.uri=mongodb://host:27017
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(64)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class MongoClientBenchmark {
+
+    private static final String DATABASE = "jazflix_benchmark";
+
+    private static final int MOVIES = 10_000;
+
+    @Param({"10", "50", "100"})
+    public int poolSize;
+
+    @Param({"none", "snappy", "zlib", "zstd"})
+    public String compressor;
+
+    @Param({"20", "500"})
+    public int pageSize;
+
+    private MongoClient client;
+
+    private MongoCollection<Document> movies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        MongoClientProperties properties = new MongoClientProperties();
+        properties.getPool().setMaxSize(poolSize);
+        if (!compressor.equals("none")) {
+            properties.getCompressors().add(MongoClientProperties.Compressor.valueOf(compressor.toUpperCase()));
+        }
+
+        MongoClientSettings.Builder builder = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(System.getProperty("mongo.uri", "mongodb://localhost:27017")));
+        client = MongoClients.create(MongoConfig.apply(properties, builder).build());
+        movies = client.getDatabase(DATABASE).getCollection("movies");
+
+        if (movies.countDocuments() != MOVIES) {
+            seed();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public List<Document> readPage() {
+        return movies.find()
+                .sort(Sorts.ascending("_id"))
+                .limit(pageSize)
+                .batchSize(pageSize)
+                .into(new ArrayList<>(pageSize));
+    }
+
+    /**
+     * Movies stored the way the repositories write them.
+     */
+    private void seed() {
+        MongoMappingContext context = new MongoMappingContext();
+        context.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, context);
+        converter.afterPropertiesSet();
+
+        movies.drop();
+
+        List<Document> documents = new ArrayList<>(MOVIES);
+        for (Movie movie : BenchmarkData.movies(MOVIES)) {
+            Document document = new Document();
+            converter.write(movie, document);
+            documents.add(document);
+        }
+
+        movies.insertMany(documents);
+    }
+}
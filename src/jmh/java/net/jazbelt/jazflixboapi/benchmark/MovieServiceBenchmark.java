@@ -0,0 +1,94 @@
+package net.jazbelt.jazflixboapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jazbelt.jazflixboapi.BulkProperties;
+import net.jazbelt.jazflixboapi.domain.CollectionVersions;
+import net.jazbelt.jazflixboapi.domain.EntityCache;
+import net.jazbelt.jazflixboapi.domain.JsonFragmentCache;
+import net.jazbelt.jazflixboapi.domain.MovieService;
+import net.jazbelt.jazflixboapi.domain.PageCursor;
+import net.jazbelt.jazflixboapi.domain.TitleIndex;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.dto.TitleSuggestion;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MovieService read methods over an in-memory repository, measuring the
+ * service overhead of paging, caching and the title index.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MovieServiceBenchmark {
+
+    @Param({"10000"})
+    public int movies;
+
+    private MovieService service;
+
+    private String middleId;
+
+    private String middleCursor;
+
+    @Setup
+    public void setUp() {
+        List<Movie> data = BenchmarkData.movies(movies);
+        middleId = data.get(movies / 2).getId();
+        middleCursor = PageCursor.encode(middleId);
+
+        service = new MovieService(
+                InMemoryMovieRepository.of(data),
+                new EntityCache<>("movies", movies, Duration.ofHours(1)),
+                new CollectionVersions(),
+                new BulkProperties(),
+                new TitleIndex(),
+                new JsonFragmentCache<>("movie-json", movies, Duration.ofHours(1),
+                        new ObjectMapper().writerFor(Movie.class), Movie::getId, movie -> movie.getScore() == null)
+        );
+        service.reloadTitleIndex();
+        service.retrieveSingleMovie(middleId);
+    }
+
+    @Benchmark
+    public List<Movie> retrieveAllMovies() {
+        return service.retrieveAllMovies();
+    }
+
+    @Benchmark
+    public CursorPage<Movie> retrieveFirstPage() {
+        return service.retrieveMoviesPage(null, 20);
+    }
+
+    @Benchmark
+    public CursorPage<Movie> retrievePageAfterCursor() {
+        return service.retrieveMoviesPage(middleCursor, 20);
+    }
+
+    @Benchmark
+    public Movie retrieveCachedMovie() {
+        return service.retrieveSingleMovie(middleId);
+    }
+
+    @Benchmark
+    public List<TitleSuggestion> suggestTitles() {
+        return service.suggestTitles("movie 12", 10);
+    }
+}
@@ -0,0 +1,89 @@
+package net.jazbelt.jazflixboapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to serve a burst of concurrent requests, each one waiting on a
+ * simulated database round trip and then serializing a movie, on the
+ * default Tomcat pool versus one virtual thread per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RequestThreadsBenchmark {
+
+    /**
+     * Default server.tomcat.threads.max
+     */
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"200", "1000", "5000"})
+    public int concurrentRequests;
+
+    @Param({"10"})
+    public int dbLatencyMillis;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() {
+        executor = threads.equals("virtual")
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Benchmark
+    public void serveBurst(Blackhole blackhole) throws Exception {
+        List<Future<byte[]>> responses = new ArrayList<>(concurrentRequests);
+
+        for (int i = 0; i < concurrentRequests; i++) {
+            String id = String.valueOf(i);
+            responses.add(executor.submit(() -> handle(id)));
+        }
+
+        for (Future<byte[]> response : responses) {
+            blackhole.consume(response.get());
+        }
+    }
+
+    private byte[] handle(String id) throws Exception {
+        Thread.sleep(dbLatencyMillis);
+
+        Movie movie = new Movie(id, "Movie " + id, "Benchmark movie", "http://movies.info/" + id + ".png", id + ".mp4", "tag1,tag2");
+        return mapper.writeValueAsBytes(movie);
+    }
+}
@@ -0,0 +1,19 @@
+package net.jazbelt.jazflixboapi;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "jazflix.bulk")
+public class BulkProperties {
+
+    /**
+     * Documents sent in each unordered insertMany.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Largest number of items accepted by a single bulk request.
+     */
+    private int maxItems = 100_000;
+}
@@ -0,0 +1,55 @@
+package net.jazbelt.jazflixboapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jazbelt.jazflixboapi.domain.AllowList;
+import net.jazbelt.jazflixboapi.domain.EntityCache;
+import net.jazbelt.jazflixboapi.domain.JsonFragmentCache;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import net.jazbelt.jazflixboapi.model.entity.Section;
+import net.jazbelt.jazflixboapi.model.entity.User;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public EntityCache<Movie> movieCache(EntityCacheProperties properties) {
+        return create("movies", properties.getMovies());
+    }
+
+    @Bean
+    public EntityCache<Section> sectionCache(EntityCacheProperties properties) {
+        return create("sections", properties.getSections());
+    }
+
+    @Bean
+    public EntityCache<User> userCache(EntityCacheProperties properties) {
+        return create("users", properties.getUsers());
+    }
+
+    /**
+     * Search results carry their relevance score, they are always
+     * serialized.
+     */
+    @Bean
+    public JsonFragmentCache<Movie> movieJsonCache(EntityCacheProperties properties, ObjectMapper mapper) {
+        EntityCacheProperties.Spec spec = properties.getMovieJson();
+        return new JsonFragmentCache<>("movie-json", spec.getMaximumSize(), spec.getTtl(),
+                mapper.writerFor(Movie.class), Movie::getId, movie -> movie.getScore() == null);
+    }
+
+    @Bean
+    public AllowList allowList(EntityCacheProperties properties) {
+        EntityCacheProperties.Spec spec = properties.getAuthDenied();
+        return new AllowList(spec.getMaximumSize(), spec.getTtl());
+    }
+
+    private static <T> EntityCache<T> create(String name, EntityCacheProperties.Spec spec) {
+        return new EntityCache<>(name, spec.getMaximumSize(), spec.getTtl());
+    }
+}
@@ -0,0 +1,35 @@
+package net.jazbelt.jazflixboapi;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "jazflix.cache")
+public class EntityCacheProperties {
+
+    private Spec movies = new Spec();
+
+    private Spec sections = new Spec();
+
+    private Spec users = new Spec();
+
+    /**
+     * Serialized JSON of movies, reused by list responses
+     */
+    private Spec movieJson = new Spec();
+
+    /**
+     * Names recently checked as not allowed to sign in
+     */
+    private Spec authDenied = new Spec();
+
+    @Data
+    public static class Spec {
+
+        private long maximumSize = 10_000;
+
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
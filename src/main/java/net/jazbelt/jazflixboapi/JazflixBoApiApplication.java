@@ -2,8 +2,10 @@ package net.jazbelt.jazflixboapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class JazflixBoApiApplication {
 
 	public static void main(String[] args) {
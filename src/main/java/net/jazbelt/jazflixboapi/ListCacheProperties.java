@@ -0,0 +1,17 @@
+package net.jazbelt.jazflixboapi;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "jazflix.list-cache")
+public class ListCacheProperties {
+
+    /**
+     * Answer whole list GETs from the in-process collection versions, with
+     * 304 for a matching ETag and precompressed bodies. The versions only
+     * count writes made through this instance, turn this off when more than
+     * one instance serves writes or lists go stale on the others.
+     */
+    private boolean enabled = true;
+}
@@ -0,0 +1,81 @@
+package net.jazbelt.jazflixboapi;
+
+import com.mongodb.MongoCompressor;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Driver settings applied on top of the spring.data.mongodb connection,
+ * defaults are the driver ones. A zero duration means no limit.
+ */
+@Data
+@ConfigurationProperties(prefix = "jazflix.mongo.client")
+public class MongoClientProperties {
+
+    private Pool pool = new Pool();
+
+    private Socket socket = new Socket();
+
+    /**
+     * How long an operation waits for a suitable server before failing
+     */
+    private Duration serverSelectionTimeout = Duration.ofSeconds(30);
+
+    /**
+     * Interval between server monitor checks
+     */
+    private Duration heartbeatFrequency = Duration.ofSeconds(10);
+
+    /**
+     * Wire compressors offered to the server in order of preference,
+     * none when empty
+     */
+    private List<Compressor> compressors = new ArrayList<>();
+
+    @Data
+    public static class Pool {
+
+        private int maxSize = 100;
+
+        private int minSize = 0;
+
+        /**
+         * Maximum connections being established at the same time
+         */
+        private int maxConnecting = 2;
+
+        /**
+         * How long an operation waits for a free connection before failing
+         */
+        private Duration maxWaitTime = Duration.ofMinutes(2);
+
+        private Duration maxConnectionIdleTime = Duration.ZERO;
+
+        private Duration maxConnectionLifeTime = Duration.ZERO;
+    }
+
+    @Data
+    public static class Socket {
+
+        private Duration connectTimeout = Duration.ofSeconds(10);
+
+        private Duration readTimeout = Duration.ZERO;
+    }
+
+    public enum Compressor {
+
+        ZSTD, SNAPPY, ZLIB;
+
+        public MongoCompressor create() {
+            return switch (this) {
+                case ZSTD -> MongoCompressor.createZstdCompressor();
+                case SNAPPY -> MongoCompressor.createSnappyCompressor();
+                case ZLIB -> MongoCompressor.createZlibCompressor();
+            };
+        }
+    }
+}
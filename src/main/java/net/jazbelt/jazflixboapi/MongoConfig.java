@@ -0,0 +1,84 @@
+package net.jazbelt.jazflixboapi;
+
+import com.mongodb.MongoClientSettings;
+import net.jazbelt.jazflixboapi.domain.SlowOperationLog;
+import org.bson.BsonDocument;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableConfigurationProperties({MongoClientProperties.class, SlowOperationProperties.class})
+public class MongoConfig {
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoClientTuning(MongoClientProperties properties) {
+        return builder -> apply(properties, builder);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "jazflix.mongo.slow", name = "enabled", matchIfMissing = true)
+    public SlowOperationLog slowOperationLog(SlowOperationProperties properties,
+                                             ObjectProvider<MongoTemplate> mongoTemplate) {
+        // Explains run one at a time, a burst of slow commands beyond the
+        // queue is recorded without a plan
+        ThreadPoolExecutor explains = new ThreadPoolExecutor(
+                1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getBufferSize()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slow-operation-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        return new SlowOperationLog(
+                properties,
+                (database, command) -> mongoTemplate.getObject()
+                        .getMongoDatabaseFactory()
+                        .getMongoDatabase(database)
+                        .runCommand(command, BsonDocument.class),
+                explains);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "jazflix.mongo.slow", name = "enabled", matchIfMissing = true)
+    public MongoClientSettingsBuilderCustomizer slowOperationListener(SlowOperationLog slowOperationLog) {
+        return builder -> builder.addCommandListener(slowOperationLog);
+    }
+
+    /**
+     * Shared with the benchmarks, so they measure the settings the
+     * service runs with.
+     */
+    public static MongoClientSettings.Builder apply(MongoClientProperties properties, MongoClientSettings.Builder builder) {
+        MongoClientProperties.Pool pool = properties.getPool();
+        MongoClientProperties.Socket socket = properties.getSocket();
+
+        return builder
+                .applyToConnectionPoolSettings(settings -> settings
+                        .maxSize(pool.getMaxSize())
+                        .minSize(pool.getMinSize())
+                        .maxConnecting(pool.getMaxConnecting())
+                        .maxWaitTime(pool.getMaxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(pool.getMaxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionLifeTime(pool.getMaxConnectionLifeTime().toMillis(), TimeUnit.MILLISECONDS))
+                .applyToSocketSettings(settings -> settings
+                        .connectTimeout(Math.toIntExact(socket.getConnectTimeout().toMillis()), TimeUnit.MILLISECONDS)
+                        .readTimeout(Math.toIntExact(socket.getReadTimeout().toMillis()), TimeUnit.MILLISECONDS))
+                .applyToClusterSettings(settings -> settings
+                        .serverSelectionTimeout(properties.getServerSelectionTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                .applyToServerSettings(settings -> settings
+                        .heartbeatFrequency(properties.getHeartbeatFrequency().toMillis(), TimeUnit.MILLISECONDS))
+                .compressorList(properties.getCompressors().stream()
+                        .map(MongoClientProperties.Compressor::create)
+                        .toList());
+    }
+}
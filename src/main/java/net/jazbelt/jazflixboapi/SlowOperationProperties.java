@@ -0,0 +1,31 @@
+package net.jazbelt.jazflixboapi;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "jazflix.mongo.slow")
+public class SlowOperationProperties {
+
+    /**
+     * Register the command listener, when off no command is observed or copied
+     */
+    private boolean enabled = true;
+
+    /**
+     * Commands taking longer than this are logged and kept
+     */
+    private Duration threshold = Duration.ofMillis(100);
+
+    /**
+     * Number of most recent slow operations kept in memory
+     */
+    private int bufferSize = 100;
+
+    /**
+     * Run an explain of slow queries to report the winning plan
+     */
+    private boolean explain = true;
+}
@@ -0,0 +1,86 @@
+package net.jazbelt.jazflixboapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jazbelt.jazflixboapi.controller.CollectionEtagInterceptor;
+import net.jazbelt.jazflixboapi.controller.EntityEtagFilter;
+import net.jazbelt.jazflixboapi.controller.PrecompressedListInterceptor;
+import net.jazbelt.jazflixboapi.domain.CollectionVersions;
+import net.jazbelt.jazflixboapi.domain.MovieService;
+import net.jazbelt.jazflixboapi.domain.SectionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Servlet stack web setup, the reactive profile runs on WebFlux instead.
+ */
+@Configuration
+@Profile("!reactive")
+@EnableConfigurationProperties(ListCacheProperties.class)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CollectionVersions versions;
+
+    private final MovieService movies;
+
+    private final SectionService sections;
+
+    private final ObjectMapper mapper;
+
+    private final ListCacheProperties listCache;
+
+    @Autowired
+    public WebConfig(CollectionVersions versions, MovieService movies, SectionService sections, ObjectMapper mapper,
+                     ListCacheProperties listCache) {
+        this.versions = versions;
+        this.movies = movies;
+        this.sections = sections;
+        this.mapper = mapper;
+        this.listCache = listCache;
+    }
+
+    /**
+     * List interceptors trust the in-process {@link CollectionVersions}, off
+     * when several instances serve writes, see {@link ListCacheProperties}.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!listCache.isEnabled()) {
+            return;
+        }
+
+        registry.addInterceptor(new CollectionEtagInterceptor(versions, CollectionVersions.MOVIES))
+                .addPathPatterns("/movies");
+        registry.addInterceptor(new CollectionEtagInterceptor(versions, CollectionVersions.SECTIONS))
+                .addPathPatterns("/section");
+        registry.addInterceptor(new CollectionEtagInterceptor(versions, CollectionVersions.USERS))
+                .addPathPatterns("/user");
+
+        // after the ETag check, so a 304 does not render anything
+        registry.addInterceptor(new PrecompressedListInterceptor(
+                        versions, CollectionVersions.MOVIES, movies::retrieveAllMovies, mapper.writer()))
+                .addPathPatterns("/movies");
+        registry.addInterceptor(new PrecompressedListInterceptor(
+                        versions, CollectionVersions.SECTIONS, sections::retrieveAllSections, mapper.writer()))
+                .addPathPatterns("/section");
+    }
+
+    /**
+     * Single entity responses get a strong ETag, the entity version set by
+     * {@link net.jazbelt.jazflixboapi.controller.EntityEtagAdvice} or else a
+     * hash of the document body, answering 304 when it did not change. The
+     * patterns also match the collection paths, which the filter skips.
+     */
+    @Bean
+    public FilterRegistrationBean<EntityEtagFilter> entityEtagFilter() {
+        FilterRegistrationBean<EntityEtagFilter> registration =
+                new FilterRegistrationBean<>(new EntityEtagFilter("/movies", "/section", "/user"));
+        registration.addUrlPatterns("/movies/*", "/section/*", "/user/*");
+        return registration;
+    }
+}
@@ -0,0 +1,43 @@
+package net.jazbelt.jazflixboapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import net.jazbelt.jazflixboapi.domain.IUserService;
+import net.jazbelt.jazflixboapi.model.dto.AuthDecision;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/auth")
+@Tag(name = "Auth", description = "Sign-in decisions for the front-end")
+public class AuthController {
+
+    private final IUserService service;
+
+    @Autowired
+    public AuthController(IUserService service) {
+        this.service = service;
+    }
+
+    @GetMapping("allowed")
+    @Operation(summary = "Check sign-in", description = "Tell whether the user with the given email is enabled, answered from memory")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return the sign-in decision"),
+            @ApiResponse(responseCode = "400", description = "Missing email")
+    })
+    public AuthDecision getAllowed(
+            @RequestParam("email")
+            @Parameter(description = "User name (OAuth2 Google email)", example = "john.doe@gmail.com")
+            String email
+    ) {
+        return new AuthDecision(email, service.isAllowed(email));
+    }
+}
@@ -0,0 +1,146 @@
+package net.jazbelt.jazflixboapi.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import net.jazbelt.jazflixboapi.BulkProperties;
+import net.jazbelt.jazflixboapi.error.BulkTooLargeException;
+import net.jazbelt.jazflixboapi.error.InvalidBulkFilterException;
+import net.jazbelt.jazflixboapi.error.InvalidFieldsException;
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkItem;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteRequest;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.beans.PropertyDescriptor;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Binds and validates the elements of a bulk request body in parallel.
+ * A malformed or invalid element becomes an invalid item instead of
+ * rejecting the whole request.
+ */
+@Component
+public class BulkReader {
+
+    private final ObjectMapper mapper;
+
+    private final Validator validator;
+
+    private final BulkProperties properties;
+
+    @Autowired
+    public BulkReader(ObjectMapper mapper, Validator validator, BulkProperties properties) {
+        this.mapper = mapper;
+        this.validator = validator;
+        this.properties = properties;
+    }
+
+    public <T> List<BulkItem<T>> fromArray(List<JsonNode> nodes, Class<T> type) {
+        checkSize(nodes.size());
+        return read(nodes, node -> mapper.treeToValue(node, type));
+    }
+
+    /**
+     * One document per line, blank lines are skipped.
+     */
+    public <T> List<BulkItem<T>> fromNdjson(InputStream body, Class<T> type) throws IOException {
+        List<String> lines = new ArrayList<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            if (!line.isBlank()) {
+                lines.add(line);
+                checkSize(lines.size());
+            }
+        }
+
+        return read(lines, line -> mapper.readValue(line, type));
+    }
+
+    /**
+     * Selection of a bulk update or delete, it must name IDs or at least
+     * one field so a request never targets the whole collection by mistake.
+     */
+    public BulkFilter filter(Class<?> type, BulkWriteRequest request) {
+        List<String> ids = request.getIds() == null ? List.of() : request.getIds();
+        Map<String, Object> filter = request.getFilter() == null ? Map.of() : request.getFilter();
+
+        if (ids.isEmpty() && filter.isEmpty()) {
+            throw new InvalidBulkFilterException("Bulk request needs ids or filter");
+        }
+        checkSize(ids.size());
+
+        Map<String, Object> criteria = new LinkedHashMap<>();
+        filter.forEach((name, value) -> {
+            PropertyDescriptor property = BeanUtils.getPropertyDescriptor(type, name);
+            if (property == null || property.getReadMethod() == null || name.equals("class")) {
+                throw new InvalidFieldsException(type.getSimpleName(), name);
+            }
+
+            try {
+                criteria.put(name, value == null ? null : mapper.convertValue(value, property.getPropertyType()));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidBulkFilterException(String.format(
+                        "%s field [%s] must be %s", type.getSimpleName(), name, property.getPropertyType().getSimpleName()
+                ));
+            }
+        });
+
+        return new BulkFilter(ids, criteria);
+    }
+
+    private <S, T> List<BulkItem<T>> read(List<S> sources, Binder<S, T> binder) {
+        return IntStream.range(0, sources.size())
+                .parallel()
+                .mapToObj(index -> bind(index, sources.get(index), binder))
+                .toList();
+    }
+
+    private <S, T> BulkItem<T> bind(int index, S source, Binder<S, T> binder) {
+        T entity;
+
+        try {
+            entity = binder.bind(source);
+        } catch (JsonProcessingException e) {
+            return BulkItem.invalid(index, List.of(e.getOriginalMessage()));
+        } catch (IllegalArgumentException e) {
+            return BulkItem.invalid(index, List.of(e.getMessage()));
+        }
+
+        if (entity == null) {
+            return BulkItem.invalid(index, List.of("Item is null"));
+        }
+
+        List<String> errors = validator.validate(entity).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+
+        return errors.isEmpty() ? BulkItem.valid(index, entity) : BulkItem.invalid(index, errors);
+    }
+
+    private void checkSize(int size) {
+        if (size > properties.getMaxItems()) {
+            throw new BulkTooLargeException(properties.getMaxItems());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Binder<S, T> {
+
+        T bind(S source) throws JsonProcessingException;
+    }
+}
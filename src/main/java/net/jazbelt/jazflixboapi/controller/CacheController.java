@@ -0,0 +1,46 @@
+package net.jazbelt.jazflixboapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import net.jazbelt.jazflixboapi.domain.EntityCache;
+import net.jazbelt.jazflixboapi.domain.JsonFragmentCache;
+import net.jazbelt.jazflixboapi.model.dto.CacheStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/admin/cache")
+@Tag(name = "Admin", description = "Service diagnostics")
+public class CacheController {
+
+    private final List<EntityCache<?>> caches;
+
+    private final List<JsonFragmentCache<?>> jsonCaches;
+
+    @Autowired
+    public CacheController(List<EntityCache<?>> caches, List<JsonFragmentCache<?>> jsonCaches) {
+        this.caches = caches;
+        this.jsonCaches = jsonCaches;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get cache statistics", description = "Return hit, miss and eviction counters of every entity and JSON cache")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return statistics per cache")
+    })
+    public List<CacheStatistics> getCacheStatistics() {
+        return Stream.concat(
+                caches.stream().map(EntityCache::statistics),
+                jsonCaches.stream().map(JsonFragmentCache::statistics)
+        ).toList();
+    }
+}
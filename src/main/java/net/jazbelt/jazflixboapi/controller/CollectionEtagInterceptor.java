@@ -0,0 +1,50 @@
+package net.jazbelt.jazflixboapi.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.jazbelt.jazflixboapi.domain.CollectionVersions;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Objects;
+
+/**
+ * Conditional GET support for list endpoints. The strong ETag is derived
+ * from the collection version plus the request variant (query string,
+ * Accept and Accept-Encoding headers), so a matching If-None-Match is answered with 304 before
+ * the handler runs, without querying Mongo or serialising anything.
+ */
+public class CollectionEtagInterceptor implements HandlerInterceptor {
+
+    private final CollectionVersions versions;
+
+    private final String collection;
+
+    public CollectionEtagInterceptor(CollectionVersions versions, String collection) {
+        this.versions = versions;
+        this.collection = collection;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String method = request.getMethod();
+
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        return !new ServletWebRequest(request, response).checkNotModified(etag(request));
+    }
+
+    public String etag(HttpServletRequest request) {
+        int variant = Objects.hash(
+                request.getQueryString(),
+                request.getHeader(HttpHeaders.ACCEPT),
+                request.getHeader(HttpHeaders.ACCEPT_ENCODING)
+        );
+        return "\"" + collection + "-" + versions.tag(collection) + "-" + Integer.toHexString(variant) + "\"";
+    }
+}
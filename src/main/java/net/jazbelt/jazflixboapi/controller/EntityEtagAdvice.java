@@ -0,0 +1,41 @@
+package net.jazbelt.jazflixboapi.controller;
+
+import net.jazbelt.jazflixboapi.model.entity.Versioned;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Send the version of single entity responses as ETag. The ETag filter
+ * then answers If-None-Match with 304 using this tag instead of hashing
+ * the response body.
+ */
+@ControllerAdvice
+public class EntityEtagAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return Versioned.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        if (body instanceof Versioned entity && !response.getHeaders().containsKey(HttpHeaders.ETAG)) {
+            response.getHeaders().setETag(EntityTags.of(entity));
+        }
+
+        return body;
+    }
+}
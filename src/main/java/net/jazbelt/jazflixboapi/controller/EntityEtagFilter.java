@@ -0,0 +1,34 @@
+package net.jazbelt.jazflixboapi.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.util.Set;
+
+/**
+ * {@link ShallowEtagHeaderFilter} for single entity reads. The collection
+ * paths themselves are skipped, they answer whole lists and streams the
+ * filter would buffer in memory and are tagged by
+ * {@link CollectionEtagInterceptor} instead. Writes never get a hash ETag
+ * and are not buffered either.
+ */
+public class EntityEtagFilter extends ShallowEtagHeaderFilter {
+
+    private final Set<String> collections;
+
+    public EntityEtagFilter(String... collections) {
+        this.collections = Set.of(collections);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return true;
+        }
+
+        return collections.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+}
@@ -0,0 +1,85 @@
+package net.jazbelt.jazflixboapi.controller;
+
+import net.jazbelt.jazflixboapi.error.PreconditionFailedException;
+import net.jazbelt.jazflixboapi.error.VersionConflictException;
+import net.jazbelt.jazflixboapi.model.entity.Versioned;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Single entity ETags are the quoted entity version, so the value
+ * returned by a GET can be sent back as If-Match on PUT or DELETE.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    public static String of(Versioned entity) {
+        Long version = entity.getVersion();
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    /**
+     * @return expected version or null when the write is unconditional
+     */
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+
+        try {
+            return Long.parseLong(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException(String.format("If-Match [%s] is not an entity version", ifMatch));
+        }
+    }
+
+    /**
+     * Run a conditional write, reporting a stale version as 412 since it
+     * was requested through If-Match.
+     */
+    public static void precondition(Runnable write) {
+        try {
+            write.run();
+        } catch (VersionConflictException e) {
+            throw new PreconditionFailedException(e.getMessage());
+        }
+    }
+
+    /**
+     * Reactive variant of {@link #precondition(Runnable)}.
+     */
+    public static <T> Mono<T> precondition(Mono<T> write) {
+        return write.onErrorMap(VersionConflictException.class, e -> new PreconditionFailedException(e.getMessage()));
+    }
+
+    /**
+     * Reactive entity response carrying its version as ETag.
+     */
+    public static <T extends Versioned> Mono<ResponseEntity<T>> tagged(Mono<T> entity) {
+        return entity.map(found -> ResponseEntity.ok().eTag(of(found)).body(found));
+    }
+
+    /**
+     * Reactive replace, the If-Match version when given is expected instead
+     * of the one in the body and reported as 412 when outdated.
+     */
+    public static <T extends Versioned> Mono<Void> replace(T entity, String ifMatch, Function<T, Mono<Void>> update) {
+        Long expectedVersion = parseIfMatch(ifMatch);
+
+        if (expectedVersion == null) {
+            return update.apply(entity);
+        }
+
+        entity.setVersion(expectedVersion);
+        return precondition(update.apply(entity));
+    }
+}
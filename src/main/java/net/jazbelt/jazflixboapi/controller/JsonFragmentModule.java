@@ -0,0 +1,89 @@
+package net.jazbelt.jazflixboapi.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import net.jazbelt.jazflixboapi.domain.JsonFragmentCache;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link JsonFragmentCache.Fragments} from their cached JSON.
+ * <p>
+ * Response bodies declared as a List are serialized with the serializer
+ * of the declared type rather than the runtime one, so the check has to
+ * wrap the collection serializers able to receive such a list.
+ */
+@Component
+public class JsonFragmentModule extends SimpleModule {
+
+    public JsonFragmentModule() {
+        super(JsonFragmentModule.class.getSimpleName());
+
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifyCollectionSerializer(SerializationConfig config, CollectionType valueType,
+                                                                BeanDescription beanDesc, JsonSerializer<?> serializer) {
+                return valueType.getRawClass().isAssignableFrom(JsonFragmentCache.Fragments.class)
+                        ? new FragmentsSerializer(serializer)
+                        : serializer;
+            }
+        });
+    }
+
+    private static final class FragmentsSerializer extends JsonSerializer<Object> implements ContextualSerializer {
+
+        private final JsonSerializer<Object> delegate;
+
+        @SuppressWarnings("unchecked")
+        private FragmentsSerializer(JsonSerializer<?> delegate) {
+            this.delegate = (JsonSerializer<Object>) delegate;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            if (value instanceof JsonFragmentCache.Fragments<?> fragments) {
+                fragments.serialize(generator, provider);
+            } else {
+                delegate.serialize(value, generator, provider);
+            }
+        }
+
+        @Override
+        public void serializeWithType(Object value, JsonGenerator generator, SerializerProvider provider,
+                                      TypeSerializer typeSerializer) throws IOException {
+            delegate.serializeWithType(value, generator, provider, typeSerializer);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Object value) {
+            return delegate.isEmpty(provider, value);
+        }
+
+        @Override
+        public Class<Object> handledType() {
+            return delegate.handledType();
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            if (delegate instanceof ContextualSerializer contextual) {
+                JsonSerializer<?> created = contextual.createContextual(provider, property);
+                return created == delegate ? this : new FragmentsSerializer(created);
+            }
+
+            return this;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package net.jazbelt.jazflixboapi.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import net.jazbelt.jazflixboapi.error.InvalidFieldsException;
+import net.jazbelt.jazflixboapi.error.InvalidPatchException;
+import net.jazbelt.jazflixboapi.model.dto.FieldSelection;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.beans.PropertyDescriptor;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Turns a merge patch body into typed property changes, running bean
+ * validation only on the properties the patch touches.
+ */
+@Component
+public class MergePatchReader {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    private static final Set<String> READ_ONLY = Set.of(FieldSelection.ID, "version");
+
+    private final ObjectMapper mapper;
+
+    private final Validator validator;
+
+    @Autowired
+    public MergePatchReader(ObjectMapper mapper, Validator validator) {
+        this.mapper = mapper;
+        this.validator = validator;
+    }
+
+    public <T> MergePatch read(Class<T> type, Map<String, Object> patch) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        List<String> violations = new ArrayList<>();
+
+        for (Map.Entry<String, Object> entry : patch.entrySet()) {
+            String name = entry.getKey();
+
+            if (READ_ONLY.contains(name)) {
+                throw new InvalidPatchException(String.format("%s field [%s] is read only", type.getSimpleName(), name));
+            }
+
+            PropertyDescriptor property = BeanUtils.getPropertyDescriptor(type, name);
+            if (property == null || property.getReadMethod() == null || name.equals("class")) {
+                throw new InvalidFieldsException(type.getSimpleName(), name);
+            }
+
+            if (property.getWriteMethod() == null) {
+                throw new InvalidPatchException(String.format("%s field [%s] is read only", type.getSimpleName(), name));
+            }
+
+            Object value = convert(type, property, entry.getValue());
+            for (ConstraintViolation<T> violation : validator.validateValue(type, name, value)) {
+                violations.add(name + ": " + violation.getMessage());
+            }
+
+            changes.put(name, value);
+        }
+
+        if (!violations.isEmpty()) {
+            throw new InvalidPatchException(String.join(", ", violations));
+        }
+
+        return new MergePatch(changes);
+    }
+
+    private Object convert(Class<?> type, PropertyDescriptor property, Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            return mapper.convertValue(value, property.getPropertyType());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidPatchException(String.format(
+                    "%s field [%s] must be %s", type.getSimpleName(), property.getName(), property.getPropertyType().getSimpleName()
+            ));
+        }
+    }
+}
@@ -1,32 +1,65 @@
 package net.jazbelt.jazflixboapi.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import net.jazbelt.jazflixboapi.domain.BatchGet;
 import net.jazbelt.jazflixboapi.domain.MovieService;
+import net.jazbelt.jazflixboapi.domain.TitleIndex;
+import net.jazbelt.jazflixboapi.error.InvalidPatchException;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetRequest;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteRequest;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteSummary;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.dto.FieldSelection;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
+import net.jazbelt.jazflixboapi.model.dto.TagMatch;
+import net.jazbelt.jazflixboapi.model.dto.TitleSuggestion;
 import net.jazbelt.jazflixboapi.model.entity.Movie;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/movies")
 @Tag(name = "Movies", description = "CRUD operations for movies")
 public class MovieController {
 
     private final MovieService service;
 
+    private final NdjsonWriter ndjson;
+
+    private final MergePatchReader patchReader;
+
+    private final BulkReader bulkReader;
+
     @Autowired
-    public MovieController(MovieService service) {
+    public MovieController(MovieService service, NdjsonWriter ndjson, MergePatchReader patchReader, BulkReader bulkReader) {
         this.service = service;
+        this.ndjson = ndjson;
+        this.patchReader = patchReader;
+        this.bulkReader = bulkReader;
     }
 
-    @GetMapping
+    @GetMapping(params = {"!ids", "!limit", "!fields", "!tag"})
     @Operation(summary = "Get all movies", description = "Return full list of movies")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Return list of movies")
@@ -35,6 +68,169 @@ public class MovieController {
         return service.retrieveAllMovies();
     }
 
+    @GetMapping(params = {"!ids", "!limit", "!fields", "!tag"}, produces = NdjsonWriter.MEDIA_TYPE)
+    @Operation(summary = "Stream all movies", description = "Stream full list of movies as newline delimited JSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return one movie per line")
+    })
+    public StreamingResponseBody streamMovies() {
+        return ndjson.body(service::streamAllMovies);
+    }
+
+    @GetMapping(params = {"limit", "!ids", "!fields", "!tag"})
+    @Operation(summary = "Get page of movies", description = "Return movies sorted by ID using keyset pagination")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return page of movies and cursor to the next one"),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor")
+    })
+    public CursorPage<Movie> getMoviesPage(
+            @RequestParam("limit")
+            @Parameter(description = "Maximum number of movies to return", example = "20")
+            int limit,
+            @RequestParam(value = "after", required = false)
+            @Parameter(description = "Cursor returned as next by the previous page")
+            String after
+    ) {
+        return service.retrieveMoviesPage(after, limit);
+    }
+
+    @GetMapping(params = {"ids", "!limit", "!tag", "!fields"})
+    @Operation(summary = "Get movies by IDs", description = "Return the movies with the given IDs in the requested order and the IDs not found")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return found movies and missing IDs"),
+            @ApiResponse(responseCode = "400", description = "IDs combined with limit, tag or fields"),
+            @ApiResponse(responseCode = "413", description = "Too many IDs in one request")
+    })
+    public BatchGetResult<Movie> getMoviesByIds(
+            @RequestParam("ids")
+            @Parameter(description = "Comma-separated movie IDs, at most " + BatchGet.MAX_IDS, example = "abc123,xyz456")
+            List<String> ids
+    ) {
+        return service.retrieveMovies(ids);
+    }
+
+    @PostMapping("batch-get")
+    @Operation(summary = "Batch get movies", description = "Return the movies with the IDs in the body in the requested order and the IDs not found")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return found movies and missing IDs"),
+            @ApiResponse(responseCode = "413", description = "Too many IDs in one request")
+    })
+    public BatchGetResult<Movie> postBatchGetMovies(@RequestBody BatchGetRequest request) {
+        return service.retrieveMovies(request.getIds());
+    }
+
+    @GetMapping(params = {"fields", "!ids", "!limit", "!tag"})
+    @Operation(summary = "Get all movies with selected fields", description = "Return full list of movies with only the requested fields")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return list of partial movies"),
+            @ApiResponse(responseCode = "400", description = "Unknown field requested")
+    })
+    public List<Map<String, Object>> getMoviesFields(
+            @RequestParam("fields")
+            @Parameter(description = "Comma-separated movie fields to return, ID is always included", example = "title,image")
+            Set<String> fields
+    ) {
+        FieldSelection selection = FieldSelection.of(Movie.class, fields);
+        return service.retrieveAllMovies(selection).stream().map(selection::render).toList();
+    }
+
+    @GetMapping(params = {"limit", "fields", "!ids", "!tag"})
+    @Operation(summary = "Get page of movies with selected fields", description = "Return movies sorted by ID with only the requested fields")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return page of partial movies and cursor to the next one"),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor or unknown field requested")
+    })
+    public CursorPage<Map<String, Object>> getMoviesPageFields(
+            @RequestParam("limit")
+            @Parameter(description = "Maximum number of movies to return", example = "20")
+            int limit,
+            @RequestParam(value = "after", required = false)
+            @Parameter(description = "Cursor returned as next by the previous page")
+            String after,
+            @RequestParam("fields")
+            @Parameter(description = "Comma-separated movie fields to return, ID is always included", example = "title,image")
+            Set<String> fields
+    ) {
+        FieldSelection selection = FieldSelection.of(Movie.class, fields);
+        return service.retrieveMoviesPage(after, limit, selection).map(selection::render);
+    }
+
+    @GetMapping(params = {"tag", "!ids", "!limit", "!fields"})
+    @Operation(summary = "Get movies by tag", description = "Return movies having any or all of the given tags")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return list of tagged movies"),
+            @ApiResponse(responseCode = "400", description = "Invalid tag match")
+    })
+    public List<Movie> getMoviesByTag(
+            @RequestParam("tag")
+            @Parameter(description = "Tag to look for, may be repeated", example = "cartoon")
+            List<String> tags,
+            @RequestParam(value = "match", defaultValue = "any")
+            @Parameter(description = "Whether movies need any or all of the tags", example = "all")
+            String match
+    ) {
+        return service.retrieveMoviesByTags(tags, TagMatch.of(match));
+    }
+
+    @GetMapping(params = {"tag", "limit", "!ids", "!fields"})
+    @Operation(summary = "Get page of movies by tag", description = "Return movies having any or all of the given tags sorted by ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return page of tagged movies and cursor to the next one"),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor or tag match")
+    })
+    public CursorPage<Movie> getMoviesByTagPage(
+            @RequestParam("tag")
+            @Parameter(description = "Tag to look for, may be repeated", example = "cartoon")
+            List<String> tags,
+            @RequestParam(value = "match", defaultValue = "any")
+            @Parameter(description = "Whether movies need any or all of the tags", example = "all")
+            String match,
+            @RequestParam("limit")
+            @Parameter(description = "Maximum number of movies to return", example = "20")
+            int limit,
+            @RequestParam(value = "after", required = false)
+            @Parameter(description = "Cursor returned as next by the previous page")
+            String after
+    ) {
+        return service.retrieveMoviesByTagsPage(tags, TagMatch.of(match), after, limit);
+    }
+
+    @GetMapping("search")
+    @Operation(summary = "Search movies", description = "Full-text search over movie title and description sorted by relevance")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return page of matching movies with their score"),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor")
+    })
+    public CursorPage<Movie> searchMovies(
+            @RequestParam("q")
+            @Parameter(description = "Words or \"quoted phrases\" to look for, -word excludes", example = "funny cartoon")
+            String q,
+            @RequestParam(value = "limit", defaultValue = "20")
+            @Parameter(description = "Maximum number of movies to return", example = "20")
+            int limit,
+            @RequestParam(value = "after", required = false)
+            @Parameter(description = "Cursor returned as next by the previous page")
+            String after
+    ) {
+        return service.searchMovies(q, after, limit);
+    }
+
+    @GetMapping("suggest")
+    @Operation(summary = "Suggest movie titles", description = "Return titles starting with the prefix ignoring case and accents, sorted alphabetically")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return matching titles, empty for a blank prefix")
+    })
+    public List<TitleSuggestion> suggestTitles(
+            @RequestParam("prefix")
+            @Parameter(description = "Beginning of the title", example = "star w")
+            String prefix,
+            @RequestParam(value = "limit", defaultValue = "10")
+            @Parameter(description = "Maximum number of titles to return, at most " + TitleIndex.MAX_SUGGESTIONS, example = "10")
+            int limit
+    ) {
+        return service.suggestTitles(prefix, limit);
+    }
+
     @GetMapping("{id}")
     @Operation(summary = "Get single movie", description = "Get single movie by given ID ")
     @ApiResponses({
@@ -49,6 +245,23 @@ public class MovieController {
         return service.retrieveSingleMovie(id);
     }
 
+    @GetMapping(value = "{id}", params = "fields")
+    @Operation(summary = "Get single movie with selected fields", description = "Get only the requested fields of a movie by given ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return partial movie data"),
+            @ApiResponse(responseCode = "400", description = "Unknown field requested"),
+            @ApiResponse(responseCode = "404", description = "Movie not found")
+    })
+    public Map<String, Object> getMovieFields(
+            @PathVariable("id") String id,
+            @RequestParam("fields")
+            @Parameter(description = "Comma-separated movie fields to return, ID is always included", example = "title,image")
+            Set<String> fields
+    ) {
+        FieldSelection selection = FieldSelection.of(Movie.class, fields);
+        return selection.render(service.retrieveSingleMovie(id, selection));
+    }
+
     @PostMapping
     @Operation(summary = "Create new movie", description = "Post new movie with given info")
     @ApiResponses({
@@ -60,26 +273,126 @@ public class MovieController {
         return service.createMovie(movie);
     }
 
+    @PostMapping(value = "bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create movies in bulk", description = "Post array of movies, inserted in unordered batches")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return outcome of every movie"),
+            @ApiResponse(responseCode = "413", description = "Too many movies in one request")
+    })
+    public BulkResult postMoviesBulk(@RequestBody List<JsonNode> movies) {
+        return service.createMovies(bulkReader.fromArray(movies, Movie.class));
+    }
+
+    @PostMapping(value = "bulk", consumes = NdjsonWriter.MEDIA_TYPE)
+    @Operation(summary = "Create movies in bulk from NDJSON", description = "Post one movie per line, inserted in unordered batches")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return outcome of every movie"),
+            @ApiResponse(responseCode = "413", description = "Too many movies in one request")
+    })
+    public BulkResult postMoviesBulkNdjson(InputStream body) throws IOException {
+        return service.createMovies(bulkReader.fromNdjson(body, Movie.class));
+    }
+
     @PutMapping("{id}")
     @Operation(summary = "Update movie", description = "Send information to update existing movie")
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Movie successfully updated"),
             @ApiResponse(responseCode = "400", description = "Validation bad request error"),
-            @ApiResponse(responseCode = "404", description = "Movie not found")
+            @ApiResponse(responseCode = "404", description = "Movie not found"),
+            @ApiResponse(responseCode = "409", description = "Movie version in body is outdated"),
+            @ApiResponse(responseCode = "412", description = "Movie version in If-Match is outdated")
     })
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void putMovie(@PathVariable("id") String id, @Valid @RequestBody Movie movie) {
-        service.updateMovie(id, movie);
+    public void putMovie(
+            @PathVariable("id") String id,
+            @Valid @RequestBody Movie movie,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag of the movie version being modified")
+            String ifMatch
+    ) {
+        Long expectedVersion = EntityTags.parseIfMatch(ifMatch);
+
+        if (expectedVersion == null) {
+            service.updateMovie(id, movie);
+            return;
+        }
+
+        movie.setVersion(expectedVersion);
+        EntityTags.precondition(() -> service.updateMovie(id, movie));
+    }
+
+    @PatchMapping(value = "{id}", consumes = {MergePatchReader.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch movie", description = "Change only the given movie fields using JSON Merge Patch, null removes a field")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Movie successfully patched"),
+            @ApiResponse(responseCode = "400", description = "Unknown, read only or invalid field"),
+            @ApiResponse(responseCode = "404", description = "Movie not found"),
+            @ApiResponse(responseCode = "412", description = "Movie version in If-Match is outdated")
+    })
+    public void patchMovie(
+            @PathVariable("id") String id,
+            @RequestBody Map<String, Object> patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag of the movie version being modified")
+            String ifMatch
+    ) {
+        Long expectedVersion = EntityTags.parseIfMatch(ifMatch);
+        MergePatch changes = patchReader.read(Movie.class, patch);
+
+        EntityTags.precondition(() -> service.patchMovie(id, changes, expectedVersion));
+    }
+
+    @PatchMapping("bulk")
+    @Operation(summary = "Patch movies in bulk", description = "Apply one JSON Merge Patch to the movies selected by IDs and/or filter")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return matched, modified and not found counts"),
+            @ApiResponse(responseCode = "400", description = "Missing selection, unknown field or invalid patch"),
+            @ApiResponse(responseCode = "413", description = "Too many IDs in one request")
+    })
+    public BulkWriteSummary patchMoviesBulk(@RequestBody BulkWriteRequest request) {
+        BulkFilter filter = bulkReader.filter(Movie.class, request);
+        MergePatch patch = patchReader.read(Movie.class, request.getPatch() == null ? Map.of() : request.getPatch());
+
+        if (patch.isEmpty()) {
+            throw new InvalidPatchException("Bulk patch is empty");
+        }
+
+        return service.patchMovies(filter, patch);
+    }
+
+    @DeleteMapping("bulk")
+    @Operation(summary = "Delete movies in bulk", description = "Remove the movies selected by IDs and/or filter")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return matched, deleted and not found counts"),
+            @ApiResponse(responseCode = "400", description = "Missing selection or unknown field"),
+            @ApiResponse(responseCode = "413", description = "Too many IDs in one request")
+    })
+    public BulkWriteSummary deleteMoviesBulk(@RequestBody BulkWriteRequest request) {
+        return service.deleteMovies(bulkReader.filter(Movie.class, request));
     }
 
     @DeleteMapping("{id}")
     @Operation(summary = "Delete movie", description = "Remove movie by given id")
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Movie successfully deleted"),
-            @ApiResponse(responseCode = "404", description = "Movie not found")
+            @ApiResponse(responseCode = "404", description = "Movie not found"),
+            @ApiResponse(responseCode = "412", description = "Movie version in If-Match is outdated")
     })
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteMovie(@PathVariable("id") String id) {
-        service.deleteMovie(id);
+    public void deleteMovie(
+            @PathVariable("id") String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag of the movie version being removed")
+            String ifMatch
+    ) {
+        Long expectedVersion = EntityTags.parseIfMatch(ifMatch);
+
+        if (expectedVersion == null) {
+            service.deleteMovie(id);
+            return;
+        }
+
+        EntityTags.precondition(() -> service.deleteMovie(id, expectedVersion));
     }
 }
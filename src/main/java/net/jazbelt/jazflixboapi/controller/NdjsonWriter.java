@@ -0,0 +1,57 @@
+package net.jazbelt.jazflixboapi.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes newline delimited JSON (one document per line) straight from a
+ * database cursor, so memory stays flat and the first line is sent while
+ * the cursor is still being read.
+ */
+@Component
+public class NdjsonWriter {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private final ObjectMapper mapper;
+
+    private final ObjectWriter writer;
+
+    @Autowired
+    public NdjsonWriter(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Stream is opened lazily when the response body is written, which
+     * happens on the async request thread after the handler returns.
+     */
+    public StreamingResponseBody body(Supplier<? extends Stream<?>> items) {
+        return out -> write(items.get(), out);
+    }
+
+    public void write(Stream<?> items, OutputStream out) throws IOException {
+        try (items; JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<?> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+}
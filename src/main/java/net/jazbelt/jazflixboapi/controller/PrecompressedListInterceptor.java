@@ -0,0 +1,243 @@
+package net.jazbelt.jazflixboapi.controller;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import net.jazbelt.jazflixboapi.domain.CollectionVersions;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves a full list endpoint from JSON rendered and compressed once per
+ * collection version, as brotli, gzip or identity depending on
+ * Accept-Encoding. The first read after a write renders it again, reads
+ * meanwhile wait for that single rendering.
+ * <p>
+ * Requests with a query string or asking for another media type go on to
+ * the handler.
+ */
+@Slf4j
+public class PrecompressedListInterceptor implements HandlerInterceptor {
+
+    public enum Encoding {
+
+        BR("br"), GZIP("gzip"), IDENTITY("identity");
+
+        private final String token;
+
+        Encoding(String token) {
+            this.token = token;
+        }
+
+        public String getToken() {
+            return token;
+        }
+    }
+
+    private static final int BROTLI_QUALITY = 9;
+
+    private static final boolean BROTLI = brotliAvailable();
+
+    private final CollectionVersions versions;
+
+    private final String collection;
+
+    private final Supplier<?> list;
+
+    private final ObjectWriter writer;
+
+    /**
+     * Only one request renders a new version, the others park until it is
+     * done without pinning the carrier of a virtual thread.
+     */
+    private final Lock renderLock = new ReentrantLock();
+
+    private volatile Rendering rendering;
+
+    /**
+     * @param list   loads the list as the handler returns it
+     * @param writer serializes it as the message converter does
+     */
+    public PrecompressedListInterceptor(CollectionVersions versions, String collection, Supplier<?> list, ObjectWriter writer) {
+        this.versions = versions;
+        this.collection = collection;
+        this.list = list;
+        this.writer = writer;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        boolean head = HttpMethod.HEAD.matches(request.getMethod());
+
+        if (!HttpMethod.GET.matches(request.getMethod()) && !head) {
+            return true;
+        }
+
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (request.getQueryString() != null || !acceptsJson(request.getHeader(HttpHeaders.ACCEPT))) {
+            return true;
+        }
+
+        Encoding encoding = negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        byte[] body = current().body(encoding);
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        if (encoding != Encoding.IDENTITY) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.getToken());
+        }
+
+        if (!head) {
+            response.getOutputStream().write(body);
+        }
+
+        return false;
+    }
+
+    /**
+     * Preferred encoding by quality value, brotli winning ties as it is
+     * the smaller one.
+     */
+    public static Encoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return Encoding.IDENTITY;
+        }
+
+        Map<String, Double> qualities = new HashMap<>();
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            double quality = 1;
+
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+
+            qualities.put(parts[0].trim().toLowerCase(Locale.ROOT), quality);
+        }
+
+        double wildcard = qualities.getOrDefault("*", 0.0);
+        double br = BROTLI ? qualities.getOrDefault(Encoding.BR.getToken(), wildcard) : 0;
+        double gzip = qualities.getOrDefault(Encoding.GZIP.getToken(), wildcard);
+
+        if (br > 0 && br >= gzip) {
+            return Encoding.BR;
+        }
+
+        return gzip > 0 ? Encoding.GZIP : Encoding.IDENTITY;
+    }
+
+    private static boolean acceptsJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+
+        try {
+            return MediaType.parseMediaTypes(accept).stream()
+                    .anyMatch(type -> type.includes(MediaType.APPLICATION_JSON));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private Rendering current() {
+        String tag = versions.tag(collection);
+        Rendering current = rendering;
+
+        if (current != null && current.tag().equals(tag)) {
+            return current;
+        }
+
+        renderLock.lock();
+        try {
+            current = rendering;
+            if (current == null || !current.tag().equals(tag)) {
+                current = render(tag);
+                rendering = current;
+            }
+            return current;
+        } finally {
+            renderLock.unlock();
+        }
+    }
+
+    /**
+     * Tag is read before loading the list, so a write made meanwhile
+     * renders the list again on the next read.
+     */
+    private Rendering render(String tag) {
+        try {
+            byte[] json = writer.writeValueAsBytes(list.get());
+            return new Rendering(tag, json, gzip(json), BROTLI ? brotli(json) : null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+
+        try (GZIPOutputStream gzip = new BestCompressionGzip(out)) {
+            gzip.write(json);
+        }
+
+        return out.toByteArray();
+    }
+
+    private static byte[] brotli(byte[] json) throws IOException {
+        return Encoder.compress(json, new Encoder.Parameters().setQuality(BROTLI_QUALITY));
+    }
+
+    private static boolean brotliAvailable() {
+        try {
+            Brotli4jLoader.ensureAvailability();
+            return true;
+        } catch (Throwable e) {
+            log.warn("Brotli is not available on this platform, lists are only served gzipped", e);
+            return false;
+        }
+    }
+
+    private record Rendering(String tag, byte[] identity, byte[] gzip, byte[] br) {
+
+        byte[] body(Encoding encoding) {
+            return switch (encoding) {
+                case BR -> br;
+                case GZIP -> gzip;
+                case IDENTITY -> identity;
+            };
+        }
+    }
+
+    private static final class BestCompressionGzip extends GZIPOutputStream {
+
+        private BestCompressionGzip(ByteArrayOutputStream out) throws IOException {
+            super(out);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
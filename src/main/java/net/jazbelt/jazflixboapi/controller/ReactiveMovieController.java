@@ -0,0 +1,122 @@
+package net.jazbelt.jazflixboapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import net.jazbelt.jazflixboapi.domain.IReactiveMovieService;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux variant of the movie endpoints, serving the core CRUD
+ * operations on the event loop when the reactive profile is active.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/movies")
+@Tag(name = "Movies", description = "CRUD operations for movies")
+public class ReactiveMovieController {
+
+    private final IReactiveMovieService service;
+
+    @Autowired
+    public ReactiveMovieController(IReactiveMovieService service) {
+        this.service = service;
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, NdjsonWriter.MEDIA_TYPE})
+    @Operation(summary = "Get all movies", description = "Stream full list of movies as a JSON array or newline delimited JSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return movies as fast as the client reads them")
+    })
+    public Flux<Movie> getMovies() {
+        return service.retrieveAllMovies();
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Get page of movies", description = "Return movies sorted by ID using keyset pagination")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return page of movies and cursor to the next one"),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor")
+    })
+    public Mono<CursorPage<Movie>> getMoviesPage(
+            @RequestParam("limit")
+            @Parameter(description = "Maximum number of movies to return", example = "20")
+            int limit,
+            @RequestParam(value = "after", required = false)
+            @Parameter(description = "Cursor returned as next by the previous page")
+            String after
+    ) {
+        return service.retrieveMoviesPage(after, limit);
+    }
+
+    @GetMapping("{id}")
+    @Operation(summary = "Get single movie", description = "Retrieve specific movie by given ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return movie object with its version as ETag"),
+            @ApiResponse(responseCode = "404", description = "Movie not found")
+    })
+    public Mono<ResponseEntity<Movie>> getMovie(@PathVariable("id") String id) {
+        return EntityTags.tagged(service.retrieveSingleMovie(id));
+    }
+
+    @PostMapping
+    @Operation(summary = "Create new movie", description = "Post new movie info")
+    @ResponseStatus(HttpStatus.CREATED)
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "New movie successfully created"),
+            @ApiResponse(responseCode = "400", description = "Validation error")
+    })
+    public Mono<Movie> postNewMovie(@Valid @RequestBody Movie movie) {
+        return service.createMovie(movie);
+    }
+
+    @PutMapping("{id}")
+    @Operation(summary = "Update movie", description = "Modify existing movie by given ID")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Movie successfully updated"),
+            @ApiResponse(responseCode = "400", description = "Validation error"),
+            @ApiResponse(responseCode = "404", description = "Movie not found"),
+            @ApiResponse(responseCode = "409", description = "Movie version in body is outdated"),
+            @ApiResponse(responseCode = "412", description = "Movie version in If-Match is outdated")
+    })
+    public Mono<Void> putMovie(
+            @PathVariable("id") String id,
+            @Valid @RequestBody Movie movie,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag of the movie version being modified")
+            String ifMatch
+    ) {
+        return EntityTags.replace(movie, ifMatch, replaced -> service.updateMovie(id, replaced));
+    }
+
+    @DeleteMapping("{id}")
+    @Operation(summary = "Delete movie", description = "Remove movie by given ID")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Movie successfully deleted"),
+            @ApiResponse(responseCode = "404", description = "Movie not found"),
+            @ApiResponse(responseCode = "412", description = "Movie version in If-Match is outdated")
+    })
+    public Mono<Void> deleteMovie(
+            @PathVariable("id") String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag of the movie version being removed")
+            String ifMatch
+    ) {
+        return EntityTags.precondition(service.deleteMovie(id, EntityTags.parseIfMatch(ifMatch)));
+    }
+}
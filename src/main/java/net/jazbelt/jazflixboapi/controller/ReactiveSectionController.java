@@ -0,0 +1,122 @@
+package net.jazbelt.jazflixboapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import net.jazbelt.jazflixboapi.domain.IReactiveSectionService;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.entity.Section;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux variant of the section endpoints, serving the core CRUD
+ * operations on the event loop when the reactive profile is active.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/section")
+@Tag(name = "Sections", description = "CRUD operations for movie sections")
+public class ReactiveSectionController {
+
+    private final IReactiveSectionService service;
+
+    @Autowired
+    public ReactiveSectionController(IReactiveSectionService service) {
+        this.service = service;
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, NdjsonWriter.MEDIA_TYPE})
+    @Operation(summary = "Get all sections", description = "Stream full list of sections as a JSON array or newline delimited JSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return sections as fast as the client reads them")
+    })
+    public Flux<Section> getAllSections() {
+        return service.retrieveAllSections();
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Get page of sections", description = "Return sections sorted by ID using keyset pagination")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return page of sections and cursor to the next one"),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor")
+    })
+    public Mono<CursorPage<Section>> getSectionsPage(
+            @RequestParam("limit")
+            @Parameter(description = "Maximum number of sections to return", example = "20")
+            int limit,
+            @RequestParam(value = "after", required = false)
+            @Parameter(description = "Cursor returned as next by the previous page")
+            String after
+    ) {
+        return service.retrieveSectionsPage(after, limit);
+    }
+
+    @GetMapping("{id}")
+    @Operation(summary = "Get single section", description = "Retrieve specific section by given ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return section object with its version as ETag"),
+            @ApiResponse(responseCode = "404", description = "Section not found")
+    })
+    public Mono<ResponseEntity<Section>> getSection(@PathVariable("id") String id) {
+        return EntityTags.tagged(service.retrieveSection(id));
+    }
+
+    @PostMapping
+    @Operation(summary = "Create new section", description = "Post new section info")
+    @ResponseStatus(HttpStatus.CREATED)
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "New section successfully created"),
+            @ApiResponse(responseCode = "400", description = "Validation error")
+    })
+    public Mono<Section> postNewSection(@Valid @RequestBody Section section) {
+        return service.createSection(section);
+    }
+
+    @PutMapping("{id}")
+    @Operation(summary = "Update section", description = "Modify existing section by given ID")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Section successfully updated"),
+            @ApiResponse(responseCode = "400", description = "Validation error"),
+            @ApiResponse(responseCode = "404", description = "Section not found"),
+            @ApiResponse(responseCode = "409", description = "Section version in body is outdated"),
+            @ApiResponse(responseCode = "412", description = "Section version in If-Match is outdated")
+    })
+    public Mono<Void> putUpdateSection(
+            @PathVariable("id") String id,
+            @Valid @RequestBody Section section,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag of the section version being modified")
+            String ifMatch
+    ) {
+        return EntityTags.replace(section, ifMatch, replaced -> service.updateSection(id, replaced));
+    }
+
+    @DeleteMapping("{id}")
+    @Operation(summary = "Delete section", description = "Remove section by given ID")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Section successfully deleted"),
+            @ApiResponse(responseCode = "404", description = "Section not found"),
+            @ApiResponse(responseCode = "412", description = "Section version in If-Match is outdated")
+    })
+    public Mono<Void> deleteSection(
+            @PathVariable("id") String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag of the section version being removed")
+            String ifMatch
+    ) {
+        return EntityTags.precondition(service.deleteSection(id, EntityTags.parseIfMatch(ifMatch)));
+    }
+}
@@ -0,0 +1,122 @@
+package net.jazbelt.jazflixboapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import net.jazbelt.jazflixboapi.domain.IReactiveUserService;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux variant of the user endpoints, serving the core CRUD
+ * operations on the event loop when the reactive profile is active.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/user")
+@Tag(name = "Users", description = "CRUD operations for users")
+public class ReactiveUserController {
+
+    private final IReactiveUserService service;
+
+    @Autowired
+    public ReactiveUserController(IReactiveUserService service) {
+        this.service = service;
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, NdjsonWriter.MEDIA_TYPE})
+    @Operation(summary = "Get all users", description = "Stream full list of users as a JSON array or newline delimited JSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return users as fast as the client reads them")
+    })
+    public Flux<User> getUsers() {
+        return service.retrieveAllUsers();
+    }
+
+    @GetMapping(params = "limit")
+    @Operation(summary = "Get page of users", description = "Return users sorted by ID using keyset pagination")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return page of users and cursor to the next one"),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor")
+    })
+    public Mono<CursorPage<User>> getUsersPage(
+            @RequestParam("limit")
+            @Parameter(description = "Maximum number of users to return", example = "20")
+            int limit,
+            @RequestParam(value = "after", required = false)
+            @Parameter(description = "Cursor returned as next by the previous page")
+            String after
+    ) {
+        return service.retrieveUsersPage(after, limit);
+    }
+
+    @GetMapping("{id}")
+    @Operation(summary = "Get single user", description = "Retrieve specific user by given ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return user object with its version as ETag"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public Mono<ResponseEntity<User>> getUser(@PathVariable("id") String id) {
+        return EntityTags.tagged(service.retrieveUserDetails(id));
+    }
+
+    @PostMapping
+    @Operation(summary = "Create new user", description = "Post new user info")
+    @ResponseStatus(HttpStatus.CREATED)
+    @ApiResponses({
+            @ApiResponse(responseCode = "201", description = "New user successfully created"),
+            @ApiResponse(responseCode = "400", description = "Validation error")
+    })
+    public Mono<User> postCreateUser(@Valid @RequestBody User user) {
+        return service.createUser(user);
+    }
+
+    @PutMapping("{id}")
+    @Operation(summary = "Update user", description = "Modify existing user by given ID")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "User successfully updated"),
+            @ApiResponse(responseCode = "400", description = "Validation error"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "409", description = "User version in body is outdated"),
+            @ApiResponse(responseCode = "412", description = "User version in If-Match is outdated")
+    })
+    public Mono<Void> putUpdateUser(
+            @PathVariable("id") String id,
+            @Valid @RequestBody User user,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag of the user version being modified")
+            String ifMatch
+    ) {
+        return EntityTags.replace(user, ifMatch, replaced -> service.updateUser(id, replaced));
+    }
+
+    @DeleteMapping("{id}")
+    @Operation(summary = "Delete user", description = "Remove user by given ID")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "User successfully deleted"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "412", description = "User version in If-Match is outdated")
+    })
+    public Mono<Void> deleteUser(
+            @PathVariable("id") String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag of the user version being removed")
+            String ifMatch
+    ) {
+        return EntityTags.precondition(service.deleteUser(id, EntityTags.parseIfMatch(ifMatch)));
+    }
+}
@@ -1,39 +1,115 @@
 package net.jazbelt.jazflixboapi.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import net.jazbelt.jazflixboapi.domain.BatchGet;
 import net.jazbelt.jazflixboapi.domain.ISectionService;
+import net.jazbelt.jazflixboapi.error.InvalidPatchException;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetRequest;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteRequest;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteSummary;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
 import net.jazbelt.jazflixboapi.model.entity.Section;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/section")
 @Tag(name = "Sections", description = "CRUD operations for movie sections")
 public class SectionController {
 
     private final ISectionService service;
 
+    private final NdjsonWriter ndjson;
+
+    private final MergePatchReader patchReader;
+
+    private final BulkReader bulkReader;
+
     @Autowired
-    public SectionController(ISectionService service) {
+    public SectionController(ISectionService service, NdjsonWriter ndjson, MergePatchReader patchReader, BulkReader bulkReader) {
         this.service = service;
+        this.ndjson = ndjson;
+        this.patchReader = patchReader;
+        this.bulkReader = bulkReader;
     }
 
-    @GetMapping
-    @Operation(summary = "Get all sections", description = "Retrieve full list of sections")
+    @GetMapping(params = {"!ids", "!limit"})
+    @Operation(summary = "Get all sections", description = "Retrieve full list of sections sorted by display order")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Return list of sections")
+            @ApiResponse(responseCode = "200", description = "Return list of sections sorted by order")
     })
     public List<Section> getAllSections() {
         return service.retrieveAllSections();
     }
 
+    @GetMapping(params = {"!ids", "!limit"}, produces = NdjsonWriter.MEDIA_TYPE)
+    @Operation(summary = "Stream all sections", description = "Stream full list of sections as newline delimited JSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return one section per line")
+    })
+    public StreamingResponseBody streamSections() {
+        return ndjson.body(service::streamAllSections);
+    }
+
+    @GetMapping(params = {"limit", "!ids"})
+    @Operation(summary = "Get page of sections", description = "Return sections sorted by ID using keyset pagination")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return page of sections and cursor to the next one"),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor")
+    })
+    public CursorPage<Section> getSectionsPage(
+            @RequestParam("limit")
+            @Parameter(description = "Maximum number of sections to return", example = "20")
+            int limit,
+            @RequestParam(value = "after", required = false)
+            @Parameter(description = "Cursor returned as next by the previous page")
+            String after
+    ) {
+        return service.retrieveSectionsPage(after, limit);
+    }
+
+    @GetMapping(params = {"ids", "!limit"})
+    @Operation(summary = "Get sections by IDs", description = "Return the sections with the given IDs in the requested order and the IDs not found")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return found sections and missing IDs"),
+            @ApiResponse(responseCode = "400", description = "IDs combined with limit"),
+            @ApiResponse(responseCode = "413", description = "Too many IDs in one request")
+    })
+    public BatchGetResult<Section> getSectionsByIds(
+            @RequestParam("ids")
+            @Parameter(description = "Comma-separated section IDs, at most " + BatchGet.MAX_IDS, example = "abc123,xyz456")
+            List<String> ids
+    ) {
+        return service.retrieveSections(ids);
+    }
+
+    @PostMapping("batch-get")
+    @Operation(summary = "Batch get sections", description = "Return the sections with the IDs in the body in the requested order and the IDs not found")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return found sections and missing IDs"),
+            @ApiResponse(responseCode = "413", description = "Too many IDs in one request")
+    })
+    public BatchGetResult<Section> postBatchGetSections(@RequestBody BatchGetRequest request) {
+        return service.retrieveSections(request.getIds());
+    }
+
     @GetMapping("{id}")
     @Operation(summary = "Get single section", description = "Retrieve specific section by given ID")
     @ApiResponses({
@@ -60,11 +136,113 @@ public class SectionController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Section successfully updated"),
-            @ApiResponse(responseCode = "409", description = "Path and object IDs do not match"),
+            @ApiResponse(responseCode = "409", description = "Path and object IDs do not match or section version in body is outdated"),
+            @ApiResponse(responseCode = "412", description = "Section version in If-Match is outdated"),
             @ApiResponse(responseCode = "404", description = "Section not found")
     })
-    public void putUpdateSection(@PathVariable("id") String id, @Valid @RequestBody Section section) {
-        service.updateSection(id, section);
+    public void putUpdateSection(
+            @PathVariable("id") String id,
+            @Valid @RequestBody Section section,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag of the section version being modified")
+            String ifMatch
+    ) {
+        Long expectedVersion = EntityTags.parseIfMatch(ifMatch);
+
+        if (expectedVersion == null) {
+            service.updateSection(id, section);
+            return;
+        }
+
+        section.setVersion(expectedVersion);
+        EntityTags.precondition(() -> service.updateSection(id, section));
+    }
+
+    @PostMapping("{id}/move")
+    @Operation(summary = "Move section", description = "Place a section right after and/or before the given sections, only the moved section is written")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Section successfully moved"),
+            @ApiResponse(responseCode = "400", description = "No neighbour given, neighbour not found or neighbours not adjacent"),
+            @ApiResponse(responseCode = "404", description = "Section not found"),
+            @ApiResponse(responseCode = "412", description = "Section version in If-Match is outdated")
+    })
+    public void moveSection(
+            @PathVariable("id") String id,
+            @RequestParam(value = "before", required = false)
+            @Parameter(description = "ID of the section to place it before")
+            String before,
+            @RequestParam(value = "after", required = false)
+            @Parameter(description = "ID of the section to place it after")
+            String after,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag of the section version being moved")
+            String ifMatch
+    ) {
+        Long expectedVersion = EntityTags.parseIfMatch(ifMatch);
+
+        EntityTags.precondition(() -> service.moveSection(id, before, after, expectedVersion));
+    }
+
+    @PostMapping("rebalance")
+    @Operation(summary = "Rebalance section ranks", description = "Give every section a short evenly spread rank keeping the current order")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Sections successfully ranked")
+    })
+    public void rebalanceSections() {
+        service.rebalanceSections();
+    }
+
+    @PatchMapping(value = "{id}", consumes = {MergePatchReader.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch section", description = "Change only the given section fields using JSON Merge Patch, null removes a field")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Section successfully patched"),
+            @ApiResponse(responseCode = "400", description = "Unknown, read only or invalid field"),
+            @ApiResponse(responseCode = "404", description = "Section not found"),
+            @ApiResponse(responseCode = "412", description = "Section version in If-Match is outdated")
+    })
+    public void patchSection(
+            @PathVariable("id") String id,
+            @RequestBody Map<String, Object> patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag of the section version being modified")
+            String ifMatch
+    ) {
+        Long expectedVersion = EntityTags.parseIfMatch(ifMatch);
+        MergePatch changes = patchReader.read(Section.class, patch);
+
+        EntityTags.precondition(() -> service.patchSection(id, changes, expectedVersion));
+    }
+
+    @PatchMapping("bulk")
+    @Operation(summary = "Patch sections in bulk", description = "Apply one JSON Merge Patch to the sections selected by IDs and/or filter")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return matched, modified and not found counts"),
+            @ApiResponse(responseCode = "400", description = "Missing selection, unknown field or invalid patch"),
+            @ApiResponse(responseCode = "413", description = "Too many IDs in one request")
+    })
+    public BulkWriteSummary patchSectionsBulk(@RequestBody BulkWriteRequest request) {
+        BulkFilter filter = bulkReader.filter(Section.class, request);
+        MergePatch patch = patchReader.read(Section.class, request.getPatch() == null ? Map.of() : request.getPatch());
+
+        if (patch.isEmpty()) {
+            throw new InvalidPatchException("Bulk patch is empty");
+        }
+
+        return service.patchSections(filter, patch);
+    }
+
+    @DeleteMapping("bulk")
+    @Operation(summary = "Delete sections in bulk", description = "Remove the sections selected by IDs and/or filter")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return matched, deleted and not found counts"),
+            @ApiResponse(responseCode = "400", description = "Missing selection or unknown field"),
+            @ApiResponse(responseCode = "413", description = "Too many IDs in one request")
+    })
+    public BulkWriteSummary deleteSectionsBulk(@RequestBody BulkWriteRequest request) {
+        return service.deleteSections(bulkReader.filter(Section.class, request));
     }
 
     @DeleteMapping("{id}")
@@ -72,9 +250,22 @@ public class SectionController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Section successfully deleted"),
-            @ApiResponse(responseCode = "404", description = "Section not found")
+            @ApiResponse(responseCode = "404", description = "Section not found"),
+            @ApiResponse(responseCode = "412", description = "Section version in If-Match is outdated")
     })
-    public void deleteSection(@PathVariable("id") String id) {
-        service.deleteSection(id);
+    public void deleteSection(
+            @PathVariable("id") String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag of the section version being removed")
+            String ifMatch
+    ) {
+        Long expectedVersion = EntityTags.parseIfMatch(ifMatch);
+
+        if (expectedVersion == null) {
+            service.deleteSection(id);
+            return;
+        }
+
+        EntityTags.precondition(() -> service.deleteSection(id, expectedVersion));
     }
 }
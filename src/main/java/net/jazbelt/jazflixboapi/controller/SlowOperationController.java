@@ -0,0 +1,38 @@
+package net.jazbelt.jazflixboapi.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import net.jazbelt.jazflixboapi.domain.SlowOperationLog;
+import net.jazbelt.jazflixboapi.model.dto.SlowOperation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/admin/slow-operations")
+@Tag(name = "Admin", description = "Service diagnostics")
+@ConditionalOnProperty(prefix = "jazflix.mongo.slow", name = "enabled", matchIfMissing = true)
+public class SlowOperationController {
+
+    private final SlowOperationLog slowOperationLog;
+
+    @Autowired
+    public SlowOperationController(SlowOperationLog slowOperationLog) {
+        this.slowOperationLog = slowOperationLog;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get slow Mongo operations", description = "Return the most recent commands slower than the threshold with their winning plan")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return slow operations, most recent first")
+    })
+    public List<SlowOperation> getSlowOperations() {
+        return slowOperationLog.recent();
+    }
+}
@@ -1,31 +1,56 @@
 package net.jazbelt.jazflixboapi.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import net.jazbelt.jazflixboapi.domain.BatchGet;
 import net.jazbelt.jazflixboapi.domain.IUserService;
+import net.jazbelt.jazflixboapi.error.InvalidPatchException;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetRequest;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteRequest;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteSummary;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
 import net.jazbelt.jazflixboapi.model.entity.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/user")
 @Tag(name = "Users", description = "CRUD operations for users")
 public class UserController {
 
     private final IUserService service;
 
+    private final NdjsonWriter ndjson;
+
+    private final MergePatchReader patchReader;
+
+    private final BulkReader bulkReader;
+
     @Autowired
-    public UserController(IUserService service) {
+    public UserController(IUserService service, NdjsonWriter ndjson, MergePatchReader patchReader, BulkReader bulkReader) {
         this.service = service;
+        this.ndjson = ndjson;
+        this.patchReader = patchReader;
+        this.bulkReader = bulkReader;
     }
 
-    @GetMapping
+    @GetMapping(params = {"!ids", "!limit"})
     @Operation(summary = "Get all users", description = "Retrieve full list of users")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Return list of users")
@@ -34,6 +59,57 @@ public class UserController {
         return service.retrieveAllUsers();
     }
 
+    @GetMapping(params = {"!ids", "!limit"}, produces = NdjsonWriter.MEDIA_TYPE)
+    @Operation(summary = "Stream all users", description = "Stream full list of users as newline delimited JSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return one user per line")
+    })
+    public StreamingResponseBody streamUsers() {
+        return ndjson.body(service::streamAllUsers);
+    }
+
+    @GetMapping(params = {"limit", "!ids"})
+    @Operation(summary = "Get page of users", description = "Return users sorted by ID using keyset pagination")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return page of users and cursor to the next one"),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor")
+    })
+    public CursorPage<User> getUsersPage(
+            @RequestParam("limit")
+            @Parameter(description = "Maximum number of users to return", example = "20")
+            int limit,
+            @RequestParam(value = "after", required = false)
+            @Parameter(description = "Cursor returned as next by the previous page")
+            String after
+    ) {
+        return service.retrieveUsersPage(after, limit);
+    }
+
+    @GetMapping(params = {"ids", "!limit"})
+    @Operation(summary = "Get users by IDs", description = "Return the users with the given IDs in the requested order and the IDs not found")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return found users and missing IDs"),
+            @ApiResponse(responseCode = "400", description = "IDs combined with limit"),
+            @ApiResponse(responseCode = "413", description = "Too many IDs in one request")
+    })
+    public BatchGetResult<User> getUsersByIds(
+            @RequestParam("ids")
+            @Parameter(description = "Comma-separated user IDs, at most " + BatchGet.MAX_IDS, example = "abc123,xyz456")
+            List<String> ids
+    ) {
+        return service.retrieveUsers(ids);
+    }
+
+    @PostMapping("batch-get")
+    @Operation(summary = "Batch get users", description = "Return the users with the IDs in the body in the requested order and the IDs not found")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return found users and missing IDs"),
+            @ApiResponse(responseCode = "413", description = "Too many IDs in one request")
+    })
+    public BatchGetResult<User> postBatchGetUsers(@RequestBody BatchGetRequest request) {
+        return service.retrieveUsers(request.getIds());
+    }
+
     @GetMapping("{id}")
     @Operation(summary = "Get single user", description = "Retrieve specific user by given ID")
     @ApiResponses({
@@ -44,12 +120,23 @@ public class UserController {
         return service.retrieveUserDetails(id);
     }
 
+    @GetMapping("by-name/{email}")
+    @Operation(summary = "Get user by name", description = "Retrieve specific user by its OAuth2 email using the unique name index")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return single user"),
+            @ApiResponse(responseCode = "404", description = "User not found")
+    })
+    public User getUserByName(@PathVariable("email") String email) {
+        return service.retrieveUserByName(email);
+    }
+
     @PostMapping
     @Operation(summary = "Create new user", description = "Post new user with given info")
     @ResponseStatus(HttpStatus.CREATED)
     @ApiResponses({
             @ApiResponse(responseCode = "201", description = "User successfully created"),
-            @ApiResponse(responseCode = "400", description = "Validation error")
+            @ApiResponse(responseCode = "400", description = "Validation error"),
+            @ApiResponse(responseCode = "409", description = "User name already registered")
     })
     public User postCreateUser(@RequestBody @Valid User user) {
         return service.createUser(user);
@@ -62,10 +149,87 @@ public class UserController {
             @ApiResponse(responseCode = "204", description = "User successfully updated"),
             @ApiResponse(responseCode = "400", description = "Validation error"),
             @ApiResponse(responseCode = "404", description = "User not found"),
-            @ApiResponse(responseCode = "409", description = "Path and object user IDs do not match")
+            @ApiResponse(responseCode = "409", description = "Path and object user IDs do not match or user version in body is outdated"),
+            @ApiResponse(responseCode = "412", description = "User version in If-Match is outdated")
+    })
+    public void putUpdateUser(
+            @PathVariable("id") String id,
+            @Valid @RequestBody User user,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag of the user version being modified")
+            String ifMatch
+    ) {
+        Long expectedVersion = EntityTags.parseIfMatch(ifMatch);
+
+        if (expectedVersion == null) {
+            service.updateUser(id, user);
+            return;
+        }
+
+        user.setVersion(expectedVersion);
+        EntityTags.precondition(() -> service.updateUser(id, user));
+    }
+
+    @PutMapping("by-name/{email}")
+    @Operation(summary = "Register user by name", description = "Create or update the user with the given OAuth2 email in a single write, repeating it is harmless")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return the stored user"),
+            @ApiResponse(responseCode = "400", description = "Validation error"),
+            @ApiResponse(responseCode = "409", description = "Path and object user names do not match")
+    })
+    public User putUserByName(@PathVariable("email") String email, @Valid @RequestBody User user) {
+        return service.upsertUserByName(email, user);
+    }
+
+    @PatchMapping(value = "{id}", consumes = {MergePatchReader.MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Patch user", description = "Change only the given user fields using JSON Merge Patch, null removes a field")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "User successfully patched"),
+            @ApiResponse(responseCode = "400", description = "Unknown, read only or invalid field"),
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "412", description = "User version in If-Match is outdated")
     })
-    public void putUpdateUser(@PathVariable("id") String id, @Valid @RequestBody User user) {
-        service.updateUser(id, user);
+    public void patchUser(
+            @PathVariable("id") String id,
+            @RequestBody Map<String, Object> patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag of the user version being modified")
+            String ifMatch
+    ) {
+        Long expectedVersion = EntityTags.parseIfMatch(ifMatch);
+        MergePatch changes = patchReader.read(User.class, patch);
+
+        EntityTags.precondition(() -> service.patchUser(id, changes, expectedVersion));
+    }
+
+    @PatchMapping("bulk")
+    @Operation(summary = "Patch users in bulk", description = "Apply one JSON Merge Patch to the users selected by IDs and/or filter")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return matched, modified and not found counts"),
+            @ApiResponse(responseCode = "400", description = "Missing selection, unknown field or invalid patch"),
+            @ApiResponse(responseCode = "413", description = "Too many IDs in one request")
+    })
+    public BulkWriteSummary patchUsersBulk(@RequestBody BulkWriteRequest request) {
+        BulkFilter filter = bulkReader.filter(User.class, request);
+        MergePatch patch = patchReader.read(User.class, request.getPatch() == null ? Map.of() : request.getPatch());
+
+        if (patch.isEmpty()) {
+            throw new InvalidPatchException("Bulk patch is empty");
+        }
+
+        return service.patchUsers(filter, patch);
+    }
+
+    @DeleteMapping("bulk")
+    @Operation(summary = "Delete users in bulk", description = "Remove the users selected by IDs and/or filter")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Return matched, deleted and not found counts"),
+            @ApiResponse(responseCode = "400", description = "Missing selection or unknown field"),
+            @ApiResponse(responseCode = "413", description = "Too many IDs in one request")
+    })
+    public BulkWriteSummary deleteUsersBulk(@RequestBody BulkWriteRequest request) {
+        return service.deleteUsers(bulkReader.filter(User.class, request));
     }
 
     @DeleteMapping("{id}")
@@ -73,9 +237,22 @@ public class UserController {
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "User successfully deleted"),
-            @ApiResponse(responseCode = "404", description = "User not found")
+            @ApiResponse(responseCode = "404", description = "User not found"),
+            @ApiResponse(responseCode = "412", description = "User version in If-Match is outdated")
     })
-    public void deleteUser(@PathVariable("id") String id) {
-        service.deleteUser(id);
+    public void deleteUser(
+            @PathVariable("id") String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+            @Parameter(description = "ETag of the user version being removed")
+            String ifMatch
+    ) {
+        Long expectedVersion = EntityTags.parseIfMatch(ifMatch);
+
+        if (expectedVersion == null) {
+            service.deleteUser(id);
+            return;
+        }
+
+        EntityTags.precondition(() -> service.deleteUser(id, expectedVersion));
     }
 }
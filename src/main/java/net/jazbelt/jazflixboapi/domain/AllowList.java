@@ -0,0 +1,141 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import net.jazbelt.jazflixboapi.model.entity.User;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory set of enabled user names answering sign-in checks. Names are
+ * kept as stored, matching the unique name index, in a concurrent hash set,
+ * so a known user is a single lookup that never reaches the database and
+ * keeps working while it is down.
+ * <p>
+ * An unknown name, maybe registered through another instance, is looked
+ * up once and remembered as denied for a short time, so repeated attempts
+ * do not reach the database either.
+ */
+public class AllowList {
+
+    private final Cache<String, Boolean> denied;
+
+    /**
+     * Serializes single user writes with rebuilds, a write waits for the
+     * rebuild in progress and lands on the new set instead of being lost
+     * with the previous one.
+     */
+    private final Lock writes = new ReentrantLock();
+
+    private volatile Entries entries = new Entries();
+
+    public AllowList(long deniedMaximumSize, Duration deniedTtl) {
+        this.denied = Caffeine.newBuilder()
+                .maximumSize(deniedMaximumSize)
+                .expireAfterWrite(deniedTtl)
+                .build();
+    }
+
+    /**
+     * Whether the user with the given name is enabled, the loader finds a
+     * user by name and is only called for names neither allowed nor
+     * recently denied. Loader failures propagate and are not remembered.
+     */
+    public boolean allowed(String name, Function<String, Optional<User>> loader) {
+        if (entries.names.contains(name)) {
+            return true;
+        }
+
+        if (denied.getIfPresent(name) != null) {
+            return false;
+        }
+
+        Optional<User> user = loader.apply(name);
+
+        if (user.isPresent() && Boolean.TRUE.equals(user.get().getEnabled())) {
+            put(user.get());
+            return true;
+        }
+
+        denied.put(name, Boolean.TRUE);
+        return false;
+    }
+
+    public void put(User user) {
+        if (user.getName() == null || !Boolean.TRUE.equals(user.getEnabled())) {
+            remove(user.getId());
+            return;
+        }
+
+        writes.lock();
+        try {
+            Entries current = entries;
+            String previous = current.nameById.put(user.getId(), user.getName());
+
+            if (previous != null && !previous.equals(user.getName())) {
+                current.names.remove(previous);
+            }
+            current.names.add(user.getName());
+            denied.invalidate(user.getName());
+        } finally {
+            writes.unlock();
+        }
+    }
+
+    public void remove(String id) {
+        writes.lock();
+        try {
+            Entries current = entries;
+            String previous = current.nameById.remove(id);
+
+            if (previous != null) {
+                current.names.remove(previous);
+            }
+        } finally {
+            writes.unlock();
+        }
+    }
+
+    /**
+     * Build a new set from all users and swap it in, checks keep using the
+     * previous one meanwhile. The users are read while holding the write
+     * lock, so a user written during the rebuild is either read already
+     * written or applied once the new set is in place.
+     */
+    public void replaceAll(Supplier<Stream<User>> users) {
+        writes.lock();
+        try (Stream<User> all = users.get()) {
+            Entries rebuilt = new Entries();
+
+            all.filter(user -> user.getName() != null && Boolean.TRUE.equals(user.getEnabled())).forEach(user -> {
+                rebuilt.nameById.put(user.getId(), user.getName());
+                rebuilt.names.add(user.getName());
+            });
+
+            entries = rebuilt;
+            denied.invalidateAll();
+        } finally {
+            writes.unlock();
+        }
+    }
+
+    public int size() {
+        return entries.names.size();
+    }
+
+    private static final class Entries {
+
+        private final Set<String> names = ConcurrentHashMap.newKeySet();
+
+        private final Map<String, String> nameById = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,37 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the allow-list once the application is ready and rebuilds it
+ * periodically, picking up users changed by other instances.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class AllowListLoader {
+
+    private final IUserService service;
+
+    @Autowired
+    public AllowListLoader(IUserService service) {
+        this.service = service;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jazflix.auth.refresh-interval:PT5M}", initialDelayString = "${jazflix.auth.refresh-interval:PT5M}")
+    public void load() {
+        try {
+            service.reloadAllowList();
+        } catch (DataAccessException e) {
+            log.warn("Allow-list load failed, checks keep using the previous users", e);
+        }
+    }
+}
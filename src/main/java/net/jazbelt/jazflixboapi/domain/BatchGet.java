@@ -0,0 +1,67 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import net.jazbelt.jazflixboapi.error.BulkTooLargeException;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetResult;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Batch get helpers. Requested IDs are looked up at once, by a single $in
+ * query for those not cached, and the result is put back in the order
+ * they were requested.
+ */
+public final class BatchGet {
+
+    public static final int MAX_IDS = 500;
+
+    private BatchGet() {
+    }
+
+    /**
+     * Requested IDs without blanks and duplicates, keeping their order.
+     */
+    public static List<String> ids(List<String> ids) {
+        if (ids == null) {
+            return List.of();
+        }
+
+        List<String> distinct = ids.stream()
+                .filter(id -> id != null && !id.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+
+        if (distinct.size() > MAX_IDS) {
+            throw new BulkTooLargeException(MAX_IDS);
+        }
+
+        return distinct;
+    }
+
+    public static <T> Map<String, T> byId(Iterable<T> entities, Function<T, String> id) {
+        Map<String, T> result = new HashMap<>();
+        entities.forEach(entity -> result.put(id.apply(entity), entity));
+        return result;
+    }
+
+    public static <T> BatchGetResult<T> result(List<String> ids, Map<String, T> found) {
+        List<T> items = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>();
+
+        for (String id : ids) {
+            T entity = found.get(id);
+
+            if (entity == null) {
+                missing.add(id);
+            } else {
+                items.add(entity);
+            }
+        }
+
+        return new BatchGetResult<>(items, missing);
+    }
+}
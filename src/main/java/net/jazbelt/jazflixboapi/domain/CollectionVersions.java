@@ -0,0 +1,53 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version counter per collection, incremented by every write
+ * done through the services. Combined with a random epoch chosen at
+ * startup, so counters restarting from zero never produce a tag issued
+ * by a previous process.
+ * <p>
+ * Writes made through other instances are not counted, so with several
+ * instances serving writes the list caches relying on these versions must
+ * be turned off, see {@link net.jazbelt.jazflixboapi.ListCacheProperties}.
+ */
+@Component
+@Profile("!reactive")
+public class CollectionVersions {
+
+    public static final String MOVIES = "movies";
+
+    public static final String SECTIONS = "sections";
+
+    public static final String USERS = "users";
+
+    private final long epoch = ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE;
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long current(String collection) {
+        return counter(collection).get();
+    }
+
+    public long increment(String collection) {
+        return counter(collection).incrementAndGet();
+    }
+
+    /**
+     * Opaque tag identifying the current state of a collection.
+     */
+    public String tag(String collection) {
+        return Long.toHexString(epoch) + "-" + current(collection);
+    }
+
+    private AtomicLong counter(String collection) {
+        return versions.computeIfAbsent(collection, name -> new AtomicLong());
+    }
+}
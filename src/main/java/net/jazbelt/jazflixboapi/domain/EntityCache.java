@@ -0,0 +1,120 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import net.jazbelt.jazflixboapi.model.dto.CacheStatistics;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of single entities by ID. Entries are evicted
+ * by size and by time since they were loaded, and must be invalidated by
+ * the owning service on every write.
+ * <p>
+ * Loads run on the calling thread outside of any map lock, so a virtual
+ * thread waiting on the database does not pin its carrier. Concurrent
+ * lookups of the same ID wait for that single load.
+ */
+public class EntityCache<T> {
+
+    private final String name;
+
+    private final AsyncCache<String, T> cache;
+
+    public EntityCache(String name, long maximumSize, Duration ttl) {
+        this.name = name;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Return cached entity or load it. Missing entities are not cached.
+     */
+    public Optional<T> get(String id, Function<String, Optional<T>> loader) {
+        CompletableFuture<T> loading = new CompletableFuture<>();
+        CompletableFuture<T> entry = cache.get(id, (key, executor) -> loading);
+
+        if (entry == loading) {
+            try {
+                loading.complete(loader.apply(id).orElse(null));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return Optional.ofNullable(entry.join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    /**
+     * Return the cached entities and load all the others with a single
+     * loader call, entities it does not return are missing from the result
+     * and not cached.
+     */
+    public Map<String, T> getAll(Collection<String> ids, Function<Set<String>, Map<String, T>> loader) {
+        CompletableFuture<Map<String, T>> loading = new CompletableFuture<>();
+        AtomicReference<Set<String>> missed = new AtomicReference<>();
+        CompletableFuture<Map<String, T>> entries = cache.getAll(ids, (keys, executor) -> {
+            missed.set(Set.copyOf(keys));
+            return loading;
+        });
+
+        if (missed.get() != null) {
+            try {
+                loading.complete(loader.apply(missed.get()));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return entries.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public void invalidate(String id) {
+        if (id != null) {
+            cache.synchronous().invalidate(id);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public CacheStatistics statistics() {
+        CacheStats stats = cache.synchronous().stats();
+
+        return new CacheStatistics(
+                name,
+                cache.synchronous().estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+}
@@ -1,20 +1,90 @@
 package net.jazbelt.jazflixboapi.domain;
 
+import net.jazbelt.jazflixboapi.model.dto.BatchGetResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkItem;
+import net.jazbelt.jazflixboapi.model.dto.BulkResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteSummary;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.dto.FieldSelection;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
+import net.jazbelt.jazflixboapi.model.dto.TagMatch;
+import net.jazbelt.jazflixboapi.model.dto.TitleSuggestion;
 import net.jazbelt.jazflixboapi.model.entity.Movie;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public interface IMovieService {
 
     Movie createMovie(Movie movie);
 
+    /**
+     * Insert valid items in unordered batches and report the outcome of
+     * every item, invalid ones included.
+     */
+    BulkResult createMovies(List<BulkItem<Movie>> items);
+
     List<Movie> retrieveAllMovies();
 
+    List<Movie> retrieveAllMovies(FieldSelection fields);
+
+    CursorPage<Movie> retrieveMoviesPage(String after, int limit);
+
+    /**
+     * Movies with the given IDs in the requested order, cached ones are
+     * not queried again, together with the IDs not found.
+     */
+    BatchGetResult<Movie> retrieveMovies(List<String> ids);
+
+    CursorPage<Movie> retrieveMoviesPage(String after, int limit, FieldSelection fields);
+
+    /**
+     * Page of movies matching the text by relevance, limited to the first
+     * {@link MovieService#SEARCH_WINDOW} results.
+     */
+    CursorPage<Movie> searchMovies(String text, String after, int limit);
+
+    List<Movie> retrieveMoviesByTags(List<String> tags, TagMatch match);
+
+    CursorPage<Movie> retrieveMoviesByTagsPage(List<String> tags, TagMatch match, String after, int limit);
+
+    /**
+     * Titles starting with the prefix, ignoring case and accents, served
+     * from the in-memory {@link TitleIndex}.
+     */
+    List<TitleSuggestion> suggestTitles(String prefix, int limit);
+
+    /**
+     * Rebuild the title index from the database, writes through this
+     * service keep it current afterwards.
+     */
+    void reloadTitleIndex();
+
+    /**
+     * Lazy stream over a database cursor, it must be closed by the caller.
+     */
+    Stream<Movie> streamAllMovies();
+
     Movie retrieveSingleMovie(String id);
 
+    Movie retrieveSingleMovie(String id, FieldSelection fields);
+
     void updateMovie(String id, Movie movie);
 
+    /**
+     * Change only the properties present in the patch, when expectedVersion
+     * is not null the movie must still have that version.
+     */
+    void patchMovie(String id, MergePatch patch, Long expectedVersion);
+
     void deleteMovie(String id);
+
+    void deleteMovie(String id, Long expectedVersion);
+
+    BulkWriteSummary patchMovies(BulkFilter filter, MergePatch patch);
+
+    BulkWriteSummary deleteMovies(BulkFilter filter);
 }
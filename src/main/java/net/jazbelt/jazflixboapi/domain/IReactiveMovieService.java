@@ -0,0 +1,35 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non blocking movie operations of the reactive profile, nothing is
+ * read from the database until the result is subscribed.
+ */
+@Service
+public interface IReactiveMovieService {
+
+    Mono<Movie> createMovie(Movie movie);
+
+    /**
+     * Cursor backed stream, documents are fetched in batches as the
+     * subscriber requests them.
+     */
+    Flux<Movie> retrieveAllMovies();
+
+    Mono<CursorPage<Movie>> retrieveMoviesPage(String after, int limit);
+
+    Mono<Movie> retrieveSingleMovie(String id);
+
+    /**
+     * Replace the movie, when its version is not null the stored movie
+     * must still have that version.
+     */
+    Mono<Void> updateMovie(String id, Movie movie);
+
+    Mono<Void> deleteMovie(String id, Long expectedVersion);
+}
@@ -0,0 +1,35 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.entity.Section;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non blocking section operations of the reactive profile, nothing is
+ * read from the database until the result is subscribed.
+ */
+@Service
+public interface IReactiveSectionService {
+
+    Mono<Section> createSection(Section section);
+
+    /**
+     * Cursor backed stream, documents are fetched in batches as the
+     * subscriber requests them.
+     */
+    Flux<Section> retrieveAllSections();
+
+    Mono<CursorPage<Section>> retrieveSectionsPage(String after, int limit);
+
+    Mono<Section> retrieveSection(String id);
+
+    /**
+     * Replace the section, when its version is not null the stored section
+     * must still have that version.
+     */
+    Mono<Void> updateSection(String id, Section section);
+
+    Mono<Void> deleteSection(String id, Long expectedVersion);
+}
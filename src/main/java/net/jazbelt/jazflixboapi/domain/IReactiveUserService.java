@@ -0,0 +1,35 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.entity.User;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non blocking user operations of the reactive profile, nothing is
+ * read from the database until the result is subscribed.
+ */
+@Service
+public interface IReactiveUserService {
+
+    Mono<User> createUser(User user);
+
+    /**
+     * Cursor backed stream, documents are fetched in batches as the
+     * subscriber requests them.
+     */
+    Flux<User> retrieveAllUsers();
+
+    Mono<CursorPage<User>> retrieveUsersPage(String after, int limit);
+
+    Mono<User> retrieveUserDetails(String id);
+
+    /**
+     * Replace the user, when its version is not null the stored user
+     * must still have that version.
+     */
+    Mono<Void> updateUser(String id, User user);
+
+    Mono<Void> deleteUser(String id, Long expectedVersion);
+}
@@ -1,20 +1,65 @@
 package net.jazbelt.jazflixboapi.domain;
 
+import net.jazbelt.jazflixboapi.model.dto.BatchGetResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteSummary;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
 import net.jazbelt.jazflixboapi.model.entity.Section;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public interface ISectionService {
 
     Section createSection(Section section);
 
+    /**
+     * All sections sorted by display order, from memory.
+     */
     List<Section> retrieveAllSections();
 
+    CursorPage<Section> retrieveSectionsPage(String after, int limit);
+
+    /**
+     * Lazy stream over a database cursor, it must be closed by the caller.
+     */
+    Stream<Section> streamAllSections();
+
     Section retrieveSection(String id);
 
+    /**
+     * Sections with the given IDs in the requested order, served from the
+     * in-memory snapshot, together with the IDs not found.
+     */
+    BatchGetResult<Section> retrieveSections(List<String> ids);
+
     void updateSection(String id, Section section);
 
+    /**
+     * Change only the properties present in the patch, when expectedVersion
+     * is not null the section must still have that version.
+     */
+    void patchSection(String id, MergePatch patch, Long expectedVersion);
+
     void deleteSection(String id);
+
+    void deleteSection(String id, Long expectedVersion);
+
+    /**
+     * Move a section right after the after section and/or right before the
+     * before section, writing the moved section only.
+     */
+    void moveSection(String id, String before, String after, Long expectedVersion);
+
+    /**
+     * Give every section an evenly spread rank, keeping the current order.
+     */
+    void rebalanceSections();
+
+    BulkWriteSummary patchSections(BulkFilter filter, MergePatch patch);
+
+    BulkWriteSummary deleteSections(BulkFilter filter);
 }
@@ -1,19 +1,70 @@
 package net.jazbelt.jazflixboapi.domain;
 
+import net.jazbelt.jazflixboapi.model.dto.BatchGetResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteSummary;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
 import net.jazbelt.jazflixboapi.model.entity.User;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Service
 public interface IUserService {
     User retrieveUserDetails(String id);
 
+    User retrieveUserByName(String name);
+
+    /**
+     * Users with the given IDs in the requested order, cached ones are
+     * not queried again, together with the IDs not found.
+     */
+    BatchGetResult<User> retrieveUsers(List<String> ids);
+
     List<User> retrieveAllUsers();
 
+    CursorPage<User> retrieveUsersPage(String after, int limit);
+
+    /**
+     * Lazy stream over a database cursor, it must be closed by the caller.
+     */
+    Stream<User> streamAllUsers();
+
     User createUser(User user);
 
     void updateUser(String id, User user);
 
+    /**
+     * Create the user with the given name or update the existing one,
+     * repeating it leaves the same state.
+     */
+    User upsertUserByName(String name, User user);
+
+    /**
+     * Change only the properties present in the patch, when expectedVersion
+     * is not null the user must still have that version.
+     */
+    void patchUser(String id, MergePatch patch, Long expectedVersion);
+
     void deleteUser(String id);
+
+    void deleteUser(String id, Long expectedVersion);
+
+    BulkWriteSummary patchUsers(BulkFilter filter, MergePatch patch);
+
+    BulkWriteSummary deleteUsers(BulkFilter filter);
+
+    /**
+     * Whether the user with the given name exists and is enabled, served
+     * from the in-memory {@link AllowList}.
+     */
+    boolean isAllowed(String name);
+
+    /**
+     * Rebuild the allow-list from the database, writes through this
+     * service keep it up to date in between.
+     */
+    void reloadAllowList();
 }
@@ -0,0 +1,290 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import net.jazbelt.jazflixboapi.model.dto.CacheStatistics;
+import net.jazbelt.jazflixboapi.model.entity.Versioned;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Serialized UTF-8 JSON of single entities by ID and version. Lists
+ * wrapped by {@link #list(List)} are written by copying the cached bytes
+ * of every unchanged entity into the response instead of serializing it
+ * again.
+ * <p>
+ * A fragment is only used for the entity version it was written from, and
+ * the owning service invalidates it on writes to free the memory early.
+ */
+public class JsonFragmentCache<T extends Versioned> {
+
+    private final String name;
+
+    private final Cache<String, Fragment> cache;
+
+    private final ObjectWriter writer;
+
+    private final Function<T, String> id;
+
+    private final Predicate<T> cacheable;
+
+    /**
+     * @param writer    serializes one entity the way responses do
+     * @param cacheable false for entities carrying per request data
+     */
+    public JsonFragmentCache(String name, long maximumSize, Duration ttl, ObjectWriter writer,
+                             Function<T, String> id, Predicate<T> cacheable) {
+        this.name = name;
+        this.writer = writer;
+        this.id = id;
+        this.cacheable = cacheable;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * List serialized from cached fragments, otherwise behaving as the
+     * given list.
+     */
+    public List<T> list(List<T> entities) {
+        return new Fragments<>(this, entities);
+    }
+
+    /**
+     * Cached JSON of the entity, written and cached on a miss.
+     */
+    public SerializableString fragment(T entity) throws IOException {
+        String key = id.apply(entity);
+        Fragment fragment = cache.getIfPresent(key);
+
+        if (fragment == null || !Objects.equals(fragment.version, entity.getVersion())) {
+            fragment = new Fragment(entity.getVersion(), writer.writeValueAsBytes(entity));
+            cache.put(key, fragment);
+        }
+
+        return fragment;
+    }
+
+    public void invalidate(String id) {
+        if (id != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStatistics statistics() {
+        CacheStats stats = cache.stats();
+
+        return new CacheStatistics(
+                name,
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+
+    /**
+     * Entity list written as a JSON array of cached fragments, see
+     * {@link net.jazbelt.jazflixboapi.controller.JsonFragmentModule}.
+     */
+    public static final class Fragments<T extends Versioned> extends AbstractList<T> implements RandomAccess {
+
+        private final JsonFragmentCache<T> cache;
+
+        private final List<T> entities;
+
+        private Fragments(JsonFragmentCache<T> cache, List<T> entities) {
+            this.cache = cache;
+            this.entities = entities;
+        }
+
+        @Override
+        public T get(int index) {
+            return entities.get(index);
+        }
+
+        @Override
+        public int size() {
+            return entities.size();
+        }
+
+        public void serialize(JsonGenerator generator, SerializerProvider provider) throws IOException {
+            generator.writeStartArray(this, entities.size());
+
+            for (T entity : entities) {
+                if (entity == null) {
+                    generator.writeNull();
+                } else if (cache.cacheable.test(entity)) {
+                    generator.writeRawValue(cache.fragment(entity));
+                } else {
+                    provider.defaultSerializeValue(entity, generator);
+                }
+            }
+
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Already encoded JSON value. Raw writes copy the cached bytes, the
+     * quoted forms escape the JSON text as a string value and are only
+     * computed when asked for.
+     */
+    private static final class Fragment implements SerializableString {
+
+        private final Long version;
+
+        private final byte[] json;
+
+        private final int charLength;
+
+        private Fragment(Long version, byte[] json) {
+            this.version = version;
+            this.json = json;
+            this.charLength = charLength(json);
+        }
+
+        /**
+         * UTF-16 length of UTF-8 bytes: one char per leading byte and a
+         * surrogate pair for four byte sequences.
+         */
+        private static int charLength(byte[] utf8) {
+            int length = 0;
+
+            for (byte b : utf8) {
+                if ((b & 0xC0) != 0x80) {
+                    length += (b & 0xF8) == 0xF0 ? 2 : 1;
+                }
+            }
+
+            return length;
+        }
+
+        @Override
+        public String getValue() {
+            return new String(json, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public int charLength() {
+            return charLength;
+        }
+
+        /**
+         * The cached bytes themselves, like {@link com.fasterxml.jackson.core.io.SerializedString}
+         * callers must not modify them.
+         */
+        @Override
+        public byte[] asUnquotedUTF8() {
+            return json;
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] buffer, int offset) {
+            return append(json, buffer, offset);
+        }
+
+        @Override
+        public int appendUnquoted(char[] buffer, int offset) {
+            if (offset + charLength > buffer.length) {
+                return -1;
+            }
+
+            String value = getValue();
+            value.getChars(0, value.length(), buffer, offset);
+            return value.length();
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream out) throws IOException {
+            out.write(json);
+            return json.length;
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer buffer) {
+            return put(json, buffer);
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+            return JsonStringEncoder.getInstance().quoteAsString(getValue());
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+            return JsonStringEncoder.getInstance().quoteAsUTF8(getValue());
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] buffer, int offset) {
+            return append(asQuotedUTF8(), buffer, offset);
+        }
+
+        @Override
+        public int appendQuoted(char[] buffer, int offset) {
+            char[] quoted = asQuotedChars();
+
+            if (offset + quoted.length > buffer.length) {
+                return -1;
+            }
+
+            System.arraycopy(quoted, 0, buffer, offset, quoted.length);
+            return quoted.length;
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream out) throws IOException {
+            byte[] quoted = asQuotedUTF8();
+            out.write(quoted);
+            return quoted.length;
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer buffer) {
+            return put(asQuotedUTF8(), buffer);
+        }
+
+        private static int append(byte[] bytes, byte[] buffer, int offset) {
+            if (offset + bytes.length > buffer.length) {
+                return -1;
+            }
+
+            System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+            return bytes.length;
+        }
+
+        private static int put(byte[] bytes, ByteBuffer buffer) {
+            if (bytes.length > buffer.remaining()) {
+                return -1;
+            }
+
+            buffer.put(bytes);
+            return bytes.length;
+        }
+    }
+}
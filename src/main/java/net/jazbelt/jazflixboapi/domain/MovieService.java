@@ -1,38 +1,206 @@
 package net.jazbelt.jazflixboapi.domain;
 
+import io.micrometer.core.annotation.Timed;
+import net.jazbelt.jazflixboapi.BulkProperties;
+import net.jazbelt.jazflixboapi.MetricsConfig;
 import net.jazbelt.jazflixboapi.error.MovieNotFoundException;
+import net.jazbelt.jazflixboapi.error.VersionConflictException;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkItem;
+import net.jazbelt.jazflixboapi.model.dto.BulkItemResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteSummary;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.dto.FieldSelection;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
+import net.jazbelt.jazflixboapi.model.dto.TagMatch;
+import net.jazbelt.jazflixboapi.model.dto.TitleSuggestion;
 import net.jazbelt.jazflixboapi.model.entity.Movie;
 import net.jazbelt.jazflixboapi.model.repository.MovieRepository;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!reactive")
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class MovieService implements IMovieService {
 
+    /**
+     * Ranked results are paged by offset, so a search only reaches this
+     * many results to keep deep pages from scanning the whole match set.
+     */
+    public static final int SEARCH_WINDOW = 1000;
+
+    private static final String TITLE = "title";
+
     private final MovieRepository repository;
 
+    private final EntityCache<Movie> cache;
+
+    private final CollectionVersions versions;
+
+    private final BulkProperties bulk;
+
+    private final TitleIndex titles;
+
+    private final JsonFragmentCache<Movie> json;
+
     @Autowired
-    public MovieService(MovieRepository repository) {
+    public MovieService(
+            MovieRepository repository,
+            EntityCache<Movie> cache,
+            CollectionVersions versions,
+            BulkProperties bulk,
+            TitleIndex titles,
+            JsonFragmentCache<Movie> json
+    ) {
         this.repository = repository;
+        this.cache = cache;
+        this.versions = versions;
+        this.bulk = bulk;
+        this.titles = titles;
+        this.json = json;
     }
 
     @Override
     public Movie createMovie(Movie movie) {
         movie.setId(null);
-        return repository.save(movie);
+        movie.setVersion(null);
+        Movie created = repository.save(movie);
+        cache.invalidate(created.getId());
+        titles.put(created.getId(), created.getTitle());
+        versions.increment(CollectionVersions.MOVIES);
+        return created;
+    }
+
+    @Override
+    public BulkResult createMovies(List<BulkItem<Movie>> items) {
+        BulkItemResult[] results = new BulkItemResult[items.size()];
+        List<Integer> batch = new ArrayList<>(bulk.getBatchSize());
+
+        for (int i = 0; i < items.size(); i++) {
+            BulkItem<Movie> item = items.get(i);
+
+            if (!item.isValid()) {
+                results[i] = new BulkItemResult(item.getIndex(), BulkItemResult.Status.INVALID, null, item.getErrors());
+                continue;
+            }
+
+            // IDs are assigned here since bulk inserts do not write them back
+            item.getEntity().setId(new ObjectId().toHexString());
+            item.getEntity().setVersion(0L);
+            batch.add(i);
+
+            if (batch.size() == bulk.getBatchSize()) {
+                insertBatch(items, batch, results);
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            insertBatch(items, batch, results);
+        }
+
+        BulkResult result = BulkResult.of(Arrays.asList(results));
+        if (result.getCreated() > 0) {
+            versions.increment(CollectionVersions.MOVIES);
+        }
+
+        return result;
     }
 
     @Override
     public List<Movie> retrieveAllMovies() {
-        return repository.findAll();
+        return json.list(repository.findAll());
+    }
+
+    @Override
+    public List<Movie> retrieveAllMovies(FieldSelection fields) {
+        return repository.findAllProjected(fields, null, Limit.unlimited());
+    }
+
+    @Override
+    public CursorPage<Movie> retrieveMoviesPage(String after, int limit) {
+        List<Movie> result = after == null
+                ? repository.findAllByOrderByIdAsc(PageCursor.fetchLimit(limit))
+                : repository.findByIdGreaterThanOrderByIdAsc(PageCursor.decode(after), PageCursor.fetchLimit(limit));
+
+        return fragments(PageCursor.page(result, limit, Movie::getId));
+    }
+
+    @Override
+    public BatchGetResult<Movie> retrieveMovies(List<String> ids) {
+        List<String> requested = BatchGet.ids(ids);
+        Map<String, Movie> found = cache.getAll(requested, missed -> BatchGet.byId(repository.findAllById(missed), Movie::getId));
+        BatchGetResult<Movie> result = BatchGet.result(requested, found);
+
+        result.setItems(json.list(result.getItems()));
+        return result;
+    }
+
+    @Override
+    public CursorPage<Movie> retrieveMoviesPage(String after, int limit, FieldSelection fields) {
+        String afterId = after == null ? null : PageCursor.decode(after);
+        List<Movie> result = repository.findAllProjected(fields, afterId, PageCursor.fetchLimit(limit));
+
+        return PageCursor.page(result, limit, Movie::getId);
+    }
+
+    @Override
+    public CursorPage<Movie> searchMovies(String text, String after, int limit) {
+        int offset = after == null ? 0 : PageCursor.decodeOffset(after);
+
+        if (text.isBlank() || offset >= SEARCH_WINDOW) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        List<Movie> result = repository.search(text, offset, PageCursor.fetchLimit(limit));
+        CursorPage<Movie> page = PageCursor.offsetPage(result, offset, limit);
+
+        return offset + page.getItems().size() >= SEARCH_WINDOW
+                ? new CursorPage<>(page.getItems(), null)
+                : page;
+    }
+
+    @Override
+    public List<Movie> retrieveMoviesByTags(List<String> tags, TagMatch match) {
+        List<String> normalized = normalizeTags(tags);
+
+        return normalized.isEmpty()
+                ? List.of()
+                : json.list(repository.findByTags(normalized, match, null, Limit.unlimited()));
+    }
+
+    @Override
+    public CursorPage<Movie> retrieveMoviesByTagsPage(List<String> tags, TagMatch match, String after, int limit) {
+        List<String> normalized = normalizeTags(tags);
+        String afterId = after == null ? null : PageCursor.decode(after);
+
+        List<Movie> result = normalized.isEmpty()
+                ? List.of()
+                : repository.findByTags(normalized, match, afterId, PageCursor.fetchLimit(limit));
+
+        return fragments(PageCursor.page(result, limit, Movie::getId));
+    }
+
+    @Override
+    public Stream<Movie> streamAllMovies() {
+        return repository.streamAllBy();
     }
 
     @Override
     public Movie retrieveSingleMovie(String id) {
-        Optional<Movie> result = repository.findById(id);
+        Optional<Movie> result = cache.get(id, repository::findById);
 
         if (result.isEmpty()) {
             throw new MovieNotFoundException(id);
@@ -41,16 +209,153 @@ public class MovieService implements IMovieService {
         return result.get();
     }
 
+    @Override
+    public Movie retrieveSingleMovie(String id, FieldSelection fields) {
+        return repository.findByIdProjected(id, fields)
+                .orElseThrow(() -> new MovieNotFoundException(id));
+    }
+
     @Override
     public void updateMovie(String id, Movie movie) {
-        retrieveSingleMovie(id);
         movie.setId(id);
-        repository.save(movie);
+
+        if (!repository.replaceVersioned(id, movie.getVersion(), movie)) {
+            throw notMatched(id, movie.getVersion());
+        }
+
+        cache.invalidate(id);
+        json.invalidate(id);
+        titles.put(id, movie.getTitle());
+        versions.increment(CollectionVersions.MOVIES);
+    }
+
+    @Override
+    public void patchMovie(String id, MergePatch patch, Long expectedVersion) {
+        if (patch.isEmpty()) {
+            retrieveSingleMovie(id);
+            return;
+        }
+
+        if (!repository.patchVersioned(id, expectedVersion, patch)) {
+            throw notMatched(id, expectedVersion);
+        }
+
+        cache.invalidate(id);
+        json.invalidate(id);
+        if (patch.getChanges().containsKey(TITLE)) {
+            titles.put(id, (String) patch.getChanges().get(TITLE));
+        }
+        versions.increment(CollectionVersions.MOVIES);
     }
 
     @Override
     public void deleteMovie(String id) {
-        retrieveSingleMovie(id);
-        repository.deleteById(id);
+        deleteMovie(id, null);
+    }
+
+    @Override
+    public void deleteMovie(String id, Long expectedVersion) {
+        if (!repository.deleteVersioned(id, expectedVersion)) {
+            throw notMatched(id, expectedVersion);
+        }
+
+        cache.invalidate(id);
+        json.invalidate(id);
+        titles.remove(id);
+        versions.increment(CollectionVersions.MOVIES);
+    }
+
+    @Override
+    public void reloadTitleIndex() {
+        titles.replaceAll(repository::streamTitlesBy);
+    }
+
+    @Override
+    public List<TitleSuggestion> suggestTitles(String prefix, int limit) {
+        return titles.suggest(prefix, limit);
+    }
+
+    private void insertBatch(List<BulkItem<Movie>> items, List<Integer> batch, BulkItemResult[] results) {
+        List<Movie> movies = batch.stream().map(i -> items.get(i).getEntity()).toList();
+        Map<Integer, String> failed = repository.insertUnordered(movies);
+
+        for (int j = 0; j < batch.size(); j++) {
+            BulkItem<Movie> item = items.get(batch.get(j));
+
+            results[batch.get(j)] = failed.containsKey(j)
+                    ? new BulkItemResult(item.getIndex(), BulkItemResult.Status.FAILED, null, List.of(failed.get(j)))
+                    : new BulkItemResult(item.getIndex(), BulkItemResult.Status.CREATED, item.getEntity().getId(), List.of());
+
+            if (!failed.containsKey(j)) {
+                titles.put(item.getEntity().getId(), item.getEntity().getTitle());
+            }
+        }
+
+        batch.clear();
+    }
+
+    @Override
+    public BulkWriteSummary patchMovies(BulkFilter filter, MergePatch patch) {
+        BulkWriteSummary summary = written(filter, repository.patchAll(filter, patch));
+
+        if (patch.getChanges().containsKey(TITLE) && summary.getModified() > 0) {
+            reloadTitleIndex();
+        }
+
+        return summary;
+    }
+
+    @Override
+    public BulkWriteSummary deleteMovies(BulkFilter filter) {
+        BulkWriteSummary summary = written(filter, repository.deleteAll(filter));
+
+        // only plain ID lists tell which movies are gone without a query
+        if (filter.hasIds() && filter.getCriteria().isEmpty()) {
+            filter.getIds().forEach(titles::remove);
+        } else if (summary.getModified() > 0) {
+            reloadTitleIndex();
+        }
+
+        return summary;
+    }
+
+    private BulkWriteSummary written(BulkFilter filter, BulkWriteSummary summary) {
+        if (filter.hasIds()) {
+            filter.getIds().forEach(cache::invalidate);
+            filter.getIds().forEach(json::invalidate);
+        } else {
+            cache.invalidateAll();
+            json.invalidateAll();
+        }
+
+        if (summary.getModified() > 0) {
+            versions.increment(CollectionVersions.MOVIES);
+        }
+
+        return summary;
+    }
+
+    /**
+     * Full movies of a page are written from their cached JSON.
+     */
+    private CursorPage<Movie> fragments(CursorPage<Movie> page) {
+        page.setItems(json.list(page.getItems()));
+        return page;
+    }
+
+    private static List<String> normalizeTags(List<String> tags) {
+        return Movie.parseTags(String.join(",", tags));
+    }
+
+    /**
+     * Only a failed conditional write needs a second query, to tell a
+     * missing movie from a stale version.
+     */
+    private RuntimeException notMatched(String id, Long expectedVersion) {
+        if (expectedVersion == null || !repository.existsById(id)) {
+            return new MovieNotFoundException(id);
+        }
+
+        return new VersionConflictException("Movie", id, expectedVersion);
     }
 }
@@ -0,0 +1,41 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import lombok.extern.slf4j.Slf4j;
+import net.jazbelt.jazflixboapi.model.repository.MovieRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Parses tags of movies stored before the tags array existed, so tag
+ * queries also find them. Movies already having tags are skipped, which
+ * makes it a no-op after the first run.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class MovieTagsBackfill implements ApplicationRunner {
+
+    private final MovieRepository repository;
+
+    @Autowired
+    public MovieTagsBackfill(MovieRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            long updated = repository.backfillTags();
+
+            if (updated > 0) {
+                log.info("Backfilled tags of {} movies", updated);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Movie tags backfill failed, tag queries may miss older movies", e);
+        }
+    }
+}
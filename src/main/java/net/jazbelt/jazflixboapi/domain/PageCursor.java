@@ -0,0 +1,94 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import net.jazbelt.jazflixboapi.error.InvalidCursorException;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination helpers. Pages are sorted by ID and the cursor is the
+ * last ID of the previous page, so every page is a range query on the _id
+ * index no matter how deep it is.
+ */
+public final class PageCursor {
+
+    public static final int MAX_LIMIT = 500;
+
+    private PageCursor() {
+    }
+
+    public static String encode(String id) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(id.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String decode(String cursor) {
+        try {
+            String id = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+
+            if (id.isBlank()) {
+                throw new InvalidCursorException(cursor);
+            }
+
+            return id;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    /**
+     * Clamp requested page size and ask for one extra element, used to
+     * know whether there is a next page without counting.
+     */
+    public static Limit fetchLimit(int limit) {
+        return Limit.of(pageSize(limit) + 1);
+    }
+
+    public static <T> CursorPage<T> page(List<T> fetched, int limit, Function<T, String> idOf) {
+        int size = pageSize(limit);
+
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null);
+        }
+
+        List<T> items = fetched.subList(0, size);
+        return new CursorPage<>(items, encode(idOf.apply(items.get(size - 1))));
+    }
+
+    /**
+     * Ranked results have no key to seek from, their cursor is the offset
+     * of the next page instead.
+     */
+    public static int decodeOffset(String cursor) {
+        try {
+            int offset = Integer.parseInt(decode(cursor));
+
+            if (offset < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+
+            return offset;
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    public static <T> CursorPage<T> offsetPage(List<T> fetched, int offset, int limit) {
+        int size = pageSize(limit);
+
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null);
+        }
+
+        return new CursorPage<>(fetched.subList(0, size), encode(String.valueOf(offset + size)));
+    }
+
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
@@ -0,0 +1,103 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fractional ordering keys. A key is read as the digits of a fraction in
+ * base 62, digits being ASCII sorted, so comparing keys as strings
+ * compares the fractions and there is always a key between two others.
+ * Keys never end with the lowest digit, which keeps room before them.
+ */
+public final class RankKey {
+
+    static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    private static final int BASE = DIGITS.length();
+
+    /**
+     * Longest key written by a move before all keys are spread again.
+     */
+    public static final int MAX_LENGTH = 12;
+
+    private RankKey() {
+    }
+
+    /**
+     * Key sorting strictly between lower and upper, null meaning the start
+     * or the end of the list.
+     */
+    public static String between(String lower, String upper) {
+        String low = lower == null ? "" : lower;
+
+        if (upper != null && low.compareTo(upper) >= 0) {
+            throw new IllegalArgumentException(String.format("Rank [%s] is not before [%s]", lower, upper));
+        }
+
+        StringBuilder key = new StringBuilder();
+        boolean bounded = upper != null;
+
+        for (int i = 0; ; i++) {
+            int lo = i < low.length() ? digit(low.charAt(i)) : 0;
+            int hi = !bounded ? BASE : i < upper.length() ? digit(upper.charAt(i)) : 0;
+
+            if (lo == hi) {
+                key.append(DIGITS.charAt(lo));
+                continue;
+            }
+
+            int mid = (lo + hi) / 2;
+            if (mid > lo) {
+                return key.append(DIGITS.charAt(mid)).toString();
+            }
+
+            // adjacent digits, anything after lower on this prefix is below upper
+            key.append(DIGITS.charAt(lo));
+            bounded = false;
+        }
+    }
+
+    /**
+     * Count keys of equal length evenly spread over the whole range.
+     */
+    public static List<String> spread(int count) {
+        int length = 1;
+        long range = BASE;
+        while (range <= 2L * (count + 1)) {
+            length++;
+            range *= BASE;
+        }
+
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            keys.add(format(range / (count + 1) * i, length));
+        }
+
+        return keys;
+    }
+
+    private static String format(long value, int length) {
+        char[] digits = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            digits[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+
+        int end = length;
+        while (end > 1 && digits[end - 1] == DIGITS.charAt(0)) {
+            end--;
+        }
+
+        return new String(digits, 0, end);
+    }
+
+    private static int digit(char c) {
+        int digit = DIGITS.indexOf(c);
+
+        if (digit < 0) {
+            throw new IllegalArgumentException(String.format("Invalid rank digit [%s]", c));
+        }
+
+        return digit;
+    }
+}
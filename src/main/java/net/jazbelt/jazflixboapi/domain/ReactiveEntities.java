@@ -0,0 +1,80 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import net.jazbelt.jazflixboapi.error.VersionConflictException;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.entity.Versioned;
+import net.jazbelt.jazflixboapi.model.repository.ReactiveEntityRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Streaming, paging and versioned writes shared by the reactive services.
+ * Nothing reaches the database until the result is subscribed.
+ */
+public class ReactiveEntities<T extends Versioned> {
+
+    private final ReactiveEntityRepository<T> repository;
+
+    private final String name;
+
+    private final Function<T, String> idOf;
+
+    private final Function<String, RuntimeException> notFound;
+
+    /**
+     * @param name     entity name reported by version conflicts
+     * @param notFound error for an ID matching no entity
+     */
+    public ReactiveEntities(ReactiveEntityRepository<T> repository, String name, Function<T, String> idOf,
+                            Function<String, RuntimeException> notFound) {
+        this.repository = repository;
+        this.name = name;
+        this.idOf = idOf;
+        this.notFound = notFound;
+    }
+
+    public Flux<T> stream() {
+        return repository.streamAllBy();
+    }
+
+    public Mono<CursorPage<T>> page(String after, int limit) {
+        return Mono.defer(() -> {
+            Flux<T> result = after == null
+                    ? repository.findAllByOrderByIdAsc(PageCursor.fetchLimit(limit))
+                    : repository.findByIdGreaterThanOrderByIdAsc(PageCursor.decode(after), PageCursor.fetchLimit(limit));
+
+            return result.collectList().map(fetched -> PageCursor.page(fetched, limit, idOf));
+        });
+    }
+
+    public Mono<T> find(String id) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFound.apply(id)));
+    }
+
+    /**
+     * Replace the entity, when its version is not null the stored entity
+     * must still have that version.
+     */
+    public Mono<Void> replace(String id, T entity) {
+        return repository.replaceVersioned(id, entity.getVersion(), entity)
+                .flatMap(matched -> matched ? Mono.empty() : notMatched(id, entity.getVersion()));
+    }
+
+    public Mono<Void> delete(String id, Long expectedVersion) {
+        return repository.deleteVersioned(id, expectedVersion)
+                .flatMap(matched -> matched ? Mono.empty() : notMatched(id, expectedVersion));
+    }
+
+    private Mono<Void> notMatched(String id, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return Mono.error(notFound.apply(id));
+        }
+
+        return repository.existsById(id).flatMap(exists -> Mono.error(exists
+                ? new VersionConflictException(name, id, expectedVersion)
+                : notFound.apply(id)));
+    }
+}
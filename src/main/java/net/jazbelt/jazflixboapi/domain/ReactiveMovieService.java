@@ -0,0 +1,59 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import net.jazbelt.jazflixboapi.error.MovieNotFoundException;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import net.jazbelt.jazflixboapi.model.repository.ReactiveMovieRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class ReactiveMovieService implements IReactiveMovieService {
+
+    private final ReactiveMovieRepository repository;
+
+    private final ReactiveEntities<Movie> movies;
+
+    @Autowired
+    public ReactiveMovieService(ReactiveMovieRepository repository) {
+        this.repository = repository;
+        this.movies = new ReactiveEntities<>(repository, "Movie", Movie::getId, MovieNotFoundException::new);
+    }
+
+    @Override
+    public Mono<Movie> createMovie(Movie movie) {
+        movie.setId(null);
+        movie.setVersion(null);
+        return repository.save(movie);
+    }
+
+    @Override
+    public Flux<Movie> retrieveAllMovies() {
+        return movies.stream();
+    }
+
+    @Override
+    public Mono<CursorPage<Movie>> retrieveMoviesPage(String after, int limit) {
+        return movies.page(after, limit);
+    }
+
+    @Override
+    public Mono<Movie> retrieveSingleMovie(String id) {
+        return movies.find(id);
+    }
+
+    @Override
+    public Mono<Void> updateMovie(String id, Movie movie) {
+        movie.setId(id);
+        return movies.replace(id, movie);
+    }
+
+    @Override
+    public Mono<Void> deleteMovie(String id, Long expectedVersion) {
+        return movies.delete(id, expectedVersion);
+    }
+}
@@ -0,0 +1,63 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import net.jazbelt.jazflixboapi.error.SectionNotFoundException;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.entity.Section;
+import net.jazbelt.jazflixboapi.model.repository.ReactiveSectionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class ReactiveSectionService implements IReactiveSectionService {
+
+    private final ReactiveSectionRepository repository;
+
+    private final ReactiveEntities<Section> sections;
+
+    @Autowired
+    public ReactiveSectionService(ReactiveSectionRepository repository) {
+        this.repository = repository;
+        this.sections = new ReactiveEntities<>(repository, "Section", Section::getId, SectionNotFoundException::new);
+    }
+
+    @Override
+    public Mono<Section> createSection(Section section) {
+        section.setId(null);
+        section.setVersion(null);
+        return repository.save(section);
+    }
+
+    /**
+     * Sorted in memory like the servlet snapshot, a Mongo sort would put
+     * sections without rank first.
+     */
+    @Override
+    public Flux<Section> retrieveAllSections() {
+        return sections.stream().sort(SectionSnapshot.DISPLAY_ORDER);
+    }
+
+    @Override
+    public Mono<CursorPage<Section>> retrieveSectionsPage(String after, int limit) {
+        return sections.page(after, limit);
+    }
+
+    @Override
+    public Mono<Section> retrieveSection(String id) {
+        return sections.find(id);
+    }
+
+    @Override
+    public Mono<Void> updateSection(String id, Section section) {
+        section.setId(id);
+        return sections.replace(id, section);
+    }
+
+    @Override
+    public Mono<Void> deleteSection(String id, Long expectedVersion) {
+        return sections.delete(id, expectedVersion);
+    }
+}
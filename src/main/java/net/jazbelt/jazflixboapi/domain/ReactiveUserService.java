@@ -0,0 +1,59 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import net.jazbelt.jazflixboapi.error.UserNotFoundException;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.entity.User;
+import net.jazbelt.jazflixboapi.model.repository.ReactiveUserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@Profile("reactive")
+public class ReactiveUserService implements IReactiveUserService {
+
+    private final ReactiveUserRepository repository;
+
+    private final ReactiveEntities<User> users;
+
+    @Autowired
+    public ReactiveUserService(ReactiveUserRepository repository) {
+        this.repository = repository;
+        this.users = new ReactiveEntities<>(repository, "User", User::getId, UserNotFoundException::new);
+    }
+
+    @Override
+    public Mono<User> createUser(User user) {
+        user.setId(null);
+        user.setVersion(null);
+        return repository.save(user);
+    }
+
+    @Override
+    public Flux<User> retrieveAllUsers() {
+        return users.stream();
+    }
+
+    @Override
+    public Mono<CursorPage<User>> retrieveUsersPage(String after, int limit) {
+        return users.page(after, limit);
+    }
+
+    @Override
+    public Mono<User> retrieveUserDetails(String id) {
+        return users.find(id);
+    }
+
+    @Override
+    public Mono<Void> updateUser(String id, User user) {
+        user.setId(id);
+        return users.replace(id, user);
+    }
+
+    @Override
+    public Mono<Void> deleteUser(String id, Long expectedVersion) {
+        return users.delete(id, expectedVersion);
+    }
+}
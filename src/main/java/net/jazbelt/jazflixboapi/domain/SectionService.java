@@ -1,37 +1,105 @@
 package net.jazbelt.jazflixboapi.domain;
 
+import io.micrometer.core.annotation.Timed;
+import net.jazbelt.jazflixboapi.MetricsConfig;
+import net.jazbelt.jazflixboapi.error.InvalidMoveException;
 import net.jazbelt.jazflixboapi.error.SectionNotFoundException;
+import net.jazbelt.jazflixboapi.error.VersionConflictException;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteSummary;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
 import net.jazbelt.jazflixboapi.model.entity.Section;
 import net.jazbelt.jazflixboapi.model.repository.SectionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
 
 @Service
+@Profile("!reactive")
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class SectionService implements ISectionService {
 
     private final SectionRepository repository;
 
+    private final EntityCache<Section> cache;
+
+    private final CollectionVersions versions;
+
+    private final SectionSnapshot snapshot;
+
+    /**
+     * Rank changes are computed from the snapshot, one at a time. Waiting
+     * on it does not pin the carrier of a virtual thread.
+     */
+    private final Lock ranking = new ReentrantLock();
+
     @Autowired
-    public SectionService(SectionRepository repository) {
+    public SectionService(
+            SectionRepository repository,
+            EntityCache<Section> cache,
+            CollectionVersions versions,
+            SectionSnapshot snapshot
+    ) {
         this.repository = repository;
+        this.cache = cache;
+        this.versions = versions;
+        this.snapshot = snapshot;
     }
 
     @Override
     public Section createSection(Section section) {
-        return repository.save(section);
+        section.setId(null);
+        section.setVersion(null);
+        Section created;
+
+        ranking.lock();
+        try {
+            // once sections are ranked new ones go last
+            List<Section> sections = retrieveAllSections();
+            String lastRank = sections.isEmpty() ? null : sections.get(sections.size() - 1).getRank();
+            created = repository.save(section.withRank(lastRank == null ? null : RankKey.between(lastRank, null)));
+        } finally {
+            ranking.unlock();
+        }
+
+        cache.invalidate(created.getId());
+        snapshot.reload(repository::findAll);
+        versions.increment(CollectionVersions.SECTIONS);
+        return created;
     }
 
     @Override
     public List<Section> retrieveAllSections() {
-        return repository.findAll();
+        return snapshot.get(repository::findAll);
+    }
+
+    @Override
+    public CursorPage<Section> retrieveSectionsPage(String after, int limit) {
+        List<Section> result = after == null
+                ? repository.findAllByOrderByIdAsc(PageCursor.fetchLimit(limit))
+                : repository.findByIdGreaterThanOrderByIdAsc(PageCursor.decode(after), PageCursor.fetchLimit(limit));
+
+        return PageCursor.page(result, limit, Section::getId);
+    }
+
+    @Override
+    public Stream<Section> streamAllSections() {
+        return repository.streamAllBy();
     }
 
     @Override
     public Section retrieveSection(String id) {
-        Optional<Section> result = repository.findById(id);
+        Optional<Section> result = cache.get(id, repository::findById);
 
         if (result.isEmpty()) {
             throw new SectionNotFoundException(id);
@@ -40,16 +108,197 @@ public class SectionService implements ISectionService {
         return result.get();
     }
 
+    @Override
+    public BatchGetResult<Section> retrieveSections(List<String> ids) {
+        List<String> requested = BatchGet.ids(ids);
+        return BatchGet.result(requested, BatchGet.byId(retrieveAllSections(), Section::getId));
+    }
+
     @Override
     public void updateSection(String id, Section section) {
         section.setId(id);
-        retrieveSection(id);
-        repository.save(section);
+
+        if (!repository.replaceVersioned(id, section.getVersion(), section)) {
+            throw notMatched(id, section.getVersion());
+        }
+
+        cache.invalidate(id);
+        snapshot.reload(repository::findAll);
+        versions.increment(CollectionVersions.SECTIONS);
+    }
+
+    @Override
+    public void patchSection(String id, MergePatch patch, Long expectedVersion) {
+        if (patch.isEmpty()) {
+            retrieveSection(id);
+            return;
+        }
+
+        if (!repository.patchVersioned(id, expectedVersion, patch)) {
+            throw notMatched(id, expectedVersion);
+        }
+
+        cache.invalidate(id);
+        snapshot.reload(repository::findAll);
+        versions.increment(CollectionVersions.SECTIONS);
     }
 
     @Override
     public void deleteSection(String id) {
-        retrieveSection(id);
-        repository.deleteById(id);
+        deleteSection(id, null);
+    }
+
+    @Override
+    public void deleteSection(String id, Long expectedVersion) {
+        if (!repository.deleteVersioned(id, expectedVersion)) {
+            throw notMatched(id, expectedVersion);
+        }
+
+        cache.invalidate(id);
+        snapshot.reload(repository::findAll);
+        versions.increment(CollectionVersions.SECTIONS);
+    }
+
+    @Override
+    public void moveSection(String id, String before, String after, Long expectedVersion) {
+        if (before == null && after == null) {
+            throw new InvalidMoveException("Either before or after section is required");
+        }
+
+        if (id.equals(before) || id.equals(after)) {
+            throw new InvalidMoveException(String.format("Section [%s] can not be moved next to itself", id));
+        }
+
+        ranking.lock();
+        try {
+            List<Section> sections = retrieveAllSections();
+
+            if (sections.stream().noneMatch(section -> section.getId().equals(id))) {
+                throw new SectionNotFoundException(id);
+            }
+
+            Long version = expectedVersion;
+
+            // ranking all first bumps every version, so the expected one is
+            // checked before and the move is written against the bumped one
+            if (sections.stream().anyMatch(section -> section.getRank() == null)) {
+                sections = snapshot.reload(repository::findAll);
+
+                if (expectedVersion != null && !expectedVersion.equals(versionOf(sections, id))) {
+                    throw notMatched(id, expectedVersion);
+                }
+
+                sections = rebalance(sections);
+                version = expectedVersion == null ? null : versionOf(sections, id);
+            }
+
+            List<Section> others = sections.stream().filter(section -> !section.getId().equals(id)).toList();
+            int lower = after == null ? -1 : position(others, after);
+            int upper = before == null ? lower + 1 : position(others, before);
+
+            if (after == null) {
+                lower = upper - 1;
+            } else if (upper != lower + 1) {
+                throw new InvalidMoveException(String.format("Sections [%s] and [%s] are not adjacent", after, before));
+            }
+
+            String rank = RankKey.between(
+                    lower < 0 ? null : others.get(lower).getRank(),
+                    upper < others.size() ? others.get(upper).getRank() : null
+            );
+
+            if (!repository.rankVersioned(id, version, rank)) {
+                throw notMatched(id, version);
+            }
+
+            if (rank.length() > RankKey.MAX_LENGTH) {
+                rebalance(snapshot.reload(repository::findAll));
+            }
+
+            cache.invalidate(id);
+            snapshot.reload(repository::findAll);
+            versions.increment(CollectionVersions.SECTIONS);
+        } finally {
+            ranking.unlock();
+        }
+    }
+
+    @Override
+    public void rebalanceSections() {
+        ranking.lock();
+        try {
+            rebalance(snapshot.reload(repository::findAll));
+            versions.increment(CollectionVersions.SECTIONS);
+        } finally {
+            ranking.unlock();
+        }
+    }
+
+    /**
+     * Spread ranks over the given sections in their order, returning all
+     * sections read again ranked.
+     */
+    private List<Section> rebalance(List<Section> sections) {
+        List<String> ranks = RankKey.spread(sections.size());
+
+        Map<String, String> byId = new LinkedHashMap<>();
+        for (int i = 0; i < sections.size(); i++) {
+            byId.put(sections.get(i).getId(), ranks.get(i));
+        }
+
+        repository.rankAll(byId);
+        cache.invalidateAll();
+        return snapshot.reload(repository::findAll);
+    }
+
+    private static Long versionOf(List<Section> sections, String id) {
+        return sections.stream()
+                .filter(section -> section.getId().equals(id))
+                .findFirst()
+                .orElseThrow(() -> new SectionNotFoundException(id))
+                .getVersion();
+    }
+
+    private static int position(List<Section> sections, String id) {
+        for (int i = 0; i < sections.size(); i++) {
+            if (sections.get(i).getId().equals(id)) {
+                return i;
+            }
+        }
+
+        throw new InvalidMoveException(String.format("Section [%s] to move next to was not found", id));
+    }
+
+    @Override
+    public BulkWriteSummary patchSections(BulkFilter filter, MergePatch patch) {
+        return written(filter, repository.patchAll(filter, patch));
+    }
+
+    @Override
+    public BulkWriteSummary deleteSections(BulkFilter filter) {
+        return written(filter, repository.deleteAll(filter));
+    }
+
+    private BulkWriteSummary written(BulkFilter filter, BulkWriteSummary summary) {
+        if (filter.hasIds()) {
+            filter.getIds().forEach(cache::invalidate);
+        } else {
+            cache.invalidateAll();
+        }
+
+        if (summary.getModified() > 0) {
+            snapshot.reload(repository::findAll);
+            versions.increment(CollectionVersions.SECTIONS);
+        }
+
+        return summary;
+    }
+
+    private RuntimeException notMatched(String id, Long expectedVersion) {
+        if (expectedVersion == null || !repository.existsById(id)) {
+            return new SectionNotFoundException(id);
+        }
+
+        return new VersionConflictException("Section", id, expectedVersion);
     }
 }
@@ -0,0 +1,57 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import net.jazbelt.jazflixboapi.model.entity.Section;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Unmodifiable list of all sections sorted by rank, then by order for the
+ * sections never moved, replaced as
+ * a whole after every write, so reads neither query nor sort.
+ * <p>
+ * Every reload takes a generation before querying and only replaces a
+ * snapshot of an older generation, so a slow reload can not publish a
+ * list missing a later write.
+ */
+@Component
+@Profile("!reactive")
+public class SectionSnapshot {
+
+    public static final Comparator<Section> DISPLAY_ORDER = Comparator
+            .comparing(Section::getRank, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Section::getOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Section::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final AtomicLong generations = new AtomicLong();
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+
+    /**
+     * Current snapshot, loaded on first use.
+     */
+    public List<Section> get(Supplier<List<Section>> loader) {
+        Snapshot snapshot = current.get();
+        return snapshot != null ? snapshot.sections() : reload(loader);
+    }
+
+    /**
+     * Load and publish a new snapshot, returning the latest one.
+     */
+    public List<Section> reload(Supplier<List<Section>> loader) {
+        long generation = generations.incrementAndGet();
+        Snapshot loaded = new Snapshot(generation, loader.get().stream().sorted(DISPLAY_ORDER).toList());
+
+        return current.accumulateAndGet(loaded, (published, next) ->
+                published == null || published.generation() < next.generation() ? next : published
+        ).sections();
+    }
+
+    private record Snapshot(long generation, List<Section> sections) {
+    }
+}
@@ -0,0 +1,345 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import lombok.extern.slf4j.Slf4j;
+import net.jazbelt.jazflixboapi.SlowOperationProperties;
+import net.jazbelt.jazflixboapi.model.dto.SlowOperation;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Driver command listener keeping the most recent commands slower than
+ * the threshold in a ring buffer. Slow queries are explained on a
+ * background thread so the log tells an index scan from a collection
+ * scan without slowing the request down any further.
+ * <p>
+ * Every observed command is deep-copied when it starts, since the driver
+ * releases its buffer before the duration is known. That copy is paid on
+ * each command, slow or not, so the listener is only registered while
+ * {@code jazflix.mongo.slow.enabled} is on.
+ */
+@Slf4j
+public class SlowOperationLog implements CommandListener, DisposableBean {
+
+    /**
+     * Runs an explain command on a database, returning its output.
+     */
+    @FunctionalInterface
+    public interface Explainer {
+
+        BsonDocument explain(String database, BsonDocument command);
+    }
+
+    private static final Set<String> EXPLAINABLE = Set.of(
+            "find", "aggregate", "count", "distinct", "update", "delete", "findAndModify"
+    );
+
+    private static final Set<String> OBSERVED = Set.of(
+            "find", "aggregate", "count", "distinct", "update", "delete", "findAndModify", "getMore", "insert"
+    );
+
+    /**
+     * Statement lists of write commands, only their first statement is kept.
+     */
+    private static final Set<String> STATEMENTS = Set.of("documents", "updates", "deletes");
+
+    private static final Set<String> DRIVER_FIELDS = Set.of(
+            "$db", "lsid", "$clusterTime", "txnNumber", "$readPreference", "readConcern", "writeConcern",
+            "apiVersion", "apiStrict", "apiDeprecationErrors", "autocommit", "startTransaction"
+    );
+
+    private static final Set<String> UNMASKED = Set.of("sort", "projection", "hint", "limit", "skip", "batchSize");
+
+    private static final BsonString MASK = new BsonString("?");
+
+    private final long thresholdNanos;
+
+    private final boolean explain;
+
+    private final Explainer explainer;
+
+    private final Executor executor;
+
+    private final Map<Integer, Started> started = new ConcurrentHashMap<>();
+
+    private final AtomicReferenceArray<SlowOperation> recent;
+
+    private final AtomicLong recorded = new AtomicLong();
+
+    public SlowOperationLog(SlowOperationProperties properties, Explainer explainer, Executor executor) {
+        this.thresholdNanos = properties.getThreshold().toNanos();
+        this.explain = properties.isExplain();
+        this.explainer = explainer;
+        this.executor = executor;
+        this.recent = new AtomicReferenceArray<>(Math.max(1, properties.getBufferSize()));
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (OBSERVED.contains(event.getCommandName())) {
+            started.put(event.getRequestId(), new Started(Instant.now(), copy(event.getCommand())));
+        }
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        Started command = started.remove(event.getRequestId());
+
+        if (command == null || event.getElapsedTime(TimeUnit.NANOSECONDS) < thresholdNanos) {
+            return;
+        }
+
+        SlowOperation operation = new SlowOperation(
+                command.at(),
+                event.getDatabaseName(),
+                collection(event.getCommandName(), command.command()),
+                event.getCommandName(),
+                mask(command.command()).toJson(),
+                event.getElapsedTime(TimeUnit.MILLISECONDS),
+                documents(event.getResponse()),
+                null,
+                null
+        );
+
+        if (!explain || !EXPLAINABLE.contains(event.getCommandName())) {
+            record(operation);
+            return;
+        }
+
+        try {
+            executor.execute(() -> explainAndRecord(operation, command.command()));
+        } catch (RejectedExecutionException e) {
+            record(operation);
+        }
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        started.remove(event.getRequestId());
+    }
+
+    /**
+     * @return slow operations still in the buffer, most recent first
+     */
+    public List<SlowOperation> recent() {
+        List<SlowOperation> operations = new ArrayList<>(recent.length());
+
+        for (int i = 0; i < recent.length(); i++) {
+            SlowOperation operation = recent.get(i);
+            if (operation != null) {
+                operations.add(operation);
+            }
+        }
+
+        operations.sort(Comparator.comparing(SlowOperation::getStartedAt).reversed());
+        return operations;
+    }
+
+    @Override
+    public void destroy() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    private void explainAndRecord(SlowOperation operation, BsonDocument command) {
+        try {
+            BsonDocument explainCommand = new BsonDocument("explain", withoutDriverFields(command))
+                    .append("verbosity", new BsonString("queryPlanner"));
+            BsonDocument winningPlan = winningPlan(explainer.explain(operation.getDatabase(), explainCommand));
+
+            if (winningPlan != null) {
+                String plan = summarize(winningPlan);
+                operation.setPlan(plan);
+                operation.setCollectionScan(plan.contains("COLLSCAN"));
+            }
+        } catch (RuntimeException e) {
+            log.debug("Explain of slow {} on {} failed", operation.getCommand(), operation.getCollection(), e);
+        }
+
+        record(operation);
+    }
+
+    private void record(SlowOperation operation) {
+        log.warn("Slow Mongo {} on {}.{} took {} ms, {} documents, plan {}: {}",
+                operation.getCommand(),
+                operation.getDatabase(),
+                operation.getCollection(),
+                operation.getDurationMillis(),
+                operation.getDocuments(),
+                operation.getPlan(),
+                operation.getShape());
+
+        recent.set((int) (recorded.getAndIncrement() % recent.length()), operation);
+    }
+
+    /**
+     * Detached copy of the command, bulk writes keep one statement only.
+     */
+    private static BsonDocument copy(BsonDocument command) {
+        BsonDocument copy = new BsonDocument();
+
+        command.forEach((key, value) -> {
+            if (STATEMENTS.contains(key) && value.isArray() && !value.asArray().isEmpty()) {
+                copy.append(key, new BsonArray(List.of(value.asArray().get(0).asDocument().clone())));
+            } else {
+                copy.append(key, value.isDocument() || value.isArray() ? clone(value) : value);
+            }
+        });
+
+        return copy;
+    }
+
+    private static BsonValue clone(BsonValue value) {
+        return value.isDocument() ? value.asDocument().clone() : value.asArray().clone();
+    }
+
+    private static String collection(String commandName, BsonDocument command) {
+        if (commandName.equals("getMore")) {
+            return command.getString("collection", new BsonString("")).getValue();
+        }
+
+        BsonValue target = command.get(commandName);
+        return target != null && target.isString() ? target.asString().getValue() : null;
+    }
+
+    private static Long documents(BsonDocument response) {
+        BsonDocument cursor = response.getDocument("cursor", null);
+
+        if (cursor != null) {
+            BsonArray batch = cursor.containsKey("firstBatch") ? cursor.getArray("firstBatch") : cursor.getArray("nextBatch", null);
+            return batch == null ? null : (long) batch.size();
+        }
+
+        return response.isNumber("n") ? response.getNumber("n").longValue() : null;
+    }
+
+    /**
+     * Command shape: keys, operators and options are kept while values are
+     * replaced by "?", lists of values collapse into one.
+     */
+    static BsonDocument mask(BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        boolean first = true;
+
+        for (Map.Entry<String, BsonValue> entry : command.entrySet()) {
+            if (DRIVER_FIELDS.contains(entry.getKey())) {
+                continue;
+            }
+
+            shape.append(entry.getKey(), first || UNMASKED.contains(entry.getKey())
+                    ? entry.getValue()
+                    : maskValue(entry.getValue()));
+            first = false;
+        }
+
+        return shape;
+    }
+
+    private static BsonValue maskValue(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument masked = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> masked.append(key, maskValue(nested)));
+            return masked;
+        }
+
+        if (value.isArray()) {
+            BsonArray array = value.asArray();
+
+            if (array.isEmpty() || !array.get(0).isDocument()) {
+                return array.isEmpty() ? array : new BsonArray(List.of(MASK));
+            }
+
+            BsonArray masked = new BsonArray();
+            array.forEach(element -> masked.add(maskValue(element)));
+            return masked;
+        }
+
+        return MASK;
+    }
+
+    private static BsonDocument withoutDriverFields(BsonDocument command) {
+        BsonDocument stripped = new BsonDocument();
+        command.forEach((key, value) -> {
+            if (!DRIVER_FIELDS.contains(key)) {
+                stripped.append(key, value);
+            }
+        });
+        return stripped;
+    }
+
+    /**
+     * The winning plan is nested differently for finds and aggregations,
+     * and under queryPlan with the slot based engine.
+     */
+    static BsonDocument winningPlan(BsonValue explained) {
+        if (explained.isDocument()) {
+            BsonDocument document = explained.asDocument();
+
+            if (document.isDocument("winningPlan")) {
+                BsonDocument plan = document.getDocument("winningPlan");
+                return plan.isDocument("queryPlan") ? plan.getDocument("queryPlan") : plan;
+            }
+
+            for (BsonValue nested : document.values()) {
+                BsonDocument plan = winningPlan(nested);
+                if (plan != null) {
+                    return plan;
+                }
+            }
+        } else if (explained.isArray()) {
+            for (BsonValue nested : explained.asArray()) {
+                BsonDocument plan = winningPlan(nested);
+                if (plan != null) {
+                    return plan;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Plan stages from the outermost one, e.g. "FETCH > IXSCAN tags_id".
+     */
+    static String summarize(BsonDocument stage) {
+        StringBuilder summary = new StringBuilder(stage.getString("stage", new BsonString("?")).getValue());
+
+        if (stage.isString("indexName")) {
+            summary.append(' ').append(stage.getString("indexName").getValue());
+        }
+
+        if (stage.isDocument("inputStage")) {
+            summary.append(" > ").append(summarize(stage.getDocument("inputStage")));
+        } else if (stage.isArray("inputStages")) {
+            List<String> inputs = new ArrayList<>();
+            stage.getArray("inputStages").forEach(input -> inputs.add(summarize(input.asDocument())));
+            summary.append(" > [").append(String.join(", ", inputs)).append(']');
+        }
+
+        return summary.toString();
+    }
+
+    private record Started(Instant at, BsonDocument command) {
+    }
+}
@@ -0,0 +1,136 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import net.jazbelt.jazflixboapi.model.dto.TitleSuggestion;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory sorted index of movie titles for typeahead. Titles are folded
+ * (accents stripped, lower cased, spaces collapsed) and kept in a skip list
+ * keyed by folded title and ID, so a prefix lookup is a lock-free range
+ * scan that never reaches the database.
+ */
+@Component
+@Profile("!reactive")
+public class TitleIndex {
+
+    public static final int MAX_SUGGESTIONS = 50;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private static final char SEPARATOR = '\u0000';
+
+    /**
+     * Serializes writes with each other and with rebuilds, so a title is
+     * never left under two keys and a write made during a rebuild lands on
+     * the new index instead of being lost with the previous one.
+     */
+    private final Lock writes = new ReentrantLock();
+
+    private volatile Entries entries = new Entries();
+
+    public List<TitleSuggestion> suggest(String prefix, int limit) {
+        String folded = fold(prefix);
+
+        if (folded.isEmpty()) {
+            return List.of();
+        }
+
+        return entries.byKey.subMap(folded, true, folded + Character.MAX_VALUE, false)
+                .values()
+                .stream()
+                .limit(Math.max(1, Math.min(limit, MAX_SUGGESTIONS)))
+                .toList();
+    }
+
+    public void put(String id, String title) {
+        if (title == null) {
+            remove(id);
+            return;
+        }
+
+        String key = fold(title) + SEPARATOR + id;
+
+        writes.lock();
+        try {
+            Entries current = entries;
+            String previous = current.keyById.put(id, key);
+
+            if (previous != null && !previous.equals(key)) {
+                current.byKey.remove(previous);
+            }
+            current.byKey.put(key, new TitleSuggestion(id, title));
+        } finally {
+            writes.unlock();
+        }
+    }
+
+    public void remove(String id) {
+        writes.lock();
+        try {
+            Entries current = entries;
+            String previous = current.keyById.remove(id);
+
+            if (previous != null) {
+                current.byKey.remove(previous);
+            }
+        } finally {
+            writes.unlock();
+        }
+    }
+
+    /**
+     * Build a new index from all movies and swap it in, lookups keep using
+     * the previous one meanwhile. The movies are read while holding the
+     * write lock, so a title written during the rebuild is either read
+     * already written or applied once the new index is in place.
+     */
+    public void replaceAll(Supplier<Stream<Movie>> movies) {
+        writes.lock();
+        try (Stream<Movie> all = movies.get()) {
+            Entries rebuilt = new Entries();
+
+            all.filter(movie -> movie.getTitle() != null).forEach(movie -> {
+                String key = fold(movie.getTitle()) + SEPARATOR + movie.getId();
+                rebuilt.keyById.put(movie.getId(), key);
+                rebuilt.byKey.put(key, new TitleSuggestion(movie.getId(), movie.getTitle()));
+            });
+
+            entries = rebuilt;
+        } finally {
+            writes.unlock();
+        }
+    }
+
+    public int size() {
+        return entries.keyById.size();
+    }
+
+    public static String fold(String text) {
+        String stripped = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static final class Entries {
+
+        private final ConcurrentNavigableMap<String, TitleSuggestion> byKey = new ConcurrentSkipListMap<>();
+
+        private final Map<String, String> keyById = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,39 @@
+package net.jazbelt.jazflixboapi.domain;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the title index once the application is ready, after every
+ * startup runner has written its data, and rebuilds it periodically. The
+ * rebuild picks up titles written by other instances and settles local
+ * writes that reached the index in a different order than the database.
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+public class TitleIndexLoader {
+
+    private final IMovieService service;
+
+    @Autowired
+    public TitleIndexLoader(IMovieService service) {
+        this.service = service;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${jazflix.titles.refresh-interval:PT5M}", initialDelayString = "${jazflix.titles.refresh-interval:PT5M}")
+    public void load() {
+        try {
+            service.reloadTitleIndex();
+        } catch (DataAccessException e) {
+            log.warn("Title index load failed, suggestions keep using the previous titles", e);
+        }
+    }
+}
@@ -1,27 +1,60 @@
 package net.jazbelt.jazflixboapi.domain;
 
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import net.jazbelt.jazflixboapi.MetricsConfig;
+import net.jazbelt.jazflixboapi.error.DuplicateUserException;
+import net.jazbelt.jazflixboapi.error.UserNameMismatchException;
 import net.jazbelt.jazflixboapi.error.UserNotFoundException;
+import net.jazbelt.jazflixboapi.error.VersionConflictException;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteSummary;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
 import net.jazbelt.jazflixboapi.model.entity.User;
 import net.jazbelt.jazflixboapi.model.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+@Slf4j
 @Service
+@Profile("!reactive")
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class UserService implements IUserService {
 
+    private static final String NAME = "name";
+
+    private static final String ENABLED = "enabled";
+
     private final UserRepository repository;
 
+    private final EntityCache<User> cache;
+
+    private final CollectionVersions versions;
+
+    private final AllowList allowList;
+
     @Autowired
-    public UserService(UserRepository repository) {
+    public UserService(UserRepository repository, EntityCache<User> cache, CollectionVersions versions, AllowList allowList) {
         this.repository = repository;
+        this.cache = cache;
+        this.versions = versions;
+        this.allowList = allowList;
     }
 
     @Override
     public User retrieveUserDetails(String id) {
-        Optional<User> user = repository.findById(id);
+        Optional<User> user = cache.get(id, repository::findById);
 
         if (user.isEmpty()) {
             throw new UserNotFoundException(id);
@@ -30,26 +63,185 @@ public class UserService implements IUserService {
         return user.get();
     }
 
+    @Override
+    public User retrieveUserByName(String name) {
+        return repository.findByName(name).orElseThrow(() -> new UserNotFoundException(name));
+    }
+
+    @Override
+    public BatchGetResult<User> retrieveUsers(List<String> ids) {
+        List<String> requested = BatchGet.ids(ids);
+        Map<String, User> found = cache.getAll(requested, missed -> BatchGet.byId(repository.findAllById(missed), User::getId));
+        return BatchGet.result(requested, found);
+    }
+
     @Override
     public List<User> retrieveAllUsers() {
         return repository.findAll();
     }
 
+    @Override
+    public CursorPage<User> retrieveUsersPage(String after, int limit) {
+        List<User> result = after == null
+                ? repository.findAllByOrderByIdAsc(PageCursor.fetchLimit(limit))
+                : repository.findByIdGreaterThanOrderByIdAsc(PageCursor.decode(after), PageCursor.fetchLimit(limit));
+
+        return PageCursor.page(result, limit, User::getId);
+    }
+
+    @Override
+    public Stream<User> streamAllUsers() {
+        return repository.streamAllBy();
+    }
+
     @Override
     public User createUser(User user) {
-        return repository.save(user);
+        user.setId(null);
+        user.setVersion(null);
+        User created = unique(user.getName(), () -> repository.save(user));
+        cache.invalidate(created.getId());
+        allowList.put(created);
+        versions.increment(CollectionVersions.USERS);
+        return created;
     }
 
     @Override
     public void updateUser(String id, User user) {
         user.setId(id);
-        retrieveUserDetails(id);
-        repository.save(user);
+
+        if (!unique(user.getName(), () -> repository.replaceVersioned(id, user.getVersion(), user))) {
+            throw notMatched(id, user.getVersion());
+        }
+
+        cache.invalidate(id);
+        allowList.put(user);
+        versions.increment(CollectionVersions.USERS);
+    }
+
+    @Override
+    public User upsertUserByName(String name, User user) {
+        if (user.getName() != null && !user.getName().equals(name)) {
+            throw new UserNameMismatchException(name, user.getName());
+        }
+
+        User stored = repository.upsertByName(name, user);
+        cache.invalidate(stored.getId());
+        allowList.put(stored);
+        versions.increment(CollectionVersions.USERS);
+        return stored;
+    }
+
+    @Override
+    public void patchUser(String id, MergePatch patch, Long expectedVersion) {
+        if (patch.isEmpty()) {
+            retrieveUserDetails(id);
+            return;
+        }
+
+        Object name = patch.getChanges().get(NAME);
+
+        if (!unique(String.valueOf(name), () -> repository.patchVersioned(id, expectedVersion, patch))) {
+            throw notMatched(id, expectedVersion);
+        }
+
+        cache.invalidate(id);
+        if (patch.getChanges().containsKey(NAME) || patch.getChanges().containsKey(ENABLED)) {
+            repository.findById(id).ifPresentOrElse(allowList::put, () -> allowList.remove(id));
+        }
+        versions.increment(CollectionVersions.USERS);
     }
 
     @Override
     public void deleteUser(String id) {
-        retrieveUserDetails(id);
-        repository.deleteById(id);
+        deleteUser(id, null);
+    }
+
+    @Override
+    public void deleteUser(String id, Long expectedVersion) {
+        if (!repository.deleteVersioned(id, expectedVersion)) {
+            throw notMatched(id, expectedVersion);
+        }
+
+        cache.invalidate(id);
+        allowList.remove(id);
+        versions.increment(CollectionVersions.USERS);
+    }
+
+    @Override
+    public BulkWriteSummary patchUsers(BulkFilter filter, MergePatch patch) {
+        BulkWriteSummary summary = written(filter, repository.patchAll(filter, patch));
+
+        if ((patch.getChanges().containsKey(NAME) || patch.getChanges().containsKey(ENABLED)) && summary.getModified() > 0) {
+            reloadAllowList();
+        }
+
+        return summary;
+    }
+
+    @Override
+    public BulkWriteSummary deleteUsers(BulkFilter filter) {
+        BulkWriteSummary summary = written(filter, repository.deleteAll(filter));
+
+        // only plain ID lists tell which users are gone without a query
+        if (filter.hasIds() && filter.getCriteria().isEmpty()) {
+            filter.getIds().forEach(allowList::remove);
+        } else if (summary.getModified() > 0) {
+            reloadAllowList();
+        }
+
+        return summary;
+    }
+
+    /**
+     * A failed lookup of an unknown name denies it without remembering, known
+     * users keep being allowed while the database is unavailable.
+     */
+    @Override
+    public boolean isAllowed(String name) {
+        try {
+            return allowList.allowed(name, repository::findByName);
+        } catch (DataAccessException e) {
+            log.warn("User [{}] lookup failed, denying sign-in", name, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void reloadAllowList() {
+        allowList.replaceAll(repository::streamAllBy);
+    }
+
+    private BulkWriteSummary written(BulkFilter filter, BulkWriteSummary summary) {
+        if (filter.hasIds()) {
+            filter.getIds().forEach(cache::invalidate);
+        } else {
+            cache.invalidateAll();
+        }
+
+        if (summary.getModified() > 0) {
+            versions.increment(CollectionVersions.USERS);
+        }
+
+        return summary;
+    }
+
+    /**
+     * Names have a unique index, a write reusing one is a conflict rather
+     * than a server error.
+     */
+    private static <T> T unique(String name, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateUserException(name);
+        }
+    }
+
+    private RuntimeException notMatched(String id, Long expectedVersion) {
+        if (expectedVersion == null || !repository.existsById(id)) {
+            return new UserNotFoundException(id);
+        }
+
+        return new VersionConflictException("User", id, expectedVersion);
     }
 }
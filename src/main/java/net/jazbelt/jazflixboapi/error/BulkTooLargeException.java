@@ -0,0 +1,12 @@
+package net.jazbelt.jazflixboapi.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.PAYLOAD_TOO_LARGE, reason = "Too many bulk items")
+public class BulkTooLargeException extends RuntimeException {
+
+    public BulkTooLargeException(int maxItems) {
+        super(String.format("Bulk request exceeds %d items", maxItems));
+    }
+}
@@ -0,0 +1,12 @@
+package net.jazbelt.jazflixboapi.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.CONFLICT, reason = "User name already registered")
+public class DuplicateUserException extends RuntimeException {
+
+    public DuplicateUserException(String name) {
+        super(String.format("User [%s] already registered", name));
+    }
+}
@@ -0,0 +1,12 @@
+package net.jazbelt.jazflixboapi.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "Unknown field")
+public class InvalidFieldsException extends RuntimeException {
+
+    public InvalidFieldsException(String entity, String field) {
+        super(String.format("%s has no field [%s]", entity, field));
+    }
+}
@@ -0,0 +1,12 @@
+package net.jazbelt.jazflixboapi.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "Invalid move")
+public class InvalidMoveException extends RuntimeException {
+
+    public InvalidMoveException(String message) {
+        super(message);
+    }
+}
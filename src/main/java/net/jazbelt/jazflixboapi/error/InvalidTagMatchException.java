@@ -0,0 +1,12 @@
+package net.jazbelt.jazflixboapi.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "Invalid tag match")
+public class InvalidTagMatchException extends RuntimeException {
+
+    public InvalidTagMatchException(String match) {
+        super(String.format("Tag match [%s] is neither any nor all", match));
+    }
+}
@@ -0,0 +1,12 @@
+package net.jazbelt.jazflixboapi.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.CONFLICT, reason = "Path and object user names do not match")
+public class UserNameMismatchException extends RuntimeException {
+
+    public UserNameMismatchException(String path, String name) {
+        super(String.format("User name [%s] does not match path [%s]", name, path));
+    }
+}
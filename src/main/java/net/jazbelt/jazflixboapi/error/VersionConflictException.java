@@ -0,0 +1,12 @@
+package net.jazbelt.jazflixboapi.error;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.CONFLICT, reason = "Entity was modified concurrently")
+public class VersionConflictException extends RuntimeException {
+
+    public VersionConflictException(String entity, String id, Long version) {
+        super(String.format("%s [%s] is no longer at version %d", entity, id, version));
+    }
+}
@@ -0,0 +1,19 @@
+package net.jazbelt.jazflixboapi.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Whether a user may sign in")
+public class AuthDecision {
+
+    @Schema(description = "User name (OAuth2 Google email)", example = "john.doe@gmail.com")
+    private String email;
+
+    @Schema(description = "True when the user exists and is enabled", example = "true")
+    private boolean allowed;
+}
@@ -0,0 +1,18 @@
+package net.jazbelt.jazflixboapi.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "IDs of the entities to fetch at once")
+public class BatchGetRequest {
+
+    @Schema(description = "Entity IDs, results keep their order", example = "[\"abc123\", \"xyz456\"]")
+    private List<String> ids;
+}
@@ -0,0 +1,21 @@
+package net.jazbelt.jazflixboapi.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Entities fetched by a list of IDs")
+public class BatchGetResult<T> {
+
+    @Schema(description = "Entities found, in the requested order")
+    private List<T> items;
+
+    @Schema(description = "Requested IDs without a matching entity", example = "[\"abc123\"]")
+    private List<String> missing;
+}
@@ -0,0 +1,36 @@
+package net.jazbelt.jazflixboapi.model.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Validated selection of a bulk write. When IDs are given each one is a
+ * separate write so missing documents can be counted, the criteria then
+ * further restrict every one of them and missing IDs are no longer counted.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class BulkFilter {
+
+    private final Set<String> ids;
+
+    private final Map<String, Object> criteria;
+
+    public BulkFilter(Collection<String> ids, Map<String, Object> criteria) {
+        this.ids = Collections.unmodifiableSet(new LinkedHashSet<>(ids));
+        this.criteria = Collections.unmodifiableMap(new LinkedHashMap<>(criteria));
+    }
+
+    public boolean hasIds() {
+        return !ids.isEmpty();
+    }
+}
@@ -0,0 +1,33 @@
+package net.jazbelt.jazflixboapi.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Parsed and validated element of a bulk request, entity is null when
+ * the element is invalid.
+ */
+@Data
+@AllArgsConstructor
+public class BulkItem<T> {
+
+    private int index;
+
+    private T entity;
+
+    private List<String> errors;
+
+    public static <T> BulkItem<T> valid(int index, T entity) {
+        return new BulkItem<>(index, entity, List.of());
+    }
+
+    public static <T> BulkItem<T> invalid(int index, List<String> errors) {
+        return new BulkItem<>(index, null, errors);
+    }
+
+    public boolean isValid() {
+        return entity != null;
+    }
+}
@@ -0,0 +1,29 @@
+package net.jazbelt.jazflixboapi.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Outcome of a single bulk request item")
+public class BulkItemResult {
+
+    public enum Status { CREATED, INVALID, FAILED }
+
+    @Schema(description = "Position of the item in the request body", example = "0")
+    private int index;
+
+    @Schema(description = "Item outcome", example = "CREATED")
+    private Status status;
+
+    @Schema(description = "ID of the created document", example = "abc123")
+    private String id;
+
+    @Schema(description = "Validation or write errors")
+    private List<String> errors;
+}
@@ -0,0 +1,41 @@
+package net.jazbelt.jazflixboapi.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Summary and per item outcome of a bulk create")
+public class BulkResult {
+
+    @Schema(description = "Documents inserted", example = "998")
+    private int created;
+
+    @Schema(description = "Items rejected by validation", example = "1")
+    private int invalid;
+
+    @Schema(description = "Items rejected by the database", example = "1")
+    private int failed;
+
+    @Schema(description = "Outcome of every item in request order")
+    private List<BulkItemResult> items;
+
+    public static BulkResult of(List<BulkItemResult> items) {
+        int created = 0, invalid = 0, failed = 0;
+
+        for (BulkItemResult item : items) {
+            switch (item.getStatus()) {
+                case CREATED -> created++;
+                case INVALID -> invalid++;
+                case FAILED -> failed++;
+            }
+        }
+
+        return new BulkResult(created, invalid, failed, items);
+    }
+}
@@ -0,0 +1,25 @@
+package net.jazbelt.jazflixboapi.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Documents selected by ID list and/or field equality filter, with the patch to apply")
+public class BulkWriteRequest {
+
+    @Schema(description = "IDs of the documents to change", example = "[\"abc123\", \"def456\"]")
+    private List<String> ids;
+
+    @Schema(description = "Field values the documents must have", example = "{\"extra\": \"cartoon\"}")
+    private Map<String, Object> filter;
+
+    @Schema(description = "JSON Merge Patch applied to every selected document, ignored on delete", example = "{\"extra\": \"movies,cartoon\"}")
+    private Map<String, Object> patch;
+}
@@ -0,0 +1,22 @@
+package net.jazbelt.jazflixboapi.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Counts of a bulk update or delete")
+public class BulkWriteSummary {
+
+    @Schema(description = "Documents selected by the request", example = "120")
+    private long matched;
+
+    @Schema(description = "Documents changed or removed", example = "118")
+    private long modified;
+
+    @Schema(description = "Requested IDs without a document, only counted when no other criteria are given", example = "2")
+    private long notFound;
+}
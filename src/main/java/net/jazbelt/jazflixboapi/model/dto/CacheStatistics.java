@@ -0,0 +1,31 @@
+package net.jazbelt.jazflixboapi.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Entity cache usage statistics")
+public class CacheStatistics {
+
+    @Schema(description = "Cache name", example = "movies")
+    private String name;
+
+    @Schema(description = "Approximate number of cached entities", example = "120")
+    private long size;
+
+    @Schema(description = "Lookups served from cache", example = "5400")
+    private long hits;
+
+    @Schema(description = "Lookups that went to the database", example = "600")
+    private long misses;
+
+    @Schema(description = "Ratio of lookups served from cache", example = "0.9")
+    private double hitRate;
+
+    @Schema(description = "Entities evicted by size or expiration", example = "12")
+    private long evictions;
+}
@@ -0,0 +1,26 @@
+package net.jazbelt.jazflixboapi.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Single page of a keyset paginated list")
+public class CursorPage<T> {
+
+    @Schema(description = "Page elements sorted by ID")
+    private List<T> items;
+
+    @Schema(description = "Opaque cursor to request the next page, null on the last one", example = "NjY0YTFi")
+    private String next;
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), next);
+    }
+}
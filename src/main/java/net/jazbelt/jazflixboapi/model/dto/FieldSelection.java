@@ -0,0 +1,76 @@
+package net.jazbelt.jazflixboapi.model.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import net.jazbelt.jazflixboapi.error.InvalidFieldsException;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Sparse fieldset requested by the client. It is pushed down to Mongo as a
+ * projection and used to render only the selected properties, the entity
+ * ID is always included.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class FieldSelection {
+
+    public static final String ID = "id";
+
+    private final Set<String> names;
+
+    private FieldSelection(Set<String> names) {
+        this.names = Collections.unmodifiableSet(names);
+    }
+
+    public static FieldSelection of(Class<?> type, Collection<String> requested) {
+        Set<String> allowed = selectableFields(type);
+        Set<String> names = new LinkedHashSet<>();
+
+        for (String name : requested) {
+            String field = name.trim();
+
+            if (field.isEmpty() || field.equals(ID)) {
+                continue;
+            }
+
+            if (!allowed.contains(field)) {
+                throw new InvalidFieldsException(type.getSimpleName(), field);
+            }
+
+            names.add(field);
+        }
+
+        return new FieldSelection(names);
+    }
+
+    public Map<String, Object> render(Object entity) {
+        BeanWrapper bean = new BeanWrapperImpl(entity);
+        Map<String, Object> result = new LinkedHashMap<>();
+
+        result.put(ID, bean.getPropertyValue(ID));
+        for (String name : names) {
+            result.put(name, bean.getPropertyValue(name));
+        }
+
+        return result;
+    }
+
+    private static Set<String> selectableFields(Class<?> type) {
+        Set<String> fields = new HashSet<>();
+
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                fields.add(field.getName());
+            }
+        }
+
+        return fields;
+    }
+}
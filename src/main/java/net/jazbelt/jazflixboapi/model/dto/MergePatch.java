@@ -0,0 +1,29 @@
+package net.jazbelt.jazflixboapi.model.dto;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Validated JSON Merge Patch (RFC 7386) of a flat entity. Each change is
+ * a property name with its new value, a null value removes the property.
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public class MergePatch {
+
+    private final Map<String, Object> changes;
+
+    public MergePatch(Map<String, Object> changes) {
+        this.changes = Collections.unmodifiableMap(new LinkedHashMap<>(changes));
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+}
@@ -0,0 +1,42 @@
+package net.jazbelt.jazflixboapi.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Mongo command slower than the configured threshold")
+public class SlowOperation {
+
+    @Schema(description = "When the command was sent", example = "2024-05-01T10:15:30Z")
+    private Instant startedAt;
+
+    @Schema(description = "Database name", example = "jazflix")
+    private String database;
+
+    @Schema(description = "Target collection", example = "movies")
+    private String collection;
+
+    @Schema(description = "Command name", example = "find")
+    private String command;
+
+    @Schema(description = "Command with its values masked", example = "{\"find\": \"movies\", \"filter\": {\"tags\": {\"$in\": [\"?\"]}}}")
+    private String shape;
+
+    @Schema(description = "Round trip duration in milliseconds", example = "350")
+    private long durationMillis;
+
+    @Schema(description = "Documents returned or affected, when reported", example = "20")
+    private Long documents;
+
+    @Schema(description = "Winning plan stages from the outermost one, when explained", example = "FETCH > IXSCAN tags_id")
+    private String plan;
+
+    @Schema(description = "Whether the winning plan scans the whole collection", example = "false")
+    private Boolean collectionScan;
+}
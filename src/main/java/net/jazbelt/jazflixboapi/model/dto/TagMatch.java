@@ -0,0 +1,23 @@
+package net.jazbelt.jazflixboapi.model.dto;
+
+import net.jazbelt.jazflixboapi.error.InvalidTagMatchException;
+
+import java.util.Locale;
+
+/**
+ * Whether a tag filter matches movies having any or all requested tags.
+ */
+public enum TagMatch {
+
+    ANY,
+
+    ALL;
+
+    public static TagMatch of(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTagMatchException(value);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package net.jazbelt.jazflixboapi.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Schema(description = "Movie title matching a typed prefix")
+public class TitleSuggestion {
+
+    @Schema(description = "Movie ID", example = "abc123")
+    private String id;
+
+    @Schema(description = "Movie title", example = "My awesome movie")
+    private String title;
+}
@@ -1,21 +1,35 @@
 package net.jazbelt.jazflixboapi.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.*;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString
 @Document(collection = "movies")
+@CompoundIndex(name = "tags_id", def = "{'tags': 1, '_id': 1}")
 @Schema(description = "Movies data object")
-public class Movie {
+public class Movie implements Versioned {
 
     @Id
     @Schema(description = "Database unique ID", example = "abc123")
@@ -23,10 +37,12 @@ public class Movie {
 
     @NotNull
     @NotEmpty
+    @TextIndexed(weight = 2)
     @Size(min = 5, message = "Title should have at least 5 characters")
     @Schema(description = "Movie title", example = "My awesome movie")
     private String title;
 
+    @TextIndexed
     @Schema(description = "Movie description", example = "A funny and exciting film")
     private String description;
 
@@ -44,4 +60,50 @@ public class Movie {
 
     @Schema(description = "Extra information comma-separated tags for grouping and sorting", example = "movies,cartoon")
     private String extra;
+
+    @Version
+    @EqualsAndHashCode.Exclude
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Optimistic locking version, also sent as ETag", example = "3")
+    private Long version;
+
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Lower case tags parsed from extra", accessMode = Schema.AccessMode.READ_ONLY, example = "[\"movies\", \"cartoon\"]")
+    private List<String> tags;
+
+    @TextScore
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Search relevance, only set on search results", accessMode = Schema.AccessMode.READ_ONLY, example = "1.5")
+    private Float score;
+
+    public Movie(String id, String title, String description, String image, String video, String extra) {
+        this(id, title, description, image, video, extra, null, parseTags(extra), null);
+    }
+
+    public void setExtra(String extra) {
+        this.extra = extra;
+        this.tags = parseTags(extra);
+    }
+
+    /**
+     * Split comma-separated tags, trimmed, lower cased and without
+     * duplicates, or null for null input.
+     */
+    public static List<String> parseTags(String extra) {
+        if (extra == null) {
+            return null;
+        }
+
+        return Arrays.stream(extra.split(","))
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty())
+                .map(tag -> tag.toLowerCase(Locale.ROOT))
+                .distinct()
+                .toList();
+    }
 }
@@ -1,14 +1,21 @@
 package net.jazbelt.jazflixboapi.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
+import lombok.With;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
@@ -16,7 +23,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @NoArgsConstructor
 @ToString
 @Document(collection = "sections")
-public class Section {
+public class Section implements Versioned {
 
     @Id
     @Schema(description = "Section DB unique ID", example = "abc123456")
@@ -40,4 +47,26 @@ public class Section {
 
     @Schema(description = "Display order", example = "1")
     private Integer order = 0;
+
+    @Version
+    @EqualsAndHashCode.Exclude
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Optimistic locking version, also sent as ETag", example = "3")
+    private Long version;
+
+    @With
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Position key changed by moves, sections are listed by it before order", accessMode = Schema.AccessMode.READ_ONLY, example = "V")
+    private String rank;
+
+    public Section(String id, String icon, String title, String to, Integer order) {
+        this(id, icon, title, to, order, null);
+    }
+
+    public Section(String id, String icon, String title, String to, Integer order, Long version) {
+        this(id, icon, title, to, order, version, null);
+    }
 }
@@ -1,14 +1,18 @@
 package net.jazbelt.jazflixboapi.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
@@ -17,7 +21,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @ToString
 @Document(collection = "users")
 @Schema(description = "Jazflix user object")
-public class User {
+public class User implements Versioned {
 
     @Id
     @Schema(description = "Database unique ID", example = "abc123456")
@@ -26,10 +30,21 @@ public class User {
     @NotBlank
     @NotNull
     @Email
+    @Indexed(unique = true)
     @Schema(description = "User name (OAuth2 Google email)", example = "john.doe@gmail.com")
     private String name;
 
     @NotNull
     @Schema(description = "Flag to allow user auth", example = "true")
     private Boolean enabled;
+
+    @Version
+    @EqualsAndHashCode.Exclude
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Optimistic locking version, also sent as ETag", example = "3")
+    private Long version;
+
+    public User(String id, String name, Boolean enabled) {
+        this(id, name, enabled, null);
+    }
 }
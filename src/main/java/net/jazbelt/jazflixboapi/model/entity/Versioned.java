@@ -0,0 +1,12 @@
+package net.jazbelt.jazflixboapi.model.entity;
+
+/**
+ * Entity with an optimistic locking version, incremented by every write.
+ * Documents written before versioning have a null version, handled as 0.
+ */
+public interface Versioned {
+
+    Long getVersion();
+
+    void setVersion(Long version);
+}
@@ -0,0 +1,152 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import com.mongodb.bulk.BulkWriteResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteSummary;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Base of custom repository fragments, translating entity writes into
+ * conditional updateOne / deleteOne commands.
+ */
+abstract class AbstractEntityRepositoryCustom<T> implements EntityRepositoryCustom<T> {
+
+    static final String ID = EntityUpdates.ID;
+
+    static final String VERSION = EntityUpdates.VERSION;
+
+    protected final MongoTemplate mongoTemplate;
+
+    protected final Class<T> type;
+
+    protected AbstractEntityRepositoryCustom(MongoTemplate mongoTemplate, Class<T> type) {
+        this.mongoTemplate = mongoTemplate;
+        this.type = type;
+    }
+
+    @Override
+    public boolean replaceVersioned(String id, Long expectedVersion, T entity) {
+        return mongoTemplate.updateFirst(byIdAndVersion(id, expectedVersion), replacement(entity), type)
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean patchVersioned(String id, Long expectedVersion, MergePatch patch) {
+        return mongoTemplate.updateFirst(byIdAndVersion(id, expectedVersion), patchUpdate(patch), type)
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public boolean deleteVersioned(String id, Long expectedVersion) {
+        return mongoTemplate.remove(byIdAndVersion(id, expectedVersion), type).getDeletedCount() > 0;
+    }
+
+    @Override
+    public Map<Integer, String> insertUnordered(List<T> entities) {
+        if (entities.isEmpty()) {
+            return Map.of();
+        }
+
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type).insert(entities).execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            Map<Integer, String> failed = new HashMap<>();
+            e.getErrors().forEach(error -> failed.put(error.getIndex(), error.getMessage()));
+            return failed;
+        }
+    }
+
+    @Override
+    public BulkWriteSummary patchAll(BulkFilter filter, MergePatch patch) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+        Update update = patchUpdate(patch);
+
+        if (filter.hasIds()) {
+            filter.getIds().forEach(id -> operations.updateOne(selection(filter, id), update));
+        } else {
+            operations.updateMulti(selection(filter, null), update);
+        }
+
+        BulkWriteResult result = operations.execute();
+        return summary(filter, result.getMatchedCount(), result.getModifiedCount());
+    }
+
+    @Override
+    public BulkWriteSummary deleteAll(BulkFilter filter) {
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+
+        if (filter.hasIds()) {
+            filter.getIds().forEach(id -> operations.remove(selection(filter, id)));
+        } else {
+            operations.remove(selection(filter, null));
+        }
+
+        BulkWriteResult result = operations.execute();
+        return summary(filter, result.getDeletedCount(), result.getDeletedCount());
+    }
+
+    /**
+     * Fields maintained by the service itself, never removed by a replace
+     * even if the incoming entity does not carry them.
+     */
+    protected Set<String> preservedFields() {
+        return Set.of();
+    }
+
+    protected Query byIdAndVersion(String id, Long expectedVersion) {
+        return EntityUpdates.byIdAndVersion(id, expectedVersion);
+    }
+
+    private static Query selection(BulkFilter filter, String id) {
+        Query query = new Query();
+
+        if (id != null) {
+            query.addCriteria(Criteria.where(ID).is(id));
+        }
+        filter.getCriteria().forEach((property, value) -> query.addCriteria(Criteria.where(property).is(value)));
+
+        return query;
+    }
+
+    /**
+     * Missing IDs are only counted for IDs alone, with criteria an existing
+     * document failing them is not matched either and cannot be told apart.
+     */
+    private static BulkWriteSummary summary(BulkFilter filter, long matched, long modified) {
+        long notFound = filter.hasIds() && filter.getCriteria().isEmpty() ? filter.getIds().size() - matched : 0;
+        return new BulkWriteSummary(matched, modified, notFound);
+    }
+
+    protected Update patchUpdate(MergePatch patch) {
+        Update update = new Update();
+        patch.getChanges().forEach((property, value) -> {
+            if (value == null) {
+                update.unset(property);
+            } else {
+                update.set(property, value);
+            }
+        });
+
+        return update.inc(VERSION, 1);
+    }
+
+    protected static Criteria versionIs(long version) {
+        return EntityUpdates.versionIs(version);
+    }
+
+    private Update replacement(T entity) {
+        return EntityUpdates.replacement(mongoTemplate.getConverter(), type, entity, preservedFields());
+    }
+}
@@ -0,0 +1,44 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Base of reactive repository fragments, issuing the same conditional
+ * commands as {@link AbstractEntityRepositoryCustom} without blocking.
+ */
+abstract class AbstractReactiveEntityRepositoryCustom<T> implements ReactiveEntityRepositoryCustom<T> {
+
+    protected final ReactiveMongoTemplate mongoTemplate;
+
+    protected final Class<T> type;
+
+    protected AbstractReactiveEntityRepositoryCustom(ReactiveMongoTemplate mongoTemplate, Class<T> type) {
+        this.mongoTemplate = mongoTemplate;
+        this.type = type;
+    }
+
+    @Override
+    public Mono<Boolean> replaceVersioned(String id, Long expectedVersion, T entity) {
+        return mongoTemplate.updateFirst(
+                EntityUpdates.byIdAndVersion(id, expectedVersion),
+                EntityUpdates.replacement(mongoTemplate.getConverter(), type, entity, preservedFields()),
+                type
+        ).map(result -> result.getMatchedCount() > 0);
+    }
+
+    @Override
+    public Mono<Boolean> deleteVersioned(String id, Long expectedVersion) {
+        return mongoTemplate.remove(EntityUpdates.byIdAndVersion(id, expectedVersion), type)
+                .map(result -> result.getDeletedCount() > 0);
+    }
+
+    /**
+     * @see AbstractEntityRepositoryCustom#preservedFields()
+     */
+    protected Set<String> preservedFields() {
+        return Set.of();
+    }
+}
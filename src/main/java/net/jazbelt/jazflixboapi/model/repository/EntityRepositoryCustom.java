@@ -0,0 +1,58 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteSummary;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single round trip writes shared by all entity repositories.
+ */
+public interface EntityRepositoryCustom<T> {
+
+    /**
+     * Replace all user editable fields of the document with given ID and
+     * increment its version. When expectedVersion is not null the document
+     * only matches if it still has that version.
+     *
+     * @return false if no document matched
+     */
+    boolean replaceVersioned(String id, Long expectedVersion, T entity);
+
+    /**
+     * Apply only the patched properties as $set / $unset and increment the
+     * version, under the same version condition as a replace.
+     *
+     * @return false if no document matched
+     */
+    boolean patchVersioned(String id, Long expectedVersion, MergePatch patch);
+
+    /**
+     * Delete document with given ID, only if it still has expectedVersion
+     * when it is not null.
+     *
+     * @return false if no document matched
+     */
+    boolean deleteVersioned(String id, Long expectedVersion);
+
+    /**
+     * Insert all entities in one unordered insertMany, a failing document
+     * does not stop the others from being written.
+     *
+     * @return write error message by index of the failed entities
+     */
+    Map<Integer, String> insertUnordered(List<T> entities);
+
+    /**
+     * Apply the patch to every selected document in a single unordered
+     * bulkWrite, incrementing their versions.
+     */
+    BulkWriteSummary patchAll(BulkFilter filter, MergePatch patch);
+
+    /**
+     * Remove every selected document in a single unordered bulkWrite.
+     */
+    BulkWriteSummary deleteAll(BulkFilter filter);
+}
@@ -0,0 +1,74 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import org.bson.Document;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Conditional write commands shared by the blocking and reactive
+ * repository fragments.
+ */
+final class EntityUpdates {
+
+    static final String ID = "id";
+
+    static final String VERSION = "version";
+
+    private EntityUpdates() {
+    }
+
+    static Query byIdAndVersion(String id, Long expectedVersion) {
+        Query query = Query.query(Criteria.where(ID).is(id));
+
+        if (expectedVersion != null) {
+            query.addCriteria(versionIs(expectedVersion));
+        }
+
+        return query;
+    }
+
+    /**
+     * Documents stored before versioning have no version field, they
+     * match version 0.
+     */
+    static Criteria versionIs(long version) {
+        return version == 0
+                ? Criteria.where(VERSION).in(Arrays.asList(0L, null))
+                : Criteria.where(VERSION).is(version);
+    }
+
+    /**
+     * Full document replacement expressed as $set / $unset plus a version
+     * increment, so it needs no previous read to know the current version.
+     */
+    static Update replacement(MongoConverter converter, Class<?> type, Object entity, Set<String> preservedFields) {
+        Document document = new Document();
+        converter.write(entity, document);
+
+        MongoPersistentEntity<?> persistentEntity = converter.getMappingContext().getRequiredPersistentEntity(type);
+
+        Update update = new Update();
+        persistentEntity.doWithProperties((PropertyHandler<MongoPersistentProperty>) property -> {
+            if (property.isIdProperty() || property.isVersionProperty() || property.isTextScoreProperty()) {
+                return;
+            }
+
+            String field = property.getFieldName();
+            if (document.containsKey(field)) {
+                update.set(field, document.get(field));
+            } else if (!preservedFields.contains(property.getName())) {
+                update.unset(field);
+            }
+        });
+
+        return update.inc(VERSION, 1);
+    }
+}
@@ -1,9 +1,26 @@
 package net.jazbelt.jazflixboapi.model.repository;
 
 import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface MovieRepository extends MongoRepository<Movie, String> {
+public interface MovieRepository extends MongoRepository<Movie, String>, MovieRepositoryCustom {
+
+    List<Movie> findAllByOrderByIdAsc(Limit limit);
+
+    List<Movie> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<Movie> streamAllBy();
+
+    @Meta(cursorBatchSize = 1000)
+    @Query(value = "{}", fields = "{'title': 1}")
+    Stream<Movie> streamTitlesBy();
 }
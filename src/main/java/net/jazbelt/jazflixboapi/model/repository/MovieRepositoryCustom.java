@@ -0,0 +1,40 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import net.jazbelt.jazflixboapi.model.dto.FieldSelection;
+import net.jazbelt.jazflixboapi.model.dto.TagMatch;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.springframework.data.domain.Limit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface MovieRepositoryCustom extends EntityRepositoryCustom<Movie> {
+
+    /**
+     * Movies sorted by ID with only the selected fields populated.
+     * A null afterId starts from the beginning of the collection.
+     */
+    List<Movie> findAllProjected(FieldSelection fields, String afterId, Limit limit);
+
+    Optional<Movie> findByIdProjected(String id, FieldSelection fields);
+
+    /**
+     * Movies having any (or all) of the given normalized tags, sorted by
+     * ID and served from the tags index.
+     */
+    List<Movie> findByTags(Collection<String> tags, TagMatch match, String afterId, Limit limit);
+
+    /**
+     * Full-text search over title and description, sorted by relevance
+     * with the score populated.
+     */
+    List<Movie> search(String text, long offset, Limit limit);
+
+    /**
+     * Store parsed tags on movies written before tags existed.
+     *
+     * @return number of movies updated
+     */
+    long backfillTags();
+}
@@ -0,0 +1,146 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import net.jazbelt.jazflixboapi.model.dto.FieldSelection;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
+import net.jazbelt.jazflixboapi.model.dto.TagMatch;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class MovieRepositoryCustomImpl extends AbstractEntityRepositoryCustom<Movie> implements MovieRepositoryCustom {
+
+    static final String EXTRA = "extra";
+
+    static final String TAGS = "tags";
+
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
+    @Autowired
+    public MovieRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        super(mongoTemplate, Movie.class);
+    }
+
+    @Override
+    public List<Movie> findAllProjected(FieldSelection fields, String afterId, Limit limit) {
+        Query query = project(new Query(), fields).with(Sort.by(ID));
+
+        if (afterId != null) {
+            query.addCriteria(Criteria.where(ID).gt(afterId));
+        }
+
+        if (limit.isLimited()) {
+            query.limit(limit.max());
+        }
+
+        return mongoTemplate.find(query, Movie.class);
+    }
+
+    @Override
+    public Optional<Movie> findByIdProjected(String id, FieldSelection fields) {
+        Query query = project(Query.query(Criteria.where(ID).is(id)), fields);
+        return Optional.ofNullable(mongoTemplate.findOne(query, Movie.class));
+    }
+
+    @Override
+    public List<Movie> findByTags(Collection<String> tags, TagMatch match, String afterId, Limit limit) {
+        Criteria tagged = match == TagMatch.ALL
+                ? Criteria.where(TAGS).all(tags)
+                : Criteria.where(TAGS).in(tags);
+        Query query = Query.query(tagged).with(Sort.by(ID));
+
+        if (afterId != null) {
+            query.addCriteria(Criteria.where(ID).gt(afterId));
+        }
+
+        if (limit.isLimited()) {
+            query.limit(limit.max());
+        }
+
+        return mongoTemplate.find(query, Movie.class);
+    }
+
+    @Override
+    public List<Movie> search(String text, long offset, Limit limit) {
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .sortByScore()
+                .with(Sort.by(ID))
+                .skip(offset);
+
+        if (limit.isLimited()) {
+            query.limit(limit.max());
+        }
+
+        return mongoTemplate.find(query, Movie.class);
+    }
+
+    @Override
+    public long backfillTags() {
+        Query query = Query.query(Criteria.where(EXTRA).ne(null).and(TAGS).exists(false));
+        query.fields().include(EXTRA);
+
+        long updated = 0;
+        BulkOperations operations = null;
+        int pending = 0;
+
+        try (Stream<Movie> movies = mongoTemplate.stream(query, Movie.class)) {
+            for (Movie movie : (Iterable<Movie>) movies::iterator) {
+                if (operations == null) {
+                    operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Movie.class);
+                }
+
+                Query byId = Query.query(Criteria.where(ID).is(movie.getId()));
+                operations.updateOne(byId, Update.update(TAGS, Movie.parseTags(movie.getExtra())));
+
+                if (++pending == BACKFILL_BATCH_SIZE) {
+                    updated += operations.execute().getModifiedCount();
+                    operations = null;
+                    pending = 0;
+                }
+            }
+        }
+
+        if (operations != null) {
+            updated += operations.execute().getModifiedCount();
+        }
+
+        return updated;
+    }
+
+    /**
+     * Tags are derived from extra, a patch touching extra rewrites them.
+     */
+    @Override
+    protected Update patchUpdate(MergePatch patch) {
+        Update update = super.patchUpdate(patch);
+
+        if (patch.getChanges().containsKey(EXTRA)) {
+            List<String> tags = Movie.parseTags((String) patch.getChanges().get(EXTRA));
+
+            if (tags == null) {
+                update.unset(TAGS);
+            } else {
+                update.set(TAGS, tags);
+            }
+        }
+
+        return update;
+    }
+
+    private static Query project(Query query, FieldSelection fields) {
+        fields.getNames().forEach(query.fields()::include);
+        return query;
+    }
+}
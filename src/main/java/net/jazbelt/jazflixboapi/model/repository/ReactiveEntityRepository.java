@@ -0,0 +1,21 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+import reactor.core.publisher.Flux;
+
+/**
+ * Paging and streaming queries shared by the reactive entity repositories.
+ */
+@NoRepositoryBean
+public interface ReactiveEntityRepository<T> extends ReactiveMongoRepository<T, String>, ReactiveEntityRepositoryCustom<T> {
+
+    Flux<T> findAllByOrderByIdAsc(Limit limit);
+
+    Flux<T> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    @Meta(cursorBatchSize = 500)
+    Flux<T> streamAllBy();
+}
@@ -0,0 +1,22 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non blocking counterpart of the {@link EntityRepositoryCustom} single
+ * entity writes.
+ */
+public interface ReactiveEntityRepositoryCustom<T> {
+
+    /**
+     * @return false if no document matched the ID and expected version
+     * @see EntityRepositoryCustom#replaceVersioned(String, Long, Object)
+     */
+    Mono<Boolean> replaceVersioned(String id, Long expectedVersion, T entity);
+
+    /**
+     * @return false if no document matched the ID and expected version
+     * @see EntityRepositoryCustom#deleteVersioned(String, Long)
+     */
+    Mono<Boolean> deleteVersioned(String id, Long expectedVersion);
+}
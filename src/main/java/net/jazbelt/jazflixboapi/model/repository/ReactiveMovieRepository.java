@@ -0,0 +1,11 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reactive driver access to movies, only created by the reactive profile.
+ */
+@Repository
+public interface ReactiveMovieRepository extends ReactiveEntityRepository<Movie>, ReactiveMovieRepositoryCustom {
+}
@@ -0,0 +1,6 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+
+public interface ReactiveMovieRepositoryCustom extends ReactiveEntityRepositoryCustom<Movie> {
+}
@@ -0,0 +1,13 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+public class ReactiveMovieRepositoryCustomImpl extends AbstractReactiveEntityRepositoryCustom<Movie> implements ReactiveMovieRepositoryCustom {
+
+    @Autowired
+    public ReactiveMovieRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        super(mongoTemplate, Movie.class);
+    }
+}
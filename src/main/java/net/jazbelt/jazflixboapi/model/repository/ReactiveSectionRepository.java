@@ -0,0 +1,11 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import net.jazbelt.jazflixboapi.model.entity.Section;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reactive driver access to sections, only created by the reactive profile.
+ */
+@Repository
+public interface ReactiveSectionRepository extends ReactiveEntityRepository<Section>, ReactiveSectionRepositoryCustom {
+}
@@ -0,0 +1,6 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import net.jazbelt.jazflixboapi.model.entity.Section;
+
+public interface ReactiveSectionRepositoryCustom extends ReactiveEntityRepositoryCustom<Section> {
+}
@@ -0,0 +1,20 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import net.jazbelt.jazflixboapi.model.entity.Section;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import java.util.Set;
+
+public class ReactiveSectionRepositoryCustomImpl extends AbstractReactiveEntityRepositoryCustom<Section> implements ReactiveSectionRepositoryCustom {
+
+    @Autowired
+    public ReactiveSectionRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        super(mongoTemplate, Section.class);
+    }
+
+    @Override
+    protected Set<String> preservedFields() {
+        return Set.of(SectionRepositoryCustomImpl.RANK);
+    }
+}
@@ -0,0 +1,11 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import net.jazbelt.jazflixboapi.model.entity.User;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reactive driver access to users, only created by the reactive profile.
+ */
+@Repository
+public interface ReactiveUserRepository extends ReactiveEntityRepository<User>, ReactiveUserRepositoryCustom {
+}
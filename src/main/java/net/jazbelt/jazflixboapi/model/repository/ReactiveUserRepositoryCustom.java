@@ -0,0 +1,6 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import net.jazbelt.jazflixboapi.model.entity.User;
+
+public interface ReactiveUserRepositoryCustom extends ReactiveEntityRepositoryCustom<User> {
+}
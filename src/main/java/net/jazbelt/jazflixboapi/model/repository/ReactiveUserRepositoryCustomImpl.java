@@ -0,0 +1,13 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import net.jazbelt.jazflixboapi.model.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+public class ReactiveUserRepositoryCustomImpl extends AbstractReactiveEntityRepositoryCustom<User> implements ReactiveUserRepositoryCustom {
+
+    @Autowired
+    public ReactiveUserRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        super(mongoTemplate, User.class);
+    }
+}
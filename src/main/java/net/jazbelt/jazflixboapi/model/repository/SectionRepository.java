@@ -1,9 +1,21 @@
 package net.jazbelt.jazflixboapi.model.repository;
 
 import net.jazbelt.jazflixboapi.model.entity.Section;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface SectionRepository extends MongoRepository<Section, String> {
+public interface SectionRepository extends MongoRepository<Section, String>, SectionRepositoryCustom {
+
+    List<Section> findAllByOrderByIdAsc(Limit limit);
+
+    List<Section> findByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    @Meta(cursorBatchSize = 500)
+    Stream<Section> streamAllBy();
 }
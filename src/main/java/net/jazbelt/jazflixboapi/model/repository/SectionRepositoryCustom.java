@@ -0,0 +1,19 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import net.jazbelt.jazflixboapi.model.entity.Section;
+
+import java.util.Map;
+
+public interface SectionRepositoryCustom extends EntityRepositoryCustom<Section> {
+
+    /**
+     * Set the rank of one section, when expectedVersion is not null it
+     * must still have that version.
+     */
+    boolean rankVersioned(String id, Long expectedVersion, String rank);
+
+    /**
+     * Set the rank of many sections, by ID, in unordered bulk writes.
+     */
+    void rankAll(Map<String, String> ranks);
+}
@@ -0,0 +1,51 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import net.jazbelt.jazflixboapi.model.entity.Section;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Map;
+import java.util.Set;
+
+public class SectionRepositoryCustomImpl extends AbstractEntityRepositoryCustom<Section> implements SectionRepositoryCustom {
+
+    static final String RANK = "rank";
+
+    @Autowired
+    public SectionRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        super(mongoTemplate, Section.class);
+    }
+
+    @Override
+    public boolean rankVersioned(String id, Long expectedVersion, String rank) {
+        return mongoTemplate.updateFirst(byIdAndVersion(id, expectedVersion), rankUpdate(rank), type)
+                .getMatchedCount() > 0;
+    }
+
+    @Override
+    public void rankAll(Map<String, String> ranks) {
+        if (ranks.isEmpty()) {
+            return;
+        }
+
+        BulkOperations operations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+        ranks.forEach((id, rank) -> operations.updateOne(Query.query(Criteria.where(ID).is(id)), rankUpdate(rank)));
+        operations.execute();
+    }
+
+    /**
+     * Rank is only written by moves, replacing a section keeps its place.
+     */
+    @Override
+    protected Set<String> preservedFields() {
+        return Set.of(RANK);
+    }
+
+    private static Update rankUpdate(String rank) {
+        return new Update().set(RANK, rank).inc(VERSION, 1);
+    }
+}
@@ -0,0 +1,12 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import net.jazbelt.jazflixboapi.model.entity.User;
+
+public interface UserRepositoryCustom extends EntityRepositoryCustom<User> {
+
+    /**
+     * Insert or update the user with the given name in one findAndModify,
+     * returning the stored user.
+     */
+    User upsertByName(String name, User user);
+}
@@ -0,0 +1,39 @@
+package net.jazbelt.jazflixboapi.model.repository;
+
+import net.jazbelt.jazflixboapi.model.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+public class UserRepositoryCustomImpl extends AbstractEntityRepositoryCustom<User> implements UserRepositoryCustom {
+
+    static final String NAME = "name";
+
+    static final String ENABLED = "enabled";
+
+    @Autowired
+    public UserRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        super(mongoTemplate, User.class);
+    }
+
+    /**
+     * The equality match on the unique name index lets the server retry an
+     * upsert that lost an insert race instead of failing with a duplicate key.
+     * A pipeline update starts an inserted user at version 0, like every
+     * other insert, and increments it on update.
+     */
+    @Override
+    public User upsertByName(String name, User user) {
+        Query query = Query.query(Criteria.where(NAME).is(name));
+        AggregationUpdate update = AggregationUpdate.update()
+                .set(ENABLED).toValue(user.getEnabled())
+                .set(VERSION).toValue(ArithmeticOperators.valueOf(ConditionalOperators.ifNull(VERSION).then(-1)).add(1));
+
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().upsert(true).returnNew(true), type);
+    }
+}
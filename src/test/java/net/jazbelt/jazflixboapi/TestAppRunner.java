@@ -6,6 +6,7 @@ import net.jazbelt.jazflixboapi.model.entity.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -16,10 +17,10 @@ public class TestAppRunner implements CommandLineRunner {
 
     @Override
     public void run(String... args) {
-        // Cleanup collections
-        mongoTemplate.dropCollection("users");
-        mongoTemplate.dropCollection("sections");
-        mongoTemplate.dropCollection("movies");
+        // Cleanup collections, keeping the indexes created on startup
+        mongoTemplate.remove(new Query(), "users");
+        mongoTemplate.remove(new Query(), "sections");
+        mongoTemplate.remove(new Query(), "movies");
 
         // Populate users
         mongoTemplate.save(new User(null, "jdoe@foo.bar", true));
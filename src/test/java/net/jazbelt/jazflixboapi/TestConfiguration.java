@@ -2,6 +2,7 @@ package net.jazbelt.jazflixboapi;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
@@ -9,6 +10,7 @@ public class TestConfiguration {
 
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        // HttpURLConnection based default factory cannot send PATCH
+        return new RestTemplate(new JdkClientHttpRequestFactory());
     }
 }
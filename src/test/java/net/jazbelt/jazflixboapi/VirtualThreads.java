@@ -0,0 +1,59 @@
+package net.jazbelt.jazflixboapi;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Detects virtual threads pinning their carrier, which happens when they
+ * block inside a synchronized block or a native frame.
+ */
+public final class VirtualThreads {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Run the task concurrently on the given number of virtual threads.
+     *
+     * @return pinning events recorded by JFR while the tasks ran
+     */
+    public static List<RecordedEvent> pinnedWhile(int threads, Runnable task) throws Exception {
+        Path file = Files.createTempFile("pinning", ".jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> running = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    running.add(executor.submit(task));
+                }
+                for (Future<?> future : running) {
+                    future.get();
+                }
+            }
+
+            recording.stop();
+            recording.dump(file);
+
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(PINNED_EVENT))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -1,12 +1,23 @@
 package net.jazbelt.jazflixboapi.e2e;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetRequest;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetResult;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.dto.TitleSuggestion;
 import net.jazbelt.jazflixboapi.model.entity.Movie;
 import net.jazbelt.jazflixboapi.model.repository.MovieRepository;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.web.client.HttpClientErrorException;
@@ -15,8 +26,12 @@ import org.testcontainers.containers.MongoDBContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.io.ByteArrayInputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -42,6 +57,9 @@ public class MovieE2ETests {
     @Autowired
     MovieRepository repository;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
     private String baseUri;
 
     private static String movieId;
@@ -358,4 +376,275 @@ public class MovieE2ETests {
         assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
         assertEquals(3L, total);
     }
+
+    @Test
+    @Order(21)
+    void getMoviesPagesShouldWalkWholeCollection() {
+        ParameterizedTypeReference<CursorPage<Movie>> type = new ParameterizedTypeReference<>() {};
+
+        CursorPage<Movie> first = restTemplate.exchange(baseUri + "?limit=2", HttpMethod.GET, null, type).getBody();
+
+        assertNotNull(first);
+        assertEquals(2, first.getItems().size());
+        assertEquals("Movie 1", first.getItems().get(0).getTitle());
+        assertEquals("Movie 2", first.getItems().get(1).getTitle());
+        assertNotNull(first.getNext());
+
+        CursorPage<Movie> second = restTemplate.exchange(
+                baseUri + "?limit=2&after=" + first.getNext(), HttpMethod.GET, null, type
+        ).getBody();
+
+        assertNotNull(second);
+        assertEquals(1, second.getItems().size());
+        assertEquals("Movie 3", second.getItems().get(0).getTitle());
+        assertNull(second.getNext());
+    }
+
+    @Test
+    @Order(22)
+    void getMoviesAsNdjsonShouldStreamOneMoviePerLine() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT, "application/x-ndjson");
+
+        String body = restTemplate.exchange(baseUri, HttpMethod.GET, new HttpEntity<>(headers), String.class).getBody();
+
+        assertNotNull(body);
+        String[] lines = body.split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("Movie 1", objectMapper.readValue(lines[0], Movie.class).getTitle());
+        assertEquals("Movie 3", objectMapper.readValue(lines[2], Movie.class).getTitle());
+    }
+
+    @Test
+    @Order(23)
+    void getMoviesWithFieldsShouldOnlyReturnSelectedFields() {
+        ParameterizedTypeReference<List<Map<String, Object>>> type = new ParameterizedTypeReference<>() {};
+
+        List<Map<String, Object>> movies = restTemplate.exchange(
+                baseUri + "?fields=title,image", HttpMethod.GET, null, type
+        ).getBody();
+
+        assertNotNull(movies);
+        assertEquals(3, movies.size());
+        assertEquals(Set.of("id", "title", "image"), movies.get(0).keySet());
+        assertEquals("Movie 1", movies.get(0).get("title"));
+        assertEquals("1.png", movies.get(0).get("image"));
+    }
+
+    @Test
+    @Order(24)
+    void getMoviesWithUnknownFieldShouldThrowBadRequestError() {
+        HttpClientErrorException.BadRequest ex = assertThrows(HttpClientErrorException.BadRequest.class, () ->
+                restTemplate.getForObject(baseUri + "?fields=title,director", String.class)
+        );
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+
+    @Test
+    @Order(25)
+    void getMoviesWithMatchingEtagShouldReturnNotModified() {
+        ResponseEntity<Movie[]> first = restTemplate.getForEntity(baseUri, Movie[].class);
+        String etag = first.getHeaders().getETag();
+
+        assertNotNull(etag);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        ResponseEntity<Movie[]> second = restTemplate.exchange(baseUri, HttpMethod.GET, new HttpEntity<>(headers), Movie[].class);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, second.getStatusCode());
+        assertNull(second.getBody());
+    }
+
+    @Test
+    @Order(26)
+    void getMoviesEtagShouldChangeAfterWrite() {
+        String before = restTemplate.getForEntity(baseUri, Movie[].class).getHeaders().getETag();
+
+        Movie created = restTemplate.postForObject(baseUri, new Movie(null, "Etag Movie", "etag", "http://test.info/etag.png", "etag.mp4", null), Movie.class);
+        String after = restTemplate.getForEntity(baseUri, Movie[].class).getHeaders().getETag();
+        restTemplate.delete(baseUri + "/" + created.getId());
+
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    @Order(27)
+    void getMovieWithMatchingEtagShouldReturnNotModified() {
+        String uri = baseUri + "/" + restTemplate.getForObject(baseUri, Movie[].class)[0].getId();
+        String etag = restTemplate.getForEntity(uri, Movie.class).getHeaders().getETag();
+
+        assertNotNull(etag);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        ResponseEntity<Movie> response = restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), Movie.class);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    }
+
+    @Test
+    @Order(28)
+    void getMoviesPageWithInvalidCursorShouldThrowBadRequestError() {
+        HttpClientErrorException.BadRequest ex = assertThrows(HttpClientErrorException.BadRequest.class, () ->
+                restTemplate.getForObject(baseUri + "?limit=2&after=***", String.class)
+        );
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+
+    @Test
+    @Order(29)
+    void putMovieWithOutdatedIfMatchShouldThrowPreconditionFailedError() {
+        Movie created = restTemplate.postForObject(baseUri, new Movie(null, "Versioned Movie", "v0", "http://test.info/v.png", "v.mp4", null), Movie.class);
+        String uri = baseUri + "/" + created.getId();
+        String etag = restTemplate.getForEntity(uri, Movie.class).getHeaders().getETag();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch(etag);
+        created.setDescription("v1");
+        restTemplate.exchange(uri, HttpMethod.PUT, new HttpEntity<>(created, headers), Void.class);
+
+        created.setDescription("v2");
+        HttpClientErrorException ex = assertThrows(HttpClientErrorException.class, () ->
+                restTemplate.exchange(uri, HttpMethod.PUT, new HttpEntity<>(created, headers), Void.class)
+        );
+        restTemplate.delete(uri);
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, ex.getStatusCode());
+    }
+
+    @Test
+    @Order(30)
+    void patchMovieShouldOnlyChangeGivenFields() {
+        Movie created = restTemplate.postForObject(baseUri, new Movie(null, "Patched Movie", "before", "http://test.info/p.png", "p.mp4", "extra"), Movie.class);
+        String uri = baseUri + "/" + created.getId();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.valueOf("application/merge-patch+json"));
+        restTemplate.exchange(uri, HttpMethod.PATCH, new HttpEntity<>("{\"description\":\"after\",\"extra\":null}", headers), Void.class);
+
+        Movie patched = restTemplate.getForObject(uri, Movie.class);
+        restTemplate.delete(uri);
+
+        assertEquals("Patched Movie", patched.getTitle());
+        assertEquals("after", patched.getDescription());
+        assertNull(patched.getExtra());
+        assertEquals(1L, patched.getVersion());
+    }
+
+    @Test
+    @Order(31)
+    void getMoviesByTagShouldOnlyReturnTaggedMovies() {
+        Movie created = restTemplate.postForObject(baseUri, new Movie(null, "Tagged Movie", "tags", "http://test.info/t.png", "t.mp4", "Cartoon,kids"), Movie.class);
+
+        Movie[] any = restTemplate.getForObject(baseUri + "?tag=cartoon&tag=unknown", Movie[].class);
+        Movie[] all = restTemplate.getForObject(baseUri + "?tag=cartoon&tag=unknown&match=all", Movie[].class);
+        restTemplate.delete(baseUri + "/" + created.getId());
+
+        assertEquals(1, any.length);
+        assertEquals(List.of("cartoon", "kids"), any[0].getTags());
+        assertEquals(0, all.length);
+    }
+
+    @Test
+    @Order(32)
+    void searchMoviesShouldReturnMatchingMoviesWithScore() {
+        Movie created = restTemplate.postForObject(baseUri, new Movie(null, "Searchable Zebra", "striped", "http://test.info/z.png", "z.mp4", null), Movie.class);
+
+        ParameterizedTypeReference<CursorPage<Movie>> type = new ParameterizedTypeReference<>() {};
+        CursorPage<Movie> page = restTemplate.exchange(baseUri + "/search?q=zebra&limit=5", HttpMethod.GET, null, type).getBody();
+        restTemplate.delete(baseUri + "/" + created.getId());
+
+        assertEquals(1, page.getItems().size());
+        assertEquals(created.getId(), page.getItems().get(0).getId());
+        assertNotNull(page.getItems().get(0).getScore());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    @Order(33)
+    void suggestTitlesShouldFollowWrites() {
+        Movie created = restTemplate.postForObject(baseUri, new Movie(null, "Éclair Story", "suggest", "http://test.info/e.png", "e.mp4", null), Movie.class);
+
+        TitleSuggestion[] before = restTemplate.getForObject(baseUri + "/suggest?prefix=ECLA", TitleSuggestion[].class);
+        restTemplate.delete(baseUri + "/" + created.getId());
+        TitleSuggestion[] after = restTemplate.getForObject(baseUri + "/suggest?prefix=ecla", TitleSuggestion[].class);
+
+        assertEquals(1, before.length);
+        assertEquals("Éclair Story", before[0].getTitle());
+        assertEquals(0, after.length);
+    }
+
+    @Test
+    @Order(34)
+    void prometheusShouldExposeEndpointServiceAndMongoLatencies() {
+        restTemplate.getForObject(baseUri, Movie[].class);
+
+        String metrics = restTemplate.getForObject(String.format("http://localhost:%d/actuator/prometheus", port), String.class);
+
+        assertTrue(metrics.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(metrics.contains("uri=\"/movies\""));
+        assertTrue(metrics.contains("jazflix_service_seconds_bucket{"));
+        assertTrue(metrics.contains("method=\"retrieveAllMovies\""));
+        assertTrue(metrics.contains("mongodb_driver_commands_seconds_bucket{"));
+        assertTrue(metrics.contains("collection=\"movies\""));
+        assertTrue(metrics.contains("mongodb_driver_pool_size"));
+    }
+
+    @Test
+    @Order(35)
+    void listShouldBeServedPrecompressedAndFollowWrites() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        ResponseEntity<byte[]> before = restTemplate.exchange(baseUri, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+        restTemplate.postForObject(baseUri, new Movie(null, "Gzip Story", "gzip", "http://test.info/g.png", "g.mp4", null), Movie.class);
+        ResponseEntity<byte[]> after = restTemplate.exchange(baseUri, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+
+        assertEquals("gzip", after.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(after.getHeaders().getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        assertEquals(gunzip(before.getBody()).length + 1, gunzip(after.getBody()).length);
+        assertEquals(restTemplate.getForObject(baseUri, Movie[].class).length, gunzip(after.getBody()).length);
+    }
+
+    @Test
+    @Order(36)
+    void batchGetShouldReturnMoviesInRequestedOrderWithMissingIds() {
+        Movie[] movies = restTemplate.getForObject(baseUri, Movie[].class);
+        String first = movies[0].getId();
+        String last = movies[movies.length - 1].getId();
+        ParameterizedTypeReference<BatchGetResult<Movie>> type = new ParameterizedTypeReference<>() {};
+
+        BatchGetResult<Movie> viaQuery = restTemplate.exchange(
+                baseUri + "?ids={ids}", HttpMethod.GET, null, type, last + ",nope," + first).getBody();
+        BatchGetResult<Movie> viaBody = restTemplate.exchange(
+                baseUri + "/batch-get", HttpMethod.POST, new HttpEntity<>(new BatchGetRequest(List.of(last, "nope", first))), type).getBody();
+
+        assertNotNull(viaQuery);
+        assertEquals(List.of(last, first), viaQuery.getItems().stream().map(Movie::getId).toList());
+        assertEquals(List.of("nope"), viaQuery.getMissing());
+        assertEquals(viaQuery, viaBody);
+    }
+
+    @Test
+    @Order(37)
+    void postMovieWithVersionShouldCreateNewMovie() {
+        Movie input = new Movie(null, "Versioned Post", "post", "http://test.info/vp.png", "vp.mp4", null);
+        input.setVersion(3L);
+
+        Movie created = restTemplate.postForObject(baseUri, input, Movie.class);
+
+        assertNotNull(created);
+        assertNotNull(created.getId());
+        assertEquals(0L, created.getVersion());
+        assertTrue(repository.findById(created.getId()).isPresent());
+    }
+
+    private Movie[] gunzip(byte[] body) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new ObjectMapper().readValue(in, Movie[].class);
+        }
+    }
 }
@@ -276,4 +276,33 @@ public class SectionE2ETests {
         assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
         assertEquals(3L, total);
     }
+
+    @Test
+    @Order(22)
+    void postMoveSectionShouldPlaceItFirst() {
+        Section[] sections = restTemplate.getForObject(baseUri, Section[].class);
+        Section last = sections[sections.length - 1];
+
+        restTemplate.postForEntity(baseUri + "/" + last.getId() + "/move?before=" + sections[0].getId(), null, Void.class);
+
+        Section[] result = restTemplate.getForObject(baseUri, Section[].class);
+
+        assertNotNull(result);
+        assertEquals(sections.length, result.length);
+        assertEquals(last.getId(), result[0].getId());
+        assertEquals(sections[0].getId(), result[1].getId());
+        assertNotNull(result[0].getRank());
+    }
+
+    @Test
+    @Order(23)
+    void postMoveSectionNextToMissingSectionShouldReturnBadRequestError() {
+        Section[] sections = restTemplate.getForObject(baseUri, Section[].class);
+
+        HttpClientErrorException.BadRequest ex = assertThrows(HttpClientErrorException.BadRequest.class, () ->
+            restTemplate.postForEntity(baseUri + "/" + sections[0].getId() + "/move?after=12341123asdlfkjads", null, Void.class)
+        );
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
 }
@@ -1,5 +1,6 @@
 package net.jazbelt.jazflixboapi.e2e;
 
+import net.jazbelt.jazflixboapi.model.dto.AuthDecision;
 import net.jazbelt.jazflixboapi.model.entity.User;
 import net.jazbelt.jazflixboapi.model.repository.UserRepository;
 import org.junit.jupiter.api.*;
@@ -154,6 +155,43 @@ public class UserE2ETests {
         assertEquals(4L, total);
     }
 
+    @Test
+    @Order(7)
+    void createUserWithTakenEmailShouldReturnConflictError() {
+        HttpClientErrorException.Conflict ex = assertThrows(HttpClientErrorException.Conflict.class, () -> {
+            User user = new User(null, "maria@foo.bar", false);
+            restTemplate.postForObject(baseUri, user, User.class);
+        });
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        assertEquals(4L, userRepository.count());
+    }
+
+    @Test
+    @Order(8)
+    void putUserByNameShouldUpdateExistingUser() {
+        User maria = restTemplate.getForObject(baseUri + "/by-name/maria@foo.bar", User.class);
+
+        restTemplate.put(baseUri + "/by-name/maria@foo.bar", new User(null, "maria@foo.bar", false));
+        restTemplate.put(baseUri + "/by-name/maria@foo.bar", new User(null, "maria@foo.bar", false));
+
+        User result = restTemplate.getForObject(baseUri + "/by-name/maria@foo.bar", User.class);
+
+        assertNotNull(maria);
+        assertNotNull(result);
+        assertEquals(maria.getId(), result.getId());
+        assertFalse(result.getEnabled());
+        assertEquals(4L, userRepository.count());
+    }
+
+    @Test
+    @Order(9)
+    void getUserByUnknownNameShouldReturnNotFoundError() {
+        assertThrows(HttpClientErrorException.NotFound.class, () ->
+            restTemplate.getForObject(baseUri + "/by-name/nobody@foo.bar", User.class)
+        );
+    }
+
     @Test
     @Order(10)
     void updateJohnDoeShouldReflectChanges() {
@@ -169,6 +207,23 @@ public class UserE2ETests {
         assertFalse(result.get().getEnabled());
     }
 
+    @Test
+    @Order(11)
+    void authAllowedShouldFollowUserWrites() {
+        String uri = String.format("http://localhost:%d/auth/allowed?email={email}", port);
+
+        AuthDecision jane = restTemplate.getForObject(uri, AuthDecision.class, "jane@foo.bar");
+        AuthDecision jack = restTemplate.getForObject(uri, AuthDecision.class, "jack@foo.bar");
+        AuthDecision john = restTemplate.getForObject(uri, AuthDecision.class, "john@foo.bar");
+
+        assertNotNull(jane);
+        assertTrue(jane.isAllowed());
+        assertNotNull(jack);
+        assertFalse(jack.isAllowed());
+        assertNotNull(john);
+        assertFalse(john.isAllowed());
+    }
+
     @Test
     @Order(20)
     void deleteJohnUserShouldSuccessfullyDeleteFromDb() {
@@ -1,5 +1,9 @@
 package net.jazbelt.jazflixboapi.integration.repository;
 
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteSummary;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
+import net.jazbelt.jazflixboapi.model.dto.TagMatch;
 import net.jazbelt.jazflixboapi.model.entity.Movie;
 import net.jazbelt.jazflixboapi.model.repository.MovieRepository;
 import org.junit.jupiter.api.AfterEach;
@@ -7,15 +11,23 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.MongoDBContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,6 +53,12 @@ public class MovieRepositoryTest {
 
     @BeforeEach
     void setUp() {
+        // Collections are dropped after each test, recreate text and tag indexes
+        IndexOperations indexes = mongoTemplate.indexOps(Movie.class);
+        new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(Movie.class)
+                .forEach(indexes::ensureIndex);
+
         Movie movie1 = new Movie(
                 null,
                 "Movie 1",
@@ -189,4 +207,113 @@ public class MovieRepositoryTest {
         assertNull(result);
         assertEquals(2L, total);
     }
+
+    @Test
+    void patchVersionedShouldOnlyChangePatchedFields() {
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("image", "http://movies.info/1b.png");
+        changes.put("extra", null);
+
+        boolean matched = repository.patchVersioned(movieId, 0L, new MergePatch(changes));
+        Movie movie = mongoTemplate.findById(movieId, Movie.class);
+
+        assertTrue(matched);
+        assertEquals("Movie 1", movie.getTitle());
+        assertEquals("First movie", movie.getDescription());
+        assertEquals("http://movies.info/1b.png", movie.getImage());
+        assertNull(movie.getExtra());
+        assertEquals(1L, movie.getVersion());
+    }
+
+    @Test
+    void patchVersionedWithOutdatedVersionShouldNotMatch() {
+        MergePatch patch = new MergePatch(Map.of("title", "Movie 1b"));
+        repository.patchVersioned(movieId, 0L, patch);
+
+        boolean matched = repository.patchVersioned(movieId, 0L, patch);
+
+        assertFalse(matched);
+        assertEquals(1L, mongoTemplate.findById(movieId, Movie.class).getVersion());
+    }
+
+    @Test
+    void insertUnorderedShouldWriteAllButFailingDocuments() {
+        List<Movie> movies = List.of(
+                new Movie(null, "Movie 4", null, "http://movies.info/4.png", "movie4.mp4", null),
+                new Movie(movieId, "Movie 1", null, "http://movies.info/1.png", "movie1.mp4", null),
+                new Movie(null, "Movie 5", null, "http://movies.info/5.png", "movie5.mp4", null)
+        );
+
+        Map<Integer, String> failed = repository.insertUnordered(movies);
+
+        assertEquals(Set.of(1), failed.keySet());
+        assertEquals(5L, repository.count());
+    }
+
+    @Test
+    void patchAllByIdsShouldCountMissingIds() {
+        BulkFilter filter = new BulkFilter(List.of(movieId, "000000000000000000000000"), Map.of());
+
+        BulkWriteSummary summary = repository.patchAll(filter, new MergePatch(Map.of("extra", "tag9")));
+
+        assertEquals(new BulkWriteSummary(1, 1, 1), summary);
+        assertEquals("tag9", mongoTemplate.findById(movieId, Movie.class).getExtra());
+    }
+
+    @Test
+    void patchAllByIdsAndCriteriaShouldNotCountFilteredOutIdsAsMissing() {
+        BulkFilter filter = new BulkFilter(List.of(movieId, "000000000000000000000000"), Map.of("extra", "tag1"));
+
+        BulkWriteSummary summary = repository.patchAll(filter, new MergePatch(Map.of("extra", "tag9")));
+
+        assertEquals(new BulkWriteSummary(0, 0, 0), summary);
+        assertEquals("tag1,tag2", mongoTemplate.findById(movieId, Movie.class).getExtra());
+    }
+
+    @Test
+    void deleteAllByFilterShouldRemoveMatchingMovies() {
+        BulkWriteSummary summary = repository.deleteAll(new BulkFilter(List.of(), Map.of("extra", "tag1")));
+
+        assertEquals(new BulkWriteSummary(1, 1, 0), summary);
+        assertEquals(2L, repository.count());
+    }
+
+    @Test
+    void findByTagsShouldMatchAnyOrAllTags() {
+        List<Movie> any = repository.findByTags(List.of("tag1", "tag2"), TagMatch.ANY, null, Limit.unlimited());
+        List<Movie> all = repository.findByTags(List.of("tag1", "tag2"), TagMatch.ALL, null, Limit.unlimited());
+
+        assertEquals(2, any.size());
+        assertEquals(1, all.size());
+        assertEquals(movieId, all.get(0).getId());
+    }
+
+    @Test
+    void patchingExtraShouldRewriteTags() {
+        repository.patchVersioned(movieId, null, new MergePatch(Map.of("extra", "Cartoon")));
+
+        assertEquals(List.of("cartoon"), mongoTemplate.findById(movieId, Movie.class).getTags());
+    }
+
+    @Test
+    void backfillTagsShouldParseExtraOfMoviesWithoutTags() {
+        mongoTemplate.updateMulti(new Query(), new Update().unset("tags"), Movie.class);
+
+        long updated = repository.backfillTags();
+
+        assertEquals(2L, updated);
+        assertEquals(List.of("tag1", "tag2"), mongoTemplate.findById(movieId, Movie.class).getTags());
+    }
+
+    @Test
+    void searchShouldRankTitleMatchesFirst() {
+        mongoTemplate.save(new Movie(null, "Another one", "Nothing else", "http://movies.info/4.png", "movie4.mp4", null));
+        mongoTemplate.save(new Movie(null, "Something else", "A remake", "http://movies.info/5.png", "movie5.mp4", null));
+
+        List<Movie> result = repository.search("else", 0, Limit.unlimited());
+
+        assertEquals(2, result.size());
+        assertEquals("Something else", result.get(0).getTitle());
+        assertNotNull(result.get(0).getScore());
+    }
 }
@@ -15,6 +15,7 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -151,4 +152,47 @@ public class SectionRepositoryTest {
 
         assertNull(result);
     }
+
+    @Test
+    void rankVersionedShouldSetRankAndIncrementVersion() {
+        Section home = mongoTemplate.findById(sectionId, Section.class);
+
+        assertTrue(repository.rankVersioned(sectionId, home.getVersion(), "V"));
+        assertFalse(repository.rankVersioned(sectionId, home.getVersion(), "W"));
+
+        Section result = mongoTemplate.findById(sectionId, Section.class);
+
+        assertEquals("V", result.getRank());
+        assertEquals(home.getVersion() + 1, result.getVersion());
+    }
+
+    @Test
+    void rankAllShouldRankEverySection() {
+        List<Section> sections = mongoTemplate.findAll(Section.class);
+
+        repository.rankAll(Map.of(
+                sections.get(0).getId(), "k",
+                sections.get(1).getId(), "V",
+                sections.get(2).getId(), "F"
+        ));
+
+        List<String> ranks = mongoTemplate.findAll(Section.class).stream().map(Section::getRank).toList();
+
+        assertEquals(List.of("k", "V", "F"), ranks);
+    }
+
+    @Test
+    void replaceVersionedShouldPreserveRank() {
+        Section home = mongoTemplate.findById(sectionId, Section.class);
+        repository.rankVersioned(sectionId, null, "V");
+
+        Section input = new Section(sectionId, "mdi-test", "Test", "/", 0);
+
+        assertTrue(repository.replaceVersioned(sectionId, home.getVersion() + 1, input));
+
+        Section result = mongoTemplate.findById(sectionId, Section.class);
+
+        assertEquals("Test", result.getTitle());
+        assertEquals("V", result.getRank());
+    }
 }
@@ -8,7 +8,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.jdbc.EmbeddedDataSourceConfiguration;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.MongoDBContainer;
@@ -97,4 +99,36 @@ class UserRepositoryTest {
         assertEquals("jane@foo.bar", result.getName());
         assertTrue(result.getEnabled());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findByNameShouldReturnMatchingUser() {
+        Optional<User> user = repository.findByName("jackie@foo.bar");
+
+        assertTrue(user.isPresent());
+        assertEquals("abc456", user.get().getId());
+        assertTrue(repository.findByName("nobody@foo.bar").isEmpty());
+    }
+
+    @Test
+    void upsertByNameShouldInsertOnceThenUpdate() {
+        User created = repository.upsertByName("maria@foo.bar", new User(null, "maria@foo.bar", true));
+        User updated = repository.upsertByName("maria@foo.bar", new User(null, "maria@foo.bar", false));
+
+        assertNotNull(created.getId());
+        assertEquals(created.getId(), updated.getId());
+        assertEquals("maria@foo.bar", updated.getName());
+        assertFalse(updated.getEnabled());
+        assertEquals(0L, created.getVersion());
+        assertEquals(1L, updated.getVersion());
+        assertEquals(3, repository.count());
+    }
+
+    @Test
+    void saveUserWithTakenNameShouldViolateUniqueIndex() {
+        new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(User.class)
+                .forEach(mongoTemplate.indexOps(User.class)::ensureIndex);
+
+        assertThrows(DuplicateKeyException.class, () -> repository.save(new User(null, "jdoe@foo.bar", false)));
+    }
+}
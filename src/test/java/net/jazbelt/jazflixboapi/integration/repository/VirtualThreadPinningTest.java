@@ -0,0 +1,100 @@
+package net.jazbelt.jazflixboapi.integration.repository;
+
+import jdk.jfr.consumer.RecordedEvent;
+import net.jazbelt.jazflixboapi.VirtualThreads;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import net.jazbelt.jazflixboapi.model.entity.Section;
+import net.jazbelt.jazflixboapi.model.entity.User;
+import net.jazbelt.jazflixboapi.model.repository.MovieRepository;
+import net.jazbelt.jazflixboapi.model.repository.SectionRepository;
+import net.jazbelt.jazflixboapi.model.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The driver path of every repository must not pin carrier threads,
+ * otherwise virtual thread request execution degrades to a pool as small
+ * as the number of cores.
+ */
+@Testcontainers
+@DataMongoTest
+public class VirtualThreadPinningTest {
+
+    @Container
+    static final MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:latest");
+
+    @DynamicPropertySource
+    static void setProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @Autowired
+    MongoTemplate mongoTemplate;
+
+    @Autowired
+    MovieRepository movieRepository;
+
+    @Autowired
+    SectionRepository sectionRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    private String movieId;
+
+    @BeforeEach
+    void setUp() {
+        movieId = movieRepository.save(new Movie(null, "Movie 1", "First", "http://movies.info/1.png", "1.mp4", "tag1")).getId();
+        sectionRepository.save(new Section(null, "mdi-home", "Home", "/", 1));
+        userRepository.save(new User(null, "jdoe@foo.bar", true));
+
+        // load classes and open pooled connections before recording
+        queryAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        mongoTemplate.dropCollection(Movie.class);
+        mongoTemplate.dropCollection(Section.class);
+        mongoTemplate.dropCollection(User.class);
+    }
+
+    @Test
+    void concurrentQueriesShouldNotPinCarrierThreads() throws Exception {
+        List<RecordedEvent> pinned = VirtualThreads.pinnedWhile(200, this::queryAll);
+
+        assertTrue(pinned.isEmpty(), () -> "Pinned carrier threads: " + pinned);
+    }
+
+    @Test
+    void concurrentWritesShouldNotPinCarrierThreads() throws Exception {
+        List<RecordedEvent> pinned = VirtualThreads.pinnedWhile(200, () -> {
+            Movie movie = movieRepository.save(new Movie(null, "Movie X", null, "http://movies.info/x.png", "x.mp4", null));
+            movieRepository.replaceVersioned(movie.getId(), null, movie);
+            movieRepository.deleteVersioned(movie.getId(), null);
+        });
+
+        assertTrue(pinned.isEmpty(), () -> "Pinned carrier threads: " + pinned);
+    }
+
+    private void queryAll() {
+        movieRepository.findById(movieId);
+        movieRepository.findAllByOrderByIdAsc(Limit.of(10));
+        sectionRepository.findAll();
+        userRepository.findAll();
+    }
+}
@@ -0,0 +1,28 @@
+package net.jazbelt.jazflixboapi.unit.controller;
+
+import net.jazbelt.jazflixboapi.controller.AuthController;
+import net.jazbelt.jazflixboapi.domain.UserService;
+import net.jazbelt.jazflixboapi.model.dto.AuthDecision;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthControllerTest {
+
+    @Mock
+    UserService userService;
+
+    @Test
+    void getAllowed() {
+        when(userService.isAllowed("jdoe@foo.bar")).thenReturn(true);
+        AuthController controller = new AuthController(userService);
+
+        assertEquals(new AuthDecision("jdoe@foo.bar", true), controller.getAllowed("jdoe@foo.bar"));
+        assertEquals(new AuthDecision("nobody@foo.bar", false), controller.getAllowed("nobody@foo.bar"));
+    }
+}
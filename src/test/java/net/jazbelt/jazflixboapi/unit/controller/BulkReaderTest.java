@@ -0,0 +1,118 @@
+package net.jazbelt.jazflixboapi.unit.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import net.jazbelt.jazflixboapi.BulkProperties;
+import net.jazbelt.jazflixboapi.controller.BulkReader;
+import net.jazbelt.jazflixboapi.error.BulkTooLargeException;
+import net.jazbelt.jazflixboapi.error.InvalidBulkFilterException;
+import net.jazbelt.jazflixboapi.error.InvalidFieldsException;
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkItem;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteRequest;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import net.jazbelt.jazflixboapi.model.entity.Section;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkReaderTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private BulkReader reader;
+
+    @BeforeEach
+    void setUp() {
+        BulkProperties properties = new BulkProperties();
+        properties.setMaxItems(3);
+
+        reader = new BulkReader(mapper, Validation.buildDefaultValidatorFactory().getValidator(), properties);
+    }
+
+    @Test
+    void fromArrayShouldKeepRequestOrder() throws IOException {
+        List<JsonNode> nodes = List.of(
+                mapper.readTree("{\"title\":\"Movie 1\",\"image\":\"http://movies.info/1.png\",\"video\":\"movie1.mp4\"}"),
+                mapper.readTree("{\"title\":\"Movie 2\",\"image\":\"http://movies.info/2.png\",\"video\":\"movie2.mp4\"}")
+        );
+
+        List<BulkItem<Movie>> items = reader.fromArray(nodes, Movie.class);
+
+        assertEquals(List.of(0, 1), items.stream().map(BulkItem::getIndex).toList());
+        assertEquals("Movie 1", items.get(0).getEntity().getTitle());
+        assertEquals("Movie 2", items.get(1).getEntity().getTitle());
+    }
+
+    @Test
+    void fromArrayShouldReportValidationErrorsPerItem() throws IOException {
+        List<JsonNode> nodes = List.of(
+                mapper.readTree("{\"title\":\"Movie 1\",\"image\":\"ftp://movies.info/1.png\",\"video\":\"movie1.mp4\"}")
+        );
+
+        BulkItem<Movie> item = reader.fromArray(nodes, Movie.class).get(0);
+
+        assertFalse(item.isValid());
+        assertEquals(List.of("image: Invalid URL format"), item.getErrors());
+    }
+
+    @Test
+    void fromNdjsonShouldReportMalformedLinesAsInvalidItems() throws IOException {
+        String body = "{\"title\":\"Movie 1\",\"image\":\"http://movies.info/1.png\",\"video\":\"movie1.mp4\"}\n"
+                + "\n"
+                + "{\"title\":\n";
+
+        List<BulkItem<Movie>> items = reader.fromNdjson(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), Movie.class);
+
+        assertEquals(2, items.size());
+        assertTrue(items.get(0).isValid());
+        assertFalse(items.get(1).isValid());
+        assertEquals(1, items.get(1).getIndex());
+    }
+
+    @Test
+    void tooManyItemsShouldThrowBulkTooLargeException() {
+        String body = "{}\n{}\n{}\n{}\n";
+
+        assertThrows(BulkTooLargeException.class, () ->
+                reader.fromNdjson(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), Movie.class)
+        );
+    }
+
+    @Test
+    void filterShouldConvertCriteriaToPropertyType() {
+        BulkFilter filter = reader.filter(Section.class, new BulkWriteRequest(null, Map.of("order", "2"), null));
+
+        assertFalse(filter.hasIds());
+        assertEquals(Map.of("order", 2), filter.getCriteria());
+    }
+
+    @Test
+    void filterWithoutIdsNorCriteriaShouldThrowInvalidBulkFilterException() {
+        assertThrows(InvalidBulkFilterException.class, () ->
+                reader.filter(Movie.class, new BulkWriteRequest(List.of(), Map.of(), null))
+        );
+    }
+
+    @Test
+    void filterOnUnknownFieldShouldThrowInvalidFieldsException() {
+        assertThrows(InvalidFieldsException.class, () ->
+                reader.filter(Movie.class, new BulkWriteRequest(null, Map.of("director", "Someone"), null))
+        );
+    }
+
+    @Test
+    void filterWithTooManyIdsShouldThrowBulkTooLargeException() {
+        assertThrows(BulkTooLargeException.class, () ->
+                reader.filter(Movie.class, new BulkWriteRequest(List.of("1", "2", "3", "4"), null, null))
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package net.jazbelt.jazflixboapi.unit.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jazbelt.jazflixboapi.controller.CacheController;
+import net.jazbelt.jazflixboapi.domain.EntityCache;
+import net.jazbelt.jazflixboapi.domain.JsonFragmentCache;
+import net.jazbelt.jazflixboapi.model.dto.CacheStatistics;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheControllerTest {
+
+    @Test
+    void getCacheStatisticsShouldReturnOneEntryPerCache() {
+        CacheController controller = new CacheController(List.of(
+                new EntityCache<>("movies", 10, Duration.ofMinutes(1)),
+                new EntityCache<>("users", 10, Duration.ofMinutes(1))
+        ), List.of(
+                new JsonFragmentCache<Movie>("movie-json", 10, Duration.ofMinutes(1),
+                        new ObjectMapper().writerFor(Movie.class), Movie::getId, movie -> true)
+        ));
+
+        List<CacheStatistics> stats = controller.getCacheStatistics();
+
+        assertEquals(3, stats.size());
+        assertEquals("movies", stats.get(0).getName());
+        assertEquals("users", stats.get(1).getName());
+        assertEquals("movie-json", stats.get(2).getName());
+    }
+}
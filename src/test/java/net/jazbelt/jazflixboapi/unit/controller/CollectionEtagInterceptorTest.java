@@ -0,0 +1,91 @@
+package net.jazbelt.jazflixboapi.unit.controller;
+
+import net.jazbelt.jazflixboapi.controller.CollectionEtagInterceptor;
+import net.jazbelt.jazflixboapi.domain.CollectionVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CollectionEtagInterceptorTest {
+
+    CollectionVersions versions;
+
+    CollectionEtagInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        versions = new CollectionVersions();
+        interceptor = new CollectionEtagInterceptor(versions, CollectionVersions.MOVIES);
+    }
+
+    private String firstEtag() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/movies"), response, null));
+        return response.getHeader(HttpHeaders.ETAG);
+    }
+
+    @Test
+    void getWithoutConditionShouldProceedAndSetEtag() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor.preHandle(new MockHttpServletRequest("GET", "/movies"), response, null);
+
+        assertTrue(proceed);
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        assertEquals("no-cache", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @Test
+    void matchingEtagShouldAnswerNotModified() {
+        String etag = firstEtag();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/movies");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor.preHandle(request, response, null);
+
+        assertFalse(proceed);
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    void etagShouldNotMatchAfterCollectionWrite() {
+        String etag = firstEtag();
+        versions.increment(CollectionVersions.MOVIES);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/movies");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, null));
+        assertNotEquals(etag, response.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void etagShouldDependOnQueryString() {
+        MockHttpServletRequest paged = new MockHttpServletRequest("GET", "/movies");
+        paged.setQueryString("limit=10");
+
+        assertNotEquals(interceptor.etag(new MockHttpServletRequest("GET", "/movies")), interceptor.etag(paged));
+    }
+
+    @Test
+    void etagShouldDependOnAcceptEncoding() {
+        MockHttpServletRequest gzipped = new MockHttpServletRequest("GET", "/movies");
+        gzipped.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        assertNotEquals(interceptor.etag(new MockHttpServletRequest("GET", "/movies")), interceptor.etag(gzipped));
+    }
+
+    @Test
+    void nonGetRequestShouldNotBeConditional() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("POST", "/movies"), response, null));
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+    }
+}
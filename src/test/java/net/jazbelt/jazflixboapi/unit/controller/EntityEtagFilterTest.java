@@ -0,0 +1,63 @@
+package net.jazbelt.jazflixboapi.unit.controller;
+
+import jakarta.servlet.ServletResponse;
+import net.jazbelt.jazflixboapi.controller.EntityEtagFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityEtagFilterTest {
+
+    EntityEtagFilter filter;
+
+    AtomicReference<ServletResponse> written;
+
+    @BeforeEach
+    void setUp() {
+        filter = new EntityEtagFilter("/movies", "/section", "/user");
+        written = new AtomicReference<>();
+    }
+
+    private MockHttpServletResponse filter(String method, String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest(method, uri), response, (req, res) -> {
+            written.set(res);
+            res.getOutputStream().write("{\"id\":\"1\"}".getBytes(StandardCharsets.UTF_8));
+        });
+
+        return response;
+    }
+
+    @Test
+    void entityGetShouldBeTagged() throws Exception {
+        MockHttpServletResponse response = filter("GET", "/movies/1");
+
+        assertNotNull(response.getHeader(HttpHeaders.ETAG));
+        assertNotSame(response, written.get());
+        assertEquals("{\"id\":\"1\"}", response.getContentAsString());
+    }
+
+    @Test
+    void collectionGetShouldNotBeBuffered() throws Exception {
+        MockHttpServletResponse response = filter("GET", "/movies");
+
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertSame(response, written.get());
+    }
+
+    @Test
+    void writeShouldNotBeBuffered() throws Exception {
+        MockHttpServletResponse response = filter("PUT", "/section/1");
+
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertSame(response, written.get());
+    }
+}
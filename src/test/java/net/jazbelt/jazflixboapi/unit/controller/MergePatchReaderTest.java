@@ -0,0 +1,95 @@
+package net.jazbelt.jazflixboapi.unit.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import net.jazbelt.jazflixboapi.controller.MergePatchReader;
+import net.jazbelt.jazflixboapi.error.InvalidFieldsException;
+import net.jazbelt.jazflixboapi.error.InvalidPatchException;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import net.jazbelt.jazflixboapi.model.entity.Section;
+import net.jazbelt.jazflixboapi.model.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MergePatchReaderTest {
+
+    private final MergePatchReader reader =
+            new MergePatchReader(new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Test
+    void readShouldKeepSetAndRemovedFields() {
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("image", "http://movies.info/1.png");
+        patch.put("extra", null);
+
+        MergePatch result = reader.read(Movie.class, patch);
+
+        assertEquals(2, result.getChanges().size());
+        assertEquals("http://movies.info/1.png", result.getChanges().get("image"));
+        assertTrue(result.getChanges().containsKey("extra"));
+        assertNull(result.getChanges().get("extra"));
+    }
+
+    @Test
+    void readShouldConvertValuesToPropertyType() {
+        MergePatch result = reader.read(Section.class, Map.of("order", "3"));
+
+        assertEquals(3, result.getChanges().get("order"));
+    }
+
+    @Test
+    void readShouldOnlyValidateTouchedFields() {
+        MergePatch result = reader.read(Movie.class, Map.of("description", "Only this"));
+
+        assertEquals(Map.of("description", "Only this"), result.getChanges());
+    }
+
+    @Test
+    void readWithInvalidValueShouldThrowInvalidPatchException() {
+        InvalidPatchException ex = assertThrows(InvalidPatchException.class, () ->
+                reader.read(Movie.class, Map.of("image", "not-an-url"))
+        );
+
+        assertEquals("image: Invalid URL format", ex.getMessage());
+    }
+
+    @Test
+    void readRemovingRequiredFieldShouldThrowInvalidPatchException() {
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("enabled", null);
+
+        assertThrows(InvalidPatchException.class, () -> reader.read(User.class, patch));
+    }
+
+    @Test
+    void readWithUnconvertibleValueShouldThrowInvalidPatchException() {
+        InvalidPatchException ex = assertThrows(InvalidPatchException.class, () ->
+                reader.read(Section.class, Map.of("order", "first"))
+        );
+
+        assertEquals("Section field [order] must be Integer", ex.getMessage());
+    }
+
+    @Test
+    void readReadOnlyFieldShouldThrowInvalidPatchException() {
+        InvalidPatchException ex = assertThrows(InvalidPatchException.class, () ->
+                reader.read(Movie.class, Map.of("id", "abc"))
+        );
+
+        assertEquals("Movie field [id] is read only", ex.getMessage());
+    }
+
+    @Test
+    void readUnknownFieldShouldThrowInvalidFieldsException() {
+        InvalidFieldsException ex = assertThrows(InvalidFieldsException.class, () ->
+                reader.read(Movie.class, Map.of("director", "Someone"))
+        );
+
+        assertEquals("Movie has no field [director]", ex.getMessage());
+    }
+}
@@ -1,19 +1,50 @@
 package net.jazbelt.jazflixboapi.unit.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import net.jazbelt.jazflixboapi.BulkProperties;
+import net.jazbelt.jazflixboapi.controller.BulkReader;
 import net.jazbelt.jazflixboapi.controller.MovieController;
+import net.jazbelt.jazflixboapi.controller.MergePatchReader;
+import net.jazbelt.jazflixboapi.controller.NdjsonWriter;
 import net.jazbelt.jazflixboapi.domain.MovieService;
+import net.jazbelt.jazflixboapi.error.InvalidPatchException;
+import net.jazbelt.jazflixboapi.error.InvalidTagMatchException;
+import net.jazbelt.jazflixboapi.error.PreconditionFailedException;
+import net.jazbelt.jazflixboapi.error.VersionConflictException;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetRequest;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteRequest;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.dto.FieldSelection;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
+import net.jazbelt.jazflixboapi.model.dto.TagMatch;
+import net.jazbelt.jazflixboapi.model.dto.TitleSuggestion;
 import net.jazbelt.jazflixboapi.model.entity.Movie;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 public class MovieControllerTest {
@@ -25,7 +56,10 @@ public class MovieControllerTest {
 
     @BeforeEach
     void setUp() {
-        controller = new MovieController(service);
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        MergePatchReader patchReader = new MergePatchReader(new ObjectMapper(), validator);
+        BulkReader bulkReader = new BulkReader(new ObjectMapper(), validator, new BulkProperties());
+        controller = new MovieController(service, new NdjsonWriter(new ObjectMapper()), patchReader, bulkReader);
 
         Movie movie1 = new Movie("1", "Movie 1", "first", "1.png", "1.mp4", "tag1");
         Movie movie2 = new Movie("2", "Movie 2", "second", "2.png", "2.mp4", "tag1");
@@ -36,6 +70,8 @@ public class MovieControllerTest {
         lenient().when(service.retrieveSingleMovie("2")).thenReturn(movie2);
         lenient().when(service.retrieveSingleMovie("3")).thenReturn(movie3);
         lenient().when(service.createMovie(any(Movie.class))).thenReturn(movie1);
+        lenient().when(service.streamAllMovies()).thenReturn(Stream.of(movie1, movie2));
+        lenient().when(service.retrieveMoviesPage("abc", 2)).thenReturn(new CursorPage<>(List.of(movie2, movie3), "def"));
     }
 
     @Test
@@ -71,6 +107,121 @@ public class MovieControllerTest {
         assertEquals("tag1", movie3.getExtra());
     }
 
+    @Test
+    void streamMoviesShouldWriteOneMoviePerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        controller.streamMovies().writeTo(out);
+
+        verify(service).streamAllMovies();
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":\"1\",\"title\":\"Movie 1\""));
+        assertTrue(lines[1].startsWith("{\"id\":\"2\",\"title\":\"Movie 2\""));
+    }
+
+    @Test
+    void searchMoviesShouldReturnServicePage() {
+        when(service.searchMovies("first", null, 20)).thenReturn(new CursorPage<>(List.of(), null));
+
+        CursorPage<Movie> page = controller.searchMovies("first", 20, null);
+
+        verify(service).searchMovies("first", null, 20);
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void suggestTitlesShouldReturnServiceSuggestions() {
+        when(service.suggestTitles("mov", 10)).thenReturn(List.of(new TitleSuggestion("1", "Movie 1")));
+
+        List<TitleSuggestion> result = controller.suggestTitles("mov", 10);
+
+        assertEquals("Movie 1", result.get(0).getTitle());
+    }
+
+    @Test
+    void getMoviesByTagShouldParseMatch() {
+        controller.getMoviesByTag(List.of("tag1", "tag2"), "ALL");
+
+        verify(service).retrieveMoviesByTags(List.of("tag1", "tag2"), TagMatch.ALL);
+    }
+
+    @Test
+    void getMoviesByTagWithUnknownMatchShouldThrowBadRequest() {
+        assertThrows(InvalidTagMatchException.class, () ->
+                controller.getMoviesByTag(List.of("tag1"), "some")
+        );
+    }
+
+    @Test
+    void getMoviesByTagPageShouldReturnServicePage() {
+        when(service.retrieveMoviesByTagsPage(List.of("tag1"), TagMatch.ANY, null, 2))
+                .thenReturn(new CursorPage<>(List.of(), null));
+
+        CursorPage<Movie> page = controller.getMoviesByTagPage(List.of("tag1"), "any", 2, null);
+
+        assertTrue(page.getItems().isEmpty());
+    }
+
+    @Test
+    void getMoviesPageShouldReturnServicePage() {
+        CursorPage<Movie> page = controller.getMoviesPage(2, "abc");
+
+        verify(service).retrieveMoviesPage("abc", 2);
+        assertEquals(2, page.getItems().size());
+        assertEquals("2", page.getItems().get(0).getId());
+        assertEquals("3", page.getItems().get(1).getId());
+        assertEquals("def", page.getNext());
+    }
+
+    @Test
+    void getMoviesByIdsAndBatchGetShouldReturnServiceResult() {
+        BatchGetResult<Movie> expected = new BatchGetResult<>(List.of(new Movie()), List.of("x"));
+        when(service.retrieveMovies(List.of("1", "x"))).thenReturn(expected);
+
+        assertSame(expected, controller.getMoviesByIds(List.of("1", "x")));
+        assertSame(expected, controller.postBatchGetMovies(new BatchGetRequest(List.of("1", "x"))));
+    }
+
+    @Test
+    void queryParametersShouldOnlyBeCombinedAsSupported() throws Exception {
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        mvc.perform(get("/movies").param("tag", "tag1").param("ids", "1,2")).andExpect(status().isBadRequest());
+        mvc.perform(get("/movies").param("tag", "tag1").param("fields", "title")).andExpect(status().isBadRequest());
+        mvc.perform(get("/movies").param("ids", "1").param("limit", "2")).andExpect(status().isBadRequest());
+        mvc.perform(get("/movies").param("ids", "1").param("fields", "title")).andExpect(status().isBadRequest());
+        mvc.perform(get("/movies").param("tag", "tag1").param("limit", "2").param("fields", "title"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(service);
+
+        mvc.perform(get("/movies").param("ids", "1,x")).andExpect(status().isOk());
+        mvc.perform(get("/movies").param("limit", "2").param("after", "abc")).andExpect(status().isOk());
+        verify(service).retrieveMovies(List.of("1", "x"));
+        verify(service).retrieveMoviesPage("abc", 2);
+    }
+
+    @Test
+    void getMoviesFieldsShouldRenderOnlySelectedFields() {
+        FieldSelection fields = FieldSelection.of(Movie.class, Set.of("title"));
+        when(service.retrieveAllMovies(fields)).thenReturn(List.of(new Movie("1", "Movie 1", null, null, null, null)));
+
+        List<Map<String, Object>> movies = controller.getMoviesFields(Set.of("title"));
+
+        assertEquals(List.of(Map.of("id", "1", "title", "Movie 1")), movies);
+    }
+
+    @Test
+    void getMovieFieldsShouldRenderOnlySelectedFields() {
+        FieldSelection fields = FieldSelection.of(Movie.class, Set.of("image"));
+        when(service.retrieveSingleMovie("1", fields)).thenReturn(new Movie("1", null, null, "1.png", null, null));
+
+        Map<String, Object> movie = controller.getMovieFields("1", Set.of("image"));
+
+        assertEquals(Map.of("id", "1", "image", "1.png"), movie);
+    }
+
     @Test
     void getMovieShouldReturnFirstMovie() {
         Movie movie = controller.getMovie("1");
@@ -101,18 +252,100 @@ public class MovieControllerTest {
         assertEquals("tag1", movie.getExtra());
     }
 
+    @Test
+    void postMoviesBulkShouldPassValidatedItemsToService() {
+        ObjectMapper mapper = new ObjectMapper();
+        List<JsonNode> body = List.of(
+                mapper.valueToTree(new Movie(null, "Movie 1", "first", "http://movies.info/1.png", "1.mp4", null)),
+                mapper.valueToTree(new Movie(null, "M", "short", "http://movies.info/2.png", "2.mp4", null))
+        );
+        when(service.createMovies(anyList())).thenReturn(BulkResult.of(List.of()));
+
+        controller.postMoviesBulk(body);
+
+        verify(service).createMovies(argThat(items ->
+                items.size() == 2 && items.get(0).isValid() && !items.get(1).isValid()
+        ));
+    }
+
+    @Test
+    void patchMoviesBulkShouldPassFilterAndPatchToService() {
+        controller.patchMoviesBulk(new BulkWriteRequest(null, Map.of("extra", "tag1"), Map.of("extra", "tag1,tag3")));
+
+        verify(service).patchMovies(
+                new BulkFilter(List.of(), Map.of("extra", "tag1")),
+                new MergePatch(Map.of("extra", "tag1,tag3"))
+        );
+    }
+
+    @Test
+    void patchMoviesBulkWithEmptyPatchShouldThrowInvalidPatchException() {
+        assertThrows(InvalidPatchException.class, () ->
+                controller.patchMoviesBulk(new BulkWriteRequest(List.of("1"), null, Map.of()))
+        );
+        verifyNoInteractions(service);
+    }
+
     @Test
     void putUpdateMovieShouldInvokeServiceMethod() {
-        controller.putMovie("1", new Movie());
+        controller.putMovie("1", new Movie(), null);
         verify(service).updateMovie("1", new Movie());
     }
 
+    @Test
+    void putUpdateMovieShouldUseIfMatchVersion() {
+        Movie input = new Movie();
+        controller.putMovie("1", input, "W/\"7\"");
+
+        verify(service).updateMovie("1", input);
+        assertEquals(7L, input.getVersion());
+    }
+
+    @Test
+    void putUpdateMovieWithOutdatedIfMatchShouldFailPrecondition() {
+        doThrow(new VersionConflictException("Movie", "1", 7L)).when(service).updateMovie(eq("1"), any(Movie.class));
+
+        assertThrows(PreconditionFailedException.class, () ->
+                controller.putMovie("1", new Movie(), "\"7\"")
+        );
+    }
+
+    @Test
+    void putUpdateMovieWithMalformedIfMatchShouldFailPrecondition() {
+        assertThrows(PreconditionFailedException.class, () ->
+                controller.putMovie("1", new Movie(), "\"abc\"")
+        );
+        verifyNoInteractions(service);
+    }
+
+    @Test
+    void patchMovieShouldInvokeServiceWithValidatedChanges() {
+        controller.patchMovie("1", Map.of("description", "patched"), "\"4\"");
+
+        verify(service).patchMovie("1", new MergePatch(Map.of("description", "patched")), 4L);
+    }
+
+    @Test
+    void patchMovieWithOutdatedIfMatchShouldFailPrecondition() {
+        doThrow(new VersionConflictException("Movie", "1", 4L)).when(service).patchMovie(eq("1"), any(MergePatch.class), eq(4L));
+
+        assertThrows(PreconditionFailedException.class, () ->
+                controller.patchMovie("1", Map.of("description", "patched"), "\"4\"")
+        );
+    }
+
     @Test
     void deleteMovieShouldInvokeServiceMethod() {
-        controller.deleteMovie("1");
+        controller.deleteMovie("1", null);
         verify(service).deleteMovie("1");
 
-        controller.deleteMovie("abc123");
+        controller.deleteMovie("abc123", "*");
         verify(service).deleteMovie("abc123");
     }
+
+    @Test
+    void deleteMovieWithIfMatchShouldPassExpectedVersion() {
+        controller.deleteMovie("1", "\"2\"");
+        verify(service).deleteMovie("1", 2L);
+    }
 }
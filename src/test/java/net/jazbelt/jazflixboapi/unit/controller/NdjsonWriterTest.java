@@ -0,0 +1,63 @@
+package net.jazbelt.jazflixboapi.unit.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jazbelt.jazflixboapi.controller.NdjsonWriter;
+import net.jazbelt.jazflixboapi.model.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NdjsonWriterTest {
+
+    private final NdjsonWriter writer = new NdjsonWriter(new ObjectMapper());
+
+    @Test
+    void writeShouldTerminateEachDocumentWithNewLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.write(Stream.of(new User("1", "jdoe@foo.bar", true), new User("2", "jack@foo.bar", false)), out);
+
+        assertEquals(
+                "{\"id\":\"1\",\"name\":\"jdoe@foo.bar\",\"enabled\":true}\n" +
+                "{\"id\":\"2\",\"name\":\"jack@foo.bar\",\"enabled\":false}\n",
+                out.toString()
+        );
+    }
+
+    @Test
+    void writeEmptyStreamShouldWriteNothing() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.write(Stream.empty(), out);
+
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void writeShouldCloseSourceStream() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean(false);
+
+        writer.write(Stream.of(new User()).onClose(() -> closed.set(true)), new ByteArrayOutputStream());
+
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void bodyShouldNotOpenStreamUntilWritten() throws IOException {
+        AtomicBoolean opened = new AtomicBoolean(false);
+
+        var body = writer.body(() -> {
+            opened.set(true);
+            return Stream.of(new User());
+        });
+
+        assertFalse(opened.get());
+        body.writeTo(new ByteArrayOutputStream());
+        assertTrue(opened.get());
+    }
+}
@@ -0,0 +1,169 @@
+package net.jazbelt.jazflixboapi.unit.controller;
+
+import com.aayushatharva.brotli4j.decoder.Decoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jazbelt.jazflixboapi.VirtualThreads;
+import net.jazbelt.jazflixboapi.controller.PrecompressedListInterceptor;
+import net.jazbelt.jazflixboapi.controller.PrecompressedListInterceptor.Encoding;
+import net.jazbelt.jazflixboapi.domain.CollectionVersions;
+import net.jazbelt.jazflixboapi.model.entity.Section;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrecompressedListInterceptorTest {
+
+    ObjectMapper mapper;
+
+    CollectionVersions versions;
+
+    AtomicInteger loads;
+
+    List<Section> sections;
+
+    PrecompressedListInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        mapper = new ObjectMapper();
+        versions = new CollectionVersions();
+        loads = new AtomicInteger();
+        sections = List.of(
+                new Section("1", "mdi-home", "Home", "/home", 1, 1L),
+                new Section("2", "mdi-movie", "Movies", "/movies", 2, 1L)
+        );
+        interceptor = new PrecompressedListInterceptor(versions, CollectionVersions.SECTIONS, () -> {
+            loads.incrementAndGet();
+            return sections;
+        }, mapper.writer());
+    }
+
+    private MockHttpServletResponse get(String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/section");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, null));
+        return response;
+    }
+
+    @Test
+    void gzipShouldBeServedCompressed() throws Exception {
+        MockHttpServletResponse response = get("gzip, deflate");
+
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertEquals("application/json", response.getContentType());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertArrayEquals(mapper.writeValueAsBytes(sections), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void brotliShouldBeServedCompressed() throws Exception {
+        MockHttpServletResponse response = get("gzip, deflate, br");
+
+        assertEquals("br", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(mapper.writeValueAsBytes(sections), Decoder.decompress(response.getContentAsByteArray()).getDecompressedData());
+    }
+
+    @Test
+    void identityShouldBeServedWithoutEncoding() throws Exception {
+        MockHttpServletResponse response = get(null);
+
+        assertNull(response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(mapper.writeValueAsBytes(sections), response.getContentAsByteArray());
+        assertEquals(response.getContentAsByteArray().length, response.getContentLength());
+    }
+
+    @Test
+    void listShouldOnlyBeRenderedAgainAfterWrite() throws Exception {
+        get("gzip");
+        get("br");
+        get(null);
+        assertEquals(1, loads.get());
+
+        versions.increment(CollectionVersions.SECTIONS);
+        get("gzip");
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void concurrentRenderShouldNotPinVirtualThreadCarrier() throws Exception {
+        interceptor = new PrecompressedListInterceptor(versions, CollectionVersions.SECTIONS, () -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return sections;
+        }, mapper.writer());
+
+        assertTrue(VirtualThreads.pinnedWhile(20, () -> {
+            versions.increment(CollectionVersions.SECTIONS);
+            try {
+                get("gzip");
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).isEmpty());
+    }
+
+    @Test
+    void headShouldSendHeadersOnly() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/section");
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, null));
+        assertEquals("gzip", response.getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void queryStringShouldProceedToHandler() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/section");
+        request.setQueryString("limit=10");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, null));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeader(HttpHeaders.VARY));
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void ndjsonShouldProceedToHandler() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/section");
+        request.addHeader(HttpHeaders.ACCEPT, "application/x-ndjson");
+
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void nonGetRequestShouldProceedToHandler() throws Exception {
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("POST", "/section"), new MockHttpServletResponse(), null));
+    }
+
+    @Test
+    void negotiateShouldFollowQualityValues() {
+        assertEquals(Encoding.IDENTITY, PrecompressedListInterceptor.negotiate(null));
+        assertEquals(Encoding.IDENTITY, PrecompressedListInterceptor.negotiate("deflate"));
+        assertEquals(Encoding.GZIP, PrecompressedListInterceptor.negotiate("gzip"));
+        assertEquals(Encoding.BR, PrecompressedListInterceptor.negotiate("gzip, br"));
+        assertEquals(Encoding.GZIP, PrecompressedListInterceptor.negotiate("br;q=0.5, gzip;q=0.8"));
+        assertEquals(Encoding.GZIP, PrecompressedListInterceptor.negotiate("br;q=0, *"));
+        assertEquals(Encoding.BR, PrecompressedListInterceptor.negotiate("*"));
+        assertEquals(Encoding.IDENTITY, PrecompressedListInterceptor.negotiate("gzip;q=0"));
+    }
+}
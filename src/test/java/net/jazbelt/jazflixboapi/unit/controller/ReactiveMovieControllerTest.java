@@ -0,0 +1,80 @@
+package net.jazbelt.jazflixboapi.unit.controller;
+
+import net.jazbelt.jazflixboapi.controller.ReactiveMovieController;
+import net.jazbelt.jazflixboapi.domain.IReactiveMovieService;
+import net.jazbelt.jazflixboapi.error.PreconditionFailedException;
+import net.jazbelt.jazflixboapi.error.VersionConflictException;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveMovieControllerTest {
+
+    ReactiveMovieController controller;
+
+    @Mock
+    IReactiveMovieService service;
+
+    Movie movie;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ReactiveMovieController(service);
+        movie = new Movie("1", "Movie 1", "First movie", "http://movies.info/1.png", "movie1.mp4", null, 4L, null, null);
+    }
+
+    @Test
+    void getMovieShouldSendVersionAsEtag() {
+        when(service.retrieveSingleMovie("1")).thenReturn(Mono.just(movie));
+
+        StepVerifier.create(controller.getMovie("1"))
+                .assertNext(response -> {
+                    assertEquals("\"4\"", response.getHeaders().getETag());
+                    assertSame(movie, response.getBody());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void putMovieWithIfMatchShouldExpectThatVersion() {
+        when(service.updateMovie("1", movie)).thenReturn(Mono.empty());
+
+        StepVerifier.create(controller.putMovie("1", movie, "\"2\"")).verifyComplete();
+
+        assertEquals(2L, movie.getVersion());
+    }
+
+    @Test
+    void putMovieWithOutdatedIfMatchShouldFailWithPreconditionFailed() {
+        when(service.updateMovie("1", movie)).thenReturn(Mono.error(new VersionConflictException("Movie", "1", 2L)));
+
+        StepVerifier.create(controller.putMovie("1", movie, "\"2\""))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+    }
+
+    @Test
+    void putMovieWithoutIfMatchShouldReportConflict() {
+        when(service.updateMovie("1", movie)).thenReturn(Mono.error(new VersionConflictException("Movie", "1", 4L)));
+
+        StepVerifier.create(controller.putMovie("1", movie, null))
+                .expectError(VersionConflictException.class)
+                .verify();
+    }
+
+    @Test
+    void deleteMovieShouldPassIfMatchVersion() {
+        when(service.deleteMovie("1", 4L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(controller.deleteMovie("1", "W/\"4\"")).verifyComplete();
+    }
+}
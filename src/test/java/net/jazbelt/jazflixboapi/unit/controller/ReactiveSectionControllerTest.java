@@ -0,0 +1,73 @@
+package net.jazbelt.jazflixboapi.unit.controller;
+
+import net.jazbelt.jazflixboapi.controller.ReactiveSectionController;
+import net.jazbelt.jazflixboapi.domain.IReactiveSectionService;
+import net.jazbelt.jazflixboapi.error.PreconditionFailedException;
+import net.jazbelt.jazflixboapi.error.VersionConflictException;
+import net.jazbelt.jazflixboapi.model.entity.Section;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveSectionControllerTest {
+
+    ReactiveSectionController controller;
+
+    @Mock
+    IReactiveSectionService service;
+
+    Section section;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ReactiveSectionController(service);
+        section = new Section("1", "icon-home", "Home", "/", 1, 4L);
+    }
+
+    @Test
+    void getSectionShouldSendVersionAsEtag() {
+        when(service.retrieveSection("1")).thenReturn(Mono.just(section));
+
+        StepVerifier.create(controller.getSection("1"))
+                .assertNext(response -> {
+                    assertEquals("\"4\"", response.getHeaders().getETag());
+                    assertSame(section, response.getBody());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void putSectionWithIfMatchShouldExpectThatVersion() {
+        when(service.updateSection("1", section)).thenReturn(Mono.empty());
+
+        StepVerifier.create(controller.putUpdateSection("1", section, "\"2\"")).verifyComplete();
+
+        assertEquals(2L, section.getVersion());
+    }
+
+    @Test
+    void putSectionWithOutdatedIfMatchShouldFailWithPreconditionFailed() {
+        when(service.updateSection("1", section)).thenReturn(Mono.error(new VersionConflictException("Section", "1", 2L)));
+
+        StepVerifier.create(controller.putUpdateSection("1", section, "\"2\""))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+    }
+
+    @Test
+    void deleteSectionWithOutdatedIfMatchShouldFailWithPreconditionFailed() {
+        when(service.deleteSection("1", 3L)).thenReturn(Mono.error(new VersionConflictException("Section", "1", 3L)));
+
+        StepVerifier.create(controller.deleteSection("1", "\"3\""))
+                .expectError(PreconditionFailedException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,73 @@
+package net.jazbelt.jazflixboapi.unit.controller;
+
+import net.jazbelt.jazflixboapi.controller.ReactiveUserController;
+import net.jazbelt.jazflixboapi.domain.IReactiveUserService;
+import net.jazbelt.jazflixboapi.error.UserNotFoundException;
+import net.jazbelt.jazflixboapi.error.VersionConflictException;
+import net.jazbelt.jazflixboapi.model.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveUserControllerTest {
+
+    ReactiveUserController controller;
+
+    @Mock
+    IReactiveUserService service;
+
+    User user;
+
+    @BeforeEach
+    void setUp() {
+        controller = new ReactiveUserController(service);
+        user = new User("abc123", "jdoe@foo.bar", true, 4L);
+    }
+
+    @Test
+    void getUserShouldSendVersionAsEtag() {
+        when(service.retrieveUserDetails("abc123")).thenReturn(Mono.just(user));
+
+        StepVerifier.create(controller.getUser("abc123"))
+                .assertNext(response -> {
+                    assertEquals("\"4\"", response.getHeaders().getETag());
+                    assertSame(user, response.getBody());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getMissingUserShouldFailWithNotFound() {
+        when(service.retrieveUserDetails("x")).thenReturn(Mono.error(new UserNotFoundException("x")));
+
+        StepVerifier.create(controller.getUser("x"))
+                .expectError(UserNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void putUserWithoutIfMatchShouldKeepBodyVersionAndReportConflict() {
+        when(service.updateUser("abc123", user)).thenReturn(Mono.error(new VersionConflictException("User", "abc123", 4L)));
+
+        StepVerifier.create(controller.putUpdateUser("abc123", user, null))
+                .expectError(VersionConflictException.class)
+                .verify();
+
+        assertEquals(4L, user.getVersion());
+    }
+
+    @Test
+    void deleteUserWithoutIfMatchShouldNotExpectVersion() {
+        when(service.deleteUser("abc123", null)).thenReturn(Mono.empty());
+
+        StepVerifier.create(controller.deleteUser("abc123", null)).verifyComplete();
+    }
+}
@@ -1,7 +1,15 @@
 package net.jazbelt.jazflixboapi.unit.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import net.jazbelt.jazflixboapi.BulkProperties;
+import net.jazbelt.jazflixboapi.controller.BulkReader;
+import net.jazbelt.jazflixboapi.controller.MergePatchReader;
+import net.jazbelt.jazflixboapi.controller.NdjsonWriter;
 import net.jazbelt.jazflixboapi.controller.SectionController;
 import net.jazbelt.jazflixboapi.domain.SectionService;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
 import net.jazbelt.jazflixboapi.model.entity.Section;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,7 +33,10 @@ public class SectionControllerTest {
 
     @BeforeEach
     void setUp() {
-        controller = new SectionController(service);
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        MergePatchReader patchReader = new MergePatchReader(new ObjectMapper(), validator);
+        BulkReader bulkReader = new BulkReader(new ObjectMapper(), validator, new BulkProperties());
+        controller = new SectionController(service, new NdjsonWriter(new ObjectMapper()), patchReader, bulkReader);
 
         Section home = new Section("1", "icon-home", "Home", "/", 1);
         Section movies = new Section("2", "icon-movies", "Movies", "/movies", 2);
@@ -34,6 +45,7 @@ public class SectionControllerTest {
         lenient().when(service.createSection(any(Section.class))).thenReturn(home);
         lenient().when(service.retrieveAllSections()).thenReturn(Arrays.asList(home, movies, series));
         lenient().when(service.retrieveSection(anyString())).thenReturn(home);
+        lenient().when(service.retrieveSectionsPage(null, 1)).thenReturn(new CursorPage<>(List.of(home), "next"));
     }
 
     @Test
@@ -67,6 +79,16 @@ public class SectionControllerTest {
         assertEquals(3, series.getOrder());
     }
 
+    @Test
+    void getSectionsPageShouldReturnServicePage() {
+        CursorPage<Section> page = controller.getSectionsPage(1, null);
+
+        verify(service).retrieveSectionsPage(null, 1);
+        assertEquals(1, page.getItems().size());
+        assertEquals("1", page.getItems().get(0).getId());
+        assertEquals("next", page.getNext());
+    }
+
     @Test
     public void getSingleSectionShouldReturnHomeSection() {
         Section section = controller.getSection("1");
@@ -101,14 +123,14 @@ public class SectionControllerTest {
     public void putUpdateSectionShouldInvokeServiceMethod() {
         Section input = new Section("1", "icon-home", "Home", "/", 1);
 
-        controller.putUpdateSection("1", input);
+        controller.putUpdateSection("1", input, null);
 
         verify(service).updateSection("1", input);
     }
 
     @Test
     public void deleteSectionShouldInvokeServiceDeleteMethod() {
-        controller.deleteSection("123");
+        controller.deleteSection("123", null);
         verify(service).deleteSection("123");
     }
 }
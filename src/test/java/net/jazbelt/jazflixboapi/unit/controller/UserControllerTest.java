@@ -1,19 +1,34 @@
 package net.jazbelt.jazflixboapi.unit.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import net.jazbelt.jazflixboapi.BulkProperties;
+import net.jazbelt.jazflixboapi.controller.BulkReader;
+import net.jazbelt.jazflixboapi.controller.MergePatchReader;
+import net.jazbelt.jazflixboapi.controller.NdjsonWriter;
 import net.jazbelt.jazflixboapi.controller.UserController;
 import net.jazbelt.jazflixboapi.domain.UserService;
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteRequest;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
 import net.jazbelt.jazflixboapi.model.entity.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
 class UserControllerTest {
@@ -25,7 +40,10 @@ class UserControllerTest {
 
     @BeforeEach
     void setUp() {
-        controller = new UserController(userService);
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        MergePatchReader patchReader = new MergePatchReader(new ObjectMapper(), validator);
+        BulkReader bulkReader = new BulkReader(new ObjectMapper(), validator, new BulkProperties());
+        controller = new UserController(userService, new NdjsonWriter(new ObjectMapper()), patchReader, bulkReader);
 
         User john = new User("abc123", "jdoe@foo.bar", true);
         User jack = new User("xyz456", "jack@foo.bar", false);
@@ -35,6 +53,7 @@ class UserControllerTest {
         lenient().when(userService.retrieveUserDetails("abc123")).thenReturn(john);
         lenient().when(userService.retrieveUserDetails("xyz456")).thenReturn(jack);
         lenient().when(userService.createUser(any(User.class))).thenReturn(foo);
+        lenient().when(userService.retrieveUsersPage("abc", 5)).thenReturn(new CursorPage<>(List.of(jack), null));
     }
 
     @Test
@@ -56,6 +75,16 @@ class UserControllerTest {
         assertFalse(jack.getEnabled());
     }
 
+    @Test
+    void getUsersPage() {
+        CursorPage<User> page = controller.getUsersPage(5, "abc");
+
+        verify(userService).retrieveUsersPage("abc", 5);
+        assertEquals(1, page.getItems().size());
+        assertEquals("xyz456", page.getItems().get(0).getId());
+        assertNull(page.getNext());
+    }
+
     @Test
     void getUser() {
         User user = controller.getUser("abc123");
@@ -67,6 +96,16 @@ class UserControllerTest {
         assertTrue(user.getEnabled());
     }
 
+    @Test
+    void getUserByName() {
+        when(userService.retrieveUserByName("jdoe@foo.bar")).thenReturn(new User("abc123", "jdoe@foo.bar", true));
+
+        User user = controller.getUserByName("jdoe@foo.bar");
+
+        verify(userService).retrieveUserByName("jdoe@foo.bar");
+        assertEquals("abc123", user.getId());
+    }
+
     @Test
     void postCreateUser() {
         User input = new User(null, "foo@bar", true);
@@ -82,14 +121,43 @@ class UserControllerTest {
     @Test
     void putUpdateUser() {
         User input = new User("aabbcc", "foo@bar", true);
-        controller.putUpdateUser("aabbcc", input);
+        controller.putUpdateUser("aabbcc", input, null);
 
         verify(userService).updateUser("aabbcc", input);
     }
 
+    @Test
+    void putUserByName() {
+        User input = new User(null, "foo@bar", false);
+        when(userService.upsertUserByName("foo@bar", input)).thenReturn(new User("aabbcc", "foo@bar", false, 2L));
+
+        User user = controller.putUserByName("foo@bar", input);
+
+        assertEquals("aabbcc", user.getId());
+        assertFalse(user.getEnabled());
+    }
+
+    @Test
+    void deleteUsersBulkShouldSelectRequestedIds() {
+        controller.deleteUsersBulk(new BulkWriteRequest(List.of("abc123", "xyz456"), null, null));
+
+        verify(userService).deleteUsers(new BulkFilter(List.of("abc123", "xyz456"), Map.of()));
+    }
+
     @Test
     void deleteUser() {
-        controller.deleteUser("abc123");
+        controller.deleteUser("abc123", null);
         verify(userService).deleteUser("abc123");
     }
-}
\ No newline at end of file
+
+    @Test
+    void idsCombinedWithLimitShouldBeRejected() throws Exception {
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        mvc.perform(get("/user").param("ids", "abc123").param("limit", "2")).andExpect(status().isBadRequest());
+        verifyNoInteractions(userService);
+
+        mvc.perform(get("/user").param("ids", "abc123")).andExpect(status().isOk());
+        verify(userService).retrieveUsers(List.of("abc123"));
+    }
+}
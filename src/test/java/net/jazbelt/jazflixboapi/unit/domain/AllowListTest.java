@@ -0,0 +1,122 @@
+package net.jazbelt.jazflixboapi.unit.domain;
+
+import net.jazbelt.jazflixboapi.domain.AllowList;
+import net.jazbelt.jazflixboapi.model.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AllowListTest {
+
+    AllowList allowList;
+
+    AtomicInteger loads;
+
+    Function<String, Optional<User>> nobody;
+
+    @BeforeEach
+    void setUp() {
+        allowList = new AllowList(100, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+        nobody = name -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        };
+
+        allowList.replaceAll(() -> Stream.of(
+                new User("1", "jdoe@foo.bar", true),
+                new User("2", "Jane@Foo.bar", true),
+                new User("3", "jack@foo.bar", false)
+        ));
+    }
+
+    @Test
+    void replaceAllShouldOnlyKeepEnabledUsers() {
+        assertEquals(2, allowList.size());
+        assertTrue(allowList.allowed("jdoe@foo.bar", nobody));
+        assertTrue(allowList.allowed("Jane@Foo.bar", nobody));
+        assertFalse(allowList.allowed("jack@foo.bar", nobody));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void namesShouldMatchExactlyLikeUniqueIndex() {
+        assertFalse(allowList.allowed("jane@foo.bar", nobody));
+        assertFalse(allowList.allowed(" Jane@Foo.bar", nobody));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void deniedNamesShouldBeLoadedOnce() {
+        assertFalse(allowList.allowed("nobody@foo.bar", nobody));
+        assertFalse(allowList.allowed("nobody@foo.bar", nobody));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void loadedEnabledUserShouldBeAdded() {
+        assertTrue(allowList.allowed("new@foo.bar", name -> Optional.of(new User("4", name, true))));
+        assertTrue(allowList.allowed("new@foo.bar", nobody));
+
+        assertEquals(3, allowList.size());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void putShouldClearDeniedName() {
+        allowList.allowed("new@foo.bar", nobody);
+
+        allowList.put(new User("4", "new@foo.bar", true));
+
+        assertTrue(allowList.allowed("new@foo.bar", nobody));
+    }
+
+    @Test
+    void putRenamedOrDisabledUserShouldRemovePreviousName() {
+        allowList.put(new User("1", "john@foo.bar", true));
+
+        assertTrue(allowList.allowed("john@foo.bar", nobody));
+        assertFalse(allowList.allowed("jdoe@foo.bar", nobody));
+
+        allowList.put(new User("1", "john@foo.bar", false));
+
+        assertEquals(1, allowList.size());
+    }
+
+    @Test
+    void removeShouldForgetUser() {
+        allowList.remove("2");
+        allowList.remove("unknown");
+
+        assertEquals(1, allowList.size());
+        assertFalse(allowList.allowed("Jane@Foo.bar", nobody));
+    }
+
+    @Test
+    void writeDuringReplaceAllShouldApplyToRebuiltSet() throws Exception {
+        Thread disable = new Thread(() -> allowList.put(new User("1", "jdoe@foo.bar", false)));
+
+        allowList.replaceAll(() -> {
+            disable.start();
+            try {
+                disable.join(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Stream.of(new User("1", "jdoe@foo.bar", true));
+        });
+        disable.join();
+
+        assertEquals(0, allowList.size());
+        assertFalse(allowList.allowed("jdoe@foo.bar", nobody));
+    }
+}
@@ -0,0 +1,42 @@
+package net.jazbelt.jazflixboapi.unit.domain;
+
+import net.jazbelt.jazflixboapi.domain.BatchGet;
+import net.jazbelt.jazflixboapi.error.BulkTooLargeException;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetResult;
+import net.jazbelt.jazflixboapi.model.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchGetTest {
+
+    @Test
+    void idsShouldDropBlanksAndDuplicatesKeepingOrder() {
+        assertEquals(List.of("c", "a", "b"), BatchGet.ids(Arrays.asList("c", " a", "", null, "c", "b", "a")));
+        assertEquals(List.of(), BatchGet.ids(null));
+    }
+
+    @Test
+    void tooManyIdsShouldThrowException() {
+        List<String> ids = IntStream.rangeClosed(0, BatchGet.MAX_IDS).mapToObj(String::valueOf).toList();
+
+        assertThrows(BulkTooLargeException.class, () -> BatchGet.ids(ids));
+    }
+
+    @Test
+    void resultShouldFollowRequestedOrderAndListMissingIds() {
+        User john = new User("1", "jdoe@foo.bar", true);
+        User jack = new User("2", "jack@foo.bar", false);
+        Map<String, User> found = BatchGet.byId(List.of(john, jack), User::getId);
+
+        BatchGetResult<User> result = BatchGet.result(List.of("2", "x", "1"), found);
+
+        assertEquals(List.of(jack, john), result.getItems());
+        assertEquals(List.of("x"), result.getMissing());
+    }
+}
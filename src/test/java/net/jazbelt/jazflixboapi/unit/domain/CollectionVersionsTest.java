@@ -0,0 +1,38 @@
+package net.jazbelt.jazflixboapi.unit.domain;
+
+import net.jazbelt.jazflixboapi.domain.CollectionVersions;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CollectionVersionsTest {
+
+    @Test
+    void incrementShouldOnlyAffectGivenCollection() {
+        CollectionVersions versions = new CollectionVersions();
+
+        versions.increment(CollectionVersions.MOVIES);
+        versions.increment(CollectionVersions.MOVIES);
+
+        assertEquals(2, versions.current(CollectionVersions.MOVIES));
+        assertEquals(0, versions.current(CollectionVersions.USERS));
+    }
+
+    @Test
+    void tagShouldChangeAfterIncrement() {
+        CollectionVersions versions = new CollectionVersions();
+        String before = versions.tag(CollectionVersions.SECTIONS);
+
+        versions.increment(CollectionVersions.SECTIONS);
+
+        assertNotEquals(before, versions.tag(CollectionVersions.SECTIONS));
+    }
+
+    @Test
+    void tagsShouldDifferBetweenInstances() {
+        assertNotEquals(
+                new CollectionVersions().tag(CollectionVersions.MOVIES),
+                new CollectionVersions().tag(CollectionVersions.MOVIES)
+        );
+    }
+}
@@ -0,0 +1,142 @@
+package net.jazbelt.jazflixboapi.unit.domain;
+
+import net.jazbelt.jazflixboapi.VirtualThreads;
+import net.jazbelt.jazflixboapi.domain.EntityCache;
+import net.jazbelt.jazflixboapi.model.dto.CacheStatistics;
+import net.jazbelt.jazflixboapi.model.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EntityCacheTest {
+
+    private EntityCache<User> cache;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new EntityCache<>("users", 10, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+    }
+
+    private Optional<User> load(String id) {
+        loads.incrementAndGet();
+        return id.equals("x") ? Optional.empty() : Optional.of(new User(id, "jdoe@foo.bar", true));
+    }
+
+    @Test
+    void secondLookupShouldBeServedFromCache() {
+        Optional<User> first = cache.get("1", this::load);
+        Optional<User> second = cache.get("1", this::load);
+
+        assertTrue(first.isPresent());
+        assertSame(first.get(), second.get());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void missingEntityShouldNotBeCached() {
+        assertTrue(cache.get("x", this::load).isEmpty());
+        assertTrue(cache.get("x", this::load).isEmpty());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateShouldForceReload() {
+        cache.get("1", this::load);
+        cache.invalidate("1");
+        cache.get("1", this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidateNullIdShouldBeIgnored() {
+        assertDoesNotThrow(() -> cache.invalidate(null));
+    }
+
+    @Test
+    void statisticsShouldCountHitsAndMisses() {
+        cache.get("1", this::load);
+        cache.get("1", this::load);
+        cache.get("1", this::load);
+
+        CacheStatistics stats = cache.statistics();
+
+        assertEquals("users", stats.getName());
+        assertEquals(1, stats.getSize());
+        assertEquals(2, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0, stats.getEvictions());
+    }
+
+    @Test
+    void concurrentLookupsShouldShareOneLoad() throws Exception {
+        VirtualThreads.pinnedWhile(20, () -> cache.get("1", this::slowLoad));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void loadShouldNotPinVirtualThreadCarrier() throws Exception {
+        assertTrue(VirtualThreads.pinnedWhile(20, () -> cache.get("1", this::slowLoad)).isEmpty());
+    }
+
+    @Test
+    void failedLoadShouldPropagateAndNotBeCached() {
+        assertThrows(IllegalStateException.class, () -> cache.get("1", id -> {
+            throw new IllegalStateException("down");
+        }));
+
+        assertTrue(cache.get("1", this::load).isPresent());
+    }
+
+    private Optional<User> slowLoad(String id) {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return load(id);
+    }
+
+    @Test
+    void getAllShouldOnlyLoadMissedIdsAtOnce() {
+        cache.get("1", this::load);
+        loads.set(0);
+        List<Set<String>> batches = new ArrayList<>();
+
+        Map<String, User> found = cache.getAll(List.of("1", "2", "x"), ids -> {
+            batches.add(ids);
+            Map<String, User> result = new HashMap<>();
+            ids.forEach(id -> load(id).ifPresent(user -> result.put(id, user)));
+            return result;
+        });
+
+        assertEquals(Set.of("1", "2"), found.keySet());
+        assertEquals(List.of(Set.of("2", "x")), batches);
+        assertTrue(cache.get("2", this::load).isPresent());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getAllShouldNotCacheMissingIds() {
+        cache.getAll(List.of("x"), ids -> Map.of());
+        cache.getAll(List.of("x"), ids -> Map.of());
+
+        assertTrue(cache.get("x", this::load).isEmpty());
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,128 @@
+package net.jazbelt.jazflixboapi.unit.domain;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jazbelt.jazflixboapi.controller.JsonFragmentModule;
+import net.jazbelt.jazflixboapi.domain.JsonFragmentCache;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonFragmentCacheTest {
+
+    private ObjectMapper mapper;
+
+    private JsonFragmentCache<Movie> cache;
+
+    private List<Movie> movies;
+
+    @BeforeEach
+    void setUp() {
+        mapper = new ObjectMapper().registerModule(new JsonFragmentModule());
+        cache = new JsonFragmentCache<>("movie-json", 10, Duration.ofMinutes(1),
+                mapper.writerFor(Movie.class), Movie::getId, movie -> movie.getScore() == null);
+
+        movies = new ArrayList<>();
+        movies.add(new Movie("1", "Movie 1", "First movie", "http://movies.info/1.png", "movie1.mp4", "tag1,tag2"));
+        movies.add(new Movie("2", "Movie 2", null, "http://movies.info/2.png", "movie2.mp4", null));
+        movies.get(1).setVersion(3L);
+    }
+
+    private String listJson(List<Movie> list) throws Exception {
+        return mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Movie.class))
+                .writeValueAsString(list);
+    }
+
+    @Test
+    void listShouldBeWrittenAsTheEntitiesWould() throws Exception {
+        String expected = listJson(movies);
+
+        assertEquals(expected, listJson(cache.list(movies)));
+        assertEquals(expected, listJson(cache.list(movies)));
+        assertEquals(2, cache.statistics().getHits());
+        assertEquals(2, cache.statistics().getMisses());
+    }
+
+    @Test
+    void listInsideResponseObjectShouldBeWrittenAsTheEntitiesWould() throws Exception {
+        String expected = mapper.writeValueAsString(new CursorPage<>(movies, "abc"));
+
+        assertEquals(expected, mapper.writeValueAsString(new CursorPage<>(cache.list(movies), "abc")));
+    }
+
+    @Test
+    void newVersionShouldBeWrittenAgain() throws Exception {
+        listJson(cache.list(movies));
+        movies.get(1).setTitle("Movie 2 renamed");
+        movies.get(1).setVersion(4L);
+
+        assertTrue(listJson(cache.list(movies)).contains("Movie 2 renamed"));
+    }
+
+    @Test
+    void invalidatedFragmentShouldBeWrittenAgain() throws Exception {
+        listJson(cache.list(movies));
+        movies.get(0).setTitle("Movie 1 renamed");
+        cache.invalidate("1");
+
+        assertTrue(listJson(cache.list(movies)).contains("Movie 1 renamed"));
+    }
+
+    @Test
+    void searchResultShouldNotBeCached() throws Exception {
+        ReflectionTestUtils.setField(movies.get(0), "score", 1.5f);
+
+        assertTrue(listJson(cache.list(movies)).contains("\"score\":1.5"));
+        assertEquals(1, cache.statistics().getSize());
+    }
+
+    @Test
+    void fragmentShouldBehaveAsSerializedJsonText() throws Exception {
+        movies.get(0).setTitle("Amélie — \"quoted\"");
+        SerializableString fragment = cache.fragment(movies.get(0));
+        SerializedString expected = new SerializedString(mapper.writerFor(Movie.class).writeValueAsString(movies.get(0)));
+
+        assertEquals(expected.getValue(), fragment.getValue());
+        assertEquals(expected.charLength(), fragment.charLength());
+        assertArrayEquals(expected.asUnquotedUTF8(), fragment.asUnquotedUTF8());
+        assertSame(fragment.asUnquotedUTF8(), fragment.asUnquotedUTF8());
+        assertArrayEquals(expected.asQuotedUTF8(), fragment.asQuotedUTF8());
+        assertArrayEquals(expected.asQuotedChars(), fragment.asQuotedChars());
+
+        char[] chars = new char[expected.asQuotedChars().length];
+        assertEquals(chars.length, fragment.appendQuoted(chars, 0));
+        assertArrayEquals(expected.asQuotedChars(), chars);
+        assertEquals(-1, fragment.appendQuoted(chars, 1));
+
+        ByteBuffer buffer = ByteBuffer.allocate(expected.asQuotedUTF8().length);
+        assertEquals(buffer.capacity(), fragment.putQuotedUTF8(buffer));
+        assertArrayEquals(expected.asQuotedUTF8(), buffer.array());
+        assertEquals(-1, fragment.appendUnquotedUTF8(new byte[1], 0));
+    }
+
+    @Test
+    void listShouldBeWrittenAsUtf8AsTheEntitiesWould() throws Exception {
+        movies.get(0).setTitle("Amélie — ☕");
+
+        assertEquals(listJson(movies), new String(mapper.writeValueAsBytes(cache.list(movies)), "UTF-8"));
+    }
+
+    @Test
+    void listShouldBehaveAsTheWrappedList() {
+        List<Movie> list = cache.list(movies);
+
+        assertEquals(movies, list);
+        assertEquals(2, list.size());
+        assertSame(movies.get(0), list.get(0));
+    }
+}
@@ -1,8 +1,26 @@
 package net.jazbelt.jazflixboapi.unit.domain;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jazbelt.jazflixboapi.BulkProperties;
+import net.jazbelt.jazflixboapi.domain.CollectionVersions;
+import net.jazbelt.jazflixboapi.domain.EntityCache;
 import net.jazbelt.jazflixboapi.domain.IMovieService;
+import net.jazbelt.jazflixboapi.domain.JsonFragmentCache;
 import net.jazbelt.jazflixboapi.domain.MovieService;
+import net.jazbelt.jazflixboapi.domain.PageCursor;
+import net.jazbelt.jazflixboapi.domain.TitleIndex;
 import net.jazbelt.jazflixboapi.error.MovieNotFoundException;
+import net.jazbelt.jazflixboapi.error.VersionConflictException;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkItem;
+import net.jazbelt.jazflixboapi.model.dto.BulkItemResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteSummary;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.dto.FieldSelection;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
+import net.jazbelt.jazflixboapi.model.dto.TagMatch;
 import net.jazbelt.jazflixboapi.model.entity.Movie;
 import net.jazbelt.jazflixboapi.model.repository.MovieRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,10 +28,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,9 +49,21 @@ public class MovieServiceTest {
     @Mock
     MovieRepository repository;
 
+    CollectionVersions versions;
+
+    TitleIndex titles;
+
+    JsonFragmentCache<Movie> json;
+
     @BeforeEach
     void setUp() {
-        service = new MovieService(repository);
+        versions = new CollectionVersions();
+        BulkProperties bulk = new BulkProperties();
+        bulk.setBatchSize(2);
+        titles = new TitleIndex();
+        json = new JsonFragmentCache<>("movie-json", 100, Duration.ofMinutes(1),
+                new ObjectMapper().writerFor(Movie.class), Movie::getId, movie -> movie.getScore() == null);
+        service = new MovieService(repository, new EntityCache<>("movies", 100, Duration.ofMinutes(1)), versions, bulk, titles, json);
 
         Movie movie1 = new Movie(
                 "1",
@@ -61,6 +96,12 @@ public class MovieServiceTest {
         lenient().when(repository.findById("1")).thenReturn(Optional.of(movie1));
         lenient().when(repository.findById("x")).thenReturn(Optional.empty());
         lenient().when(repository.save(any(Movie.class))).thenReturn(movie1);
+        lenient().when(repository.replaceVersioned(eq("1"), any(), any(Movie.class))).thenReturn(true);
+        lenient().when(repository.deleteVersioned(eq("1"), any())).thenReturn(true);
+        lenient().when(repository.existsById("1")).thenReturn(true);
+        lenient().when(repository.streamAllBy()).thenReturn(Stream.of(movie1, movie2, movie3));
+        lenient().when(repository.findAllByOrderByIdAsc(Limit.of(3))).thenReturn(Arrays.asList(movie1, movie2, movie3));
+        lenient().when(repository.findByIdGreaterThanOrderByIdAsc("2", Limit.of(3))).thenReturn(List.of(movie3));
     }
 
     @Test
@@ -97,6 +138,79 @@ public class MovieServiceTest {
         assertEquals("tag1", movie3.getExtra());
     }
 
+    @Test
+    void streamAllMoviesShouldReturnRepositoryCursor() {
+        try (Stream<Movie> movies = service.streamAllMovies()) {
+            assertEquals(List.of("1", "2", "3"), movies.map(Movie::getId).toList());
+        }
+
+        verify(repository).streamAllBy();
+    }
+
+    @Test
+    void retrieveFirstMoviesPageShouldReturnNextCursor() {
+        CursorPage<Movie> page = service.retrieveMoviesPage(null, 2);
+
+        verify(repository).findAllByOrderByIdAsc(Limit.of(3));
+
+        assertEquals(2, page.getItems().size());
+        assertEquals("1", page.getItems().get(0).getId());
+        assertEquals("2", page.getItems().get(1).getId());
+        assertEquals("2", PageCursor.decode(page.getNext()));
+    }
+
+    @Test
+    void retrieveLastMoviesPageShouldNotReturnNextCursor() {
+        CursorPage<Movie> page = service.retrieveMoviesPage(PageCursor.encode("2"), 2);
+
+        verify(repository).findByIdGreaterThanOrderByIdAsc("2", Limit.of(3));
+
+        assertEquals(1, page.getItems().size());
+        assertEquals("3", page.getItems().get(0).getId());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void retrieveAllMoviesWithFieldsShouldUseProjection() {
+        FieldSelection fields = FieldSelection.of(Movie.class, List.of("title"));
+        when(repository.findAllProjected(fields, null, Limit.unlimited()))
+                .thenReturn(List.of(new Movie("1", "Movie 1", null, null, null, null)));
+
+        List<Movie> movies = service.retrieveAllMovies(fields);
+
+        verify(repository, never()).findAll();
+        assertEquals(1, movies.size());
+        assertEquals("Movie 1", movies.get(0).getTitle());
+        assertNull(movies.get(0).getDescription());
+    }
+
+    @Test
+    void retrieveMoviesPageWithFieldsShouldUseProjection() {
+        FieldSelection fields = FieldSelection.of(Movie.class, List.of("image"));
+        when(repository.findAllProjected(fields, "1", Limit.of(2))).thenReturn(List.of(
+                new Movie("2", null, null, "http://movies.info/2.png", null, null),
+                new Movie("3", null, null, "http://movies.info/3.png", null, null)
+        ));
+
+        CursorPage<Movie> page = service.retrieveMoviesPage(PageCursor.encode("1"), 1, fields);
+
+        assertEquals(1, page.getItems().size());
+        assertEquals("http://movies.info/2.png", page.getItems().get(0).getImage());
+        assertEquals("2", PageCursor.decode(page.getNext()));
+    }
+
+    @Test
+    void retrieveNonExistingSingleMovieWithFieldsShouldThrowNotFoundException() {
+        FieldSelection fields = FieldSelection.of(Movie.class, List.of("title"));
+        when(repository.findByIdProjected("x", fields)).thenReturn(Optional.empty());
+
+        MovieNotFoundException ex = assertThrows(MovieNotFoundException.class, () ->
+                service.retrieveSingleMovie("x", fields)
+        );
+
+        assertEquals("Movie [x] not found", ex.getMessage());
+    }
+
     @Test
     void retrieveSingleMovieShouldReturnFirstMovie() {
         Movie movie = service.retrieveSingleMovie("1");
@@ -112,6 +226,113 @@ public class MovieServiceTest {
         assertEquals("tag1,tag2", movie.getExtra());
     }
 
+    @Test
+    void searchMoviesShouldReturnOffsetPage() {
+        when(repository.search("movie", 0, Limit.of(3))).thenReturn(List.of(new Movie(), new Movie(), new Movie()));
+
+        CursorPage<Movie> page = service.searchMovies("movie", null, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(2, PageCursor.decodeOffset(page.getNext()));
+    }
+
+    @Test
+    void searchMoviesBeyondWindowShouldReturnEmptyPage() {
+        String after = PageCursor.encode(String.valueOf(MovieService.SEARCH_WINDOW));
+
+        CursorPage<Movie> page = service.searchMovies("movie", after, 2);
+
+        verify(repository, never()).search(any(), anyLong(), any());
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void searchMoviesWithBlankTextShouldNotQueryDatabase() {
+        service.searchMovies("  ", null, 2);
+
+        verify(repository, never()).search(any(), anyLong(), any());
+    }
+
+    @Test
+    void retrieveMoviesByTagsShouldQueryNormalizedTags() {
+        service.retrieveMoviesByTags(List.of(" Tag1", "tag2,TAG1"), TagMatch.ALL);
+
+        verify(repository).findByTags(List.of("tag1", "tag2"), TagMatch.ALL, null, Limit.unlimited());
+    }
+
+    @Test
+    void retrieveMoviesByBlankTagsShouldNotQueryDatabase() {
+        List<Movie> movies = service.retrieveMoviesByTags(List.of(" "), TagMatch.ANY);
+
+        verify(repository, never()).findByTags(any(), any(), any(), any());
+        assertTrue(movies.isEmpty());
+    }
+
+    @Test
+    void retrieveMoviesByTagsPageShouldStartAfterCursor() {
+        service.retrieveMoviesByTagsPage(List.of("tag1"), TagMatch.ANY, PageCursor.encode("2"), 2);
+
+        verify(repository).findByTags(List.of("tag1"), TagMatch.ANY, "2", Limit.of(3));
+    }
+
+    @Test
+    void retrieveSingleMovieTwiceShouldHitDatabaseOnce() {
+        service.retrieveSingleMovie("1");
+        Movie movie = service.retrieveSingleMovie("1");
+
+        verify(repository, times(1)).findById("1");
+        assertEquals("Movie 1", movie.getTitle());
+    }
+
+    @Test
+    void updateMovieShouldInvalidateCachedMovie() {
+        service.retrieveSingleMovie("1");
+        service.updateMovie("1", new Movie());
+        service.retrieveSingleMovie("1");
+
+        verify(repository, times(2)).findById("1");
+    }
+
+    @Test
+    void updateMovieShouldInvalidateMovieJson() throws Exception {
+        json.fragment(service.retrieveSingleMovie("1"));
+        service.updateMovie("1", new Movie());
+
+        assertEquals(0, json.statistics().getSize());
+    }
+
+    @Test
+    void retrieveAllMoviesShouldBeWrittenFromMovieJson() {
+        assertInstanceOf(JsonFragmentCache.Fragments.class, service.retrieveAllMovies());
+    }
+
+    @Test
+    void writesShouldIncrementMoviesVersion() {
+        service.createMovie(new Movie());
+        service.updateMovie("1", new Movie());
+        service.deleteMovie("1");
+
+        assertEquals(3, versions.current(CollectionVersions.MOVIES));
+    }
+
+    @Test
+    void readsShouldNotIncrementMoviesVersion() {
+        service.retrieveAllMovies();
+        service.retrieveSingleMovie("1");
+
+        assertEquals(0, versions.current(CollectionVersions.MOVIES));
+    }
+
+    @Test
+    void deleteMovieShouldInvalidateCachedMovie() {
+        service.retrieveSingleMovie("1");
+        service.deleteMovie("1");
+        service.retrieveSingleMovie("1");
+
+        verify(repository, times(2)).findById("1");
+    }
+
     @Test
     void retrieveNonExistingSingleMovieShouldThrowNotFoundException() {
         MovieNotFoundException ex = assertThrows(MovieNotFoundException.class, () ->
@@ -145,6 +366,40 @@ public class MovieServiceTest {
         assertEquals("tag1,tag2", result.getExtra());
     }
 
+    @Test
+    void createMoviesShouldInsertValidItemsInBatches() {
+        List<BulkItem<Movie>> items = List.of(
+                BulkItem.valid(0, new Movie(null, "Movie 1", null, "http://movies.info/1.png", "1.mp4", null)),
+                BulkItem.invalid(1, List.of("title: must not be null")),
+                BulkItem.valid(2, new Movie(null, "Movie 2", null, "http://movies.info/2.png", "2.mp4", null)),
+                BulkItem.valid(3, new Movie(null, "Movie 3", null, "http://movies.info/3.png", "3.mp4", null))
+        );
+        when(repository.insertUnordered(anyList())).thenReturn(Map.of(), Map.of(0, "E11000 duplicate key"));
+
+        BulkResult result = service.createMovies(items);
+
+        verify(repository, times(2)).insertUnordered(anyList());
+        assertEquals(2, result.getCreated());
+        assertEquals(1, result.getInvalid());
+        assertEquals(1, result.getFailed());
+        assertEquals(
+                List.of(BulkItemResult.Status.CREATED, BulkItemResult.Status.INVALID, BulkItemResult.Status.CREATED, BulkItemResult.Status.FAILED),
+                result.getItems().stream().map(BulkItemResult::getStatus).toList()
+        );
+        assertNotNull(result.getItems().get(0).getId());
+        assertEquals(List.of("E11000 duplicate key"), result.getItems().get(3).getErrors());
+        assertEquals(1, versions.current(CollectionVersions.MOVIES));
+    }
+
+    @Test
+    void createMoviesWithoutValidItemsShouldNotWrite() {
+        BulkResult result = service.createMovies(List.of(BulkItem.invalid(0, List.of("title: must not be null"))));
+
+        verify(repository, never()).insertUnordered(anyList());
+        assertEquals(1, result.getInvalid());
+        assertEquals(0, versions.current(CollectionVersions.MOVIES));
+    }
+
     @Test
     void createMovieShouldAlwaysSaveEntityWithNullId() {
         Movie input = new Movie(
@@ -170,7 +425,7 @@ public class MovieServiceTest {
     }
 
     @Test
-    void updateMovieShouldInvokeRepositorySave() {
+    void updateMovieShouldInvokeRepositoryVersionedReplace() {
         Movie input = new Movie(
                 "1",
                 "Movie 1",
@@ -181,7 +436,7 @@ public class MovieServiceTest {
         );
 
         service.updateMovie("1", input);
-        verify(repository).save(input);
+        verify(repository).replaceVersioned("1", null, input);
     }
 
     @Test
@@ -205,7 +460,7 @@ public class MovieServiceTest {
         );
 
         service.updateMovie("1", input);
-        verify(repository).save(expect);
+        verify(repository).replaceVersioned("1", null, expect);
     }
 
     @Test
@@ -223,14 +478,98 @@ public class MovieServiceTest {
             service.updateMovie("x", input);
         });
 
-        verify(repository).findById("x");
+        verify(repository).replaceVersioned(eq("x"), isNull(), any(Movie.class));
         assertEquals("Movie [x] not found", ex.getMessage());
     }
 
     @Test
-    void deleteMovieShouldInvokeRepositoryRemoval() {
+    void updateOutdatedMovieVersionShouldThrowConflictException() {
+        when(repository.replaceVersioned(eq("1"), eq(3L), any(Movie.class))).thenReturn(false);
+
+        Movie input = new Movie();
+        input.setVersion(3L);
+
+        VersionConflictException ex = assertThrows(VersionConflictException.class, () ->
+                service.updateMovie("1", input)
+        );
+
+        assertEquals("Movie [1] is no longer at version 3", ex.getMessage());
+        assertEquals(0, versions.current(CollectionVersions.MOVIES));
+    }
+
+    @Test
+    void patchMovieShouldInvokeRepositoryPatchAndInvalidateCache() {
+        MergePatch patch = new MergePatch(Map.of("image", "http://movies.info/1b.png"));
+        when(repository.patchVersioned("1", null, patch)).thenReturn(true);
+
+        service.retrieveSingleMovie("1");
+        service.patchMovie("1", patch, null);
+        service.retrieveSingleMovie("1");
+
+        verify(repository, times(2)).findById("1");
+        assertEquals(1, versions.current(CollectionVersions.MOVIES));
+    }
+
+    @Test
+    void patchNonExistingMovieShouldThrowNotFoundException() {
+        assertThrows(MovieNotFoundException.class, () ->
+                service.patchMovie("x", new MergePatch(Map.of("title", "Movie X")), null)
+        );
+    }
+
+    @Test
+    void patchMovieWithOutdatedVersionShouldThrowConflictException() {
+        assertThrows(VersionConflictException.class, () ->
+                service.patchMovie("1", new MergePatch(Map.of("title", "Movie X")), 5L)
+        );
+    }
+
+    @Test
+    void patchMoviesByIdsShouldInvalidateOnlyThoseMovies() {
+        BulkFilter filter = new BulkFilter(List.of("1", "x"), Map.of());
+        MergePatch patch = new MergePatch(Map.of("extra", "tag3"));
+        when(repository.patchAll(filter, patch)).thenReturn(new BulkWriteSummary(1, 1, 1));
+
+        service.retrieveSingleMovie("1");
+        BulkWriteSummary summary = service.patchMovies(filter, patch);
+        service.retrieveSingleMovie("1");
+
+        verify(repository, times(2)).findById("1");
+        assertEquals(1, summary.getNotFound());
+        assertEquals(1, versions.current(CollectionVersions.MOVIES));
+    }
+
+    @Test
+    void deleteMoviesWithoutMatchesShouldNotIncrementVersion() {
+        BulkFilter filter = new BulkFilter(List.of(), Map.of("extra", "none"));
+        when(repository.deleteAll(filter)).thenReturn(new BulkWriteSummary(0, 0, 0));
+
+        service.deleteMovies(filter);
+
+        assertEquals(0, versions.current(CollectionVersions.MOVIES));
+    }
+
+    @Test
+    void emptyPatchShouldNotWriteMovie() {
+        service.patchMovie("1", new MergePatch(Map.of()), null);
+
+        verify(repository, never()).patchVersioned(any(), any(), any());
+        assertEquals(0, versions.current(CollectionVersions.MOVIES));
+    }
+
+    @Test
+    void deleteMovieShouldInvokeRepositoryVersionedRemoval() {
         service.deleteMovie("1");
-        verify(repository).deleteById("1");
+        verify(repository).deleteVersioned("1", null);
+    }
+
+    @Test
+    void deleteOutdatedMovieVersionShouldThrowConflictException() {
+        when(repository.deleteVersioned("1", 3L)).thenReturn(false);
+
+        assertThrows(VersionConflictException.class, () ->
+                service.deleteMovie("1", 3L)
+        );
     }
 
     @Test
@@ -239,7 +578,57 @@ public class MovieServiceTest {
                 service.deleteMovie("abcdefg789")
         );
 
-        verify(repository).findById("abcdefg789");
+        verify(repository).deleteVersioned("abcdefg789", null);
         assertEquals("Movie [abcdefg789] not found", ex.getMessage());
     }
+
+    @Test
+    void writesShouldKeepTitleIndexCurrent() {
+        when(repository.streamTitlesBy()).thenReturn(Stream.of(new Movie("1", "Movie 1", null, null, null, null)));
+        when(repository.patchVersioned(eq("1"), isNull(), any())).thenReturn(true);
+        service.reloadTitleIndex();
+
+        service.patchMovie("1", new MergePatch(Map.of("title", "Film 1")), null);
+        assertEquals("Film 1", service.suggestTitles("fil", 10).get(0).getTitle());
+        assertTrue(service.suggestTitles("movie", 10).isEmpty());
+
+        service.deleteMovie("1");
+        assertTrue(service.suggestTitles("fil", 10).isEmpty());
+    }
+
+    @Test
+    void deleteMoviesByFilterShouldReloadTitleIndex() {
+        BulkFilter filter = new BulkFilter(List.of(), Map.of("extra", "tag1"));
+        when(repository.deleteAll(filter)).thenReturn(new BulkWriteSummary(1, 1, 0));
+        when(repository.streamTitlesBy()).thenReturn(Stream.of(new Movie("2", "Movie 2", null, null, null, null)));
+
+        service.deleteMovies(filter);
+
+        assertEquals(1, titles.size());
+        assertEquals("2", service.suggestTitles("movie", 10).get(0).getId());
+    }
+
+    @Test
+    void retrieveMoviesShouldQueryOnlyUncachedIdsInRequestedOrder() {
+        Movie movie1 = service.retrieveSingleMovie("1");
+        Movie movie3 = new Movie("3", "Movie 3", null, "http://movies.info/3.png", "movie3.mp4", null);
+        when(repository.findAllById(Set.of("3", "x"))).thenReturn(List.of(movie3));
+
+        BatchGetResult<Movie> result = service.retrieveMovies(List.of("3", "x", "1"));
+
+        assertEquals(List.of(movie3, movie1), result.getItems());
+        assertEquals(List.of("x"), result.getMissing());
+        assertInstanceOf(JsonFragmentCache.Fragments.class, result.getItems());
+        verify(repository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void createMovieShouldIgnoreClientVersion() {
+        Movie input = new Movie(null, "Movie 1", null, "http://movies.info/1.png", "movie1.mp4", null);
+        input.setVersion(3L);
+
+        service.createMovie(input);
+
+        verify(repository).save(argThat(movie -> movie.getVersion() == null));
+    }
 }
@@ -0,0 +1,67 @@
+package net.jazbelt.jazflixboapi.unit.domain;
+
+import net.jazbelt.jazflixboapi.domain.PageCursor;
+import net.jazbelt.jazflixboapi.error.InvalidCursorException;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageCursorTest {
+
+    @Test
+    void encodedCursorShouldDecodeToSameId() {
+        String cursor = PageCursor.encode("664a1bc2f0e4a3b9d1c2e3f4");
+
+        assertEquals("664a1bc2f0e4a3b9d1c2e3f4", PageCursor.decode(cursor));
+    }
+
+    @Test
+    void decodeInvalidCursorShouldThrowInvalidCursorException() {
+        InvalidCursorException ex = assertThrows(InvalidCursorException.class, () ->
+                PageCursor.decode("not*base64")
+        );
+
+        assertEquals("Invalid page cursor [not*base64]", ex.getMessage());
+    }
+
+    @Test
+    void fetchLimitShouldAskForOneExtraElement() {
+        assertEquals(11, PageCursor.fetchLimit(10).max());
+        assertEquals(2, PageCursor.fetchLimit(0).max());
+        assertEquals(PageCursor.MAX_LIMIT + 1, PageCursor.fetchLimit(100000).max());
+    }
+
+    @Test
+    void pageWithExtraElementShouldReturnNextCursor() {
+        CursorPage<String> page = PageCursor.page(Arrays.asList("a", "b", "c"), 2, s -> s);
+
+        assertEquals(List.of("a", "b"), page.getItems());
+        assertEquals("b", PageCursor.decode(page.getNext()));
+    }
+
+    @Test
+    void lastPageShouldNotReturnNextCursor() {
+        CursorPage<String> page = PageCursor.page(Arrays.asList("a", "b"), 2, s -> s);
+
+        assertEquals(List.of("a", "b"), page.getItems());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void offsetPageShouldEncodeNextOffset() {
+        CursorPage<String> page = PageCursor.offsetPage(Arrays.asList("c", "d", "e"), 2, 2);
+
+        assertEquals(List.of("c", "d"), page.getItems());
+        assertEquals(4, PageCursor.decodeOffset(page.getNext()));
+    }
+
+    @Test
+    void decodeNonNumericOffsetShouldThrowInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decodeOffset(PageCursor.encode("abc")));
+        assertThrows(InvalidCursorException.class, () -> PageCursor.decodeOffset(PageCursor.encode("-3")));
+    }
+}
@@ -0,0 +1,83 @@
+package net.jazbelt.jazflixboapi.unit.domain;
+
+import net.jazbelt.jazflixboapi.domain.RankKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RankKeyTest {
+
+    private static void assertBetween(String lower, String key, String upper) {
+        if (lower != null) {
+            assertTrue(lower.compareTo(key) < 0, lower + " < " + key);
+        }
+        if (upper != null) {
+            assertTrue(key.compareTo(upper) < 0, key + " < " + upper);
+        }
+        assertNotEquals('0', key.charAt(key.length() - 1));
+    }
+
+    @Test
+    void betweenShouldSortStrictlyBetweenBounds() {
+        assertEquals("V", RankKey.between(null, null));
+        assertBetween("A", RankKey.between("A", "B"), "B");
+        assertBetween("A", RankKey.between("A", "C"), "C");
+        assertBetween(null, RankKey.between(null, "1"), "1");
+        assertBetween("z", RankKey.between("z", null), null);
+        assertBetween("Az", RankKey.between("Az", "B"), "B");
+        assertBetween("A", RankKey.between("A", "A1"), "A1");
+    }
+
+    @Test
+    void betweenShouldRejectBoundsOutOfOrder() {
+        assertThrows(IllegalArgumentException.class, () -> RankKey.between("B", "A"));
+        assertThrows(IllegalArgumentException.class, () -> RankKey.between("A", "A"));
+        assertThrows(IllegalArgumentException.class, () -> RankKey.between("-", null));
+    }
+
+    @Test
+    void repeatedMovesShouldKeepKeysSorted() {
+        Random random = new Random(42);
+        List<String> keys = new ArrayList<>(RankKey.spread(5));
+
+        for (int i = 0; i < 500; i++) {
+            int position = random.nextInt(keys.size() + 1);
+            String lower = position == 0 ? null : keys.get(position - 1);
+            String upper = position == keys.size() ? null : keys.get(position);
+            String key = RankKey.between(lower, upper);
+
+            assertBetween(lower, key, upper);
+            keys.add(position, key);
+        }
+
+        assertEquals(keys.stream().sorted().toList(), keys);
+    }
+
+    @Test
+    void movesToTheSameSpotShouldGrowKeysSlowly() {
+        String lower = "A";
+        String upper = "B";
+
+        for (int i = 0; i < 30; i++) {
+            upper = RankKey.between(lower, upper);
+        }
+
+        assertTrue(upper.length() <= RankKey.MAX_LENGTH, upper);
+    }
+
+    @Test
+    void spreadShouldReturnDistinctSortedShortKeys() {
+        for (int count : List.of(0, 1, 2, 61, 62, 1000, 5000)) {
+            List<String> keys = RankKey.spread(count);
+
+            assertEquals(count, keys.size());
+            assertEquals(keys.stream().sorted().distinct().toList(), keys);
+            keys.forEach(key -> assertBetween(null, key, null));
+            keys.forEach(key -> assertTrue(key.length() <= 3, key));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package net.jazbelt.jazflixboapi.unit.domain;
+
+import net.jazbelt.jazflixboapi.domain.IReactiveMovieService;
+import net.jazbelt.jazflixboapi.domain.PageCursor;
+import net.jazbelt.jazflixboapi.domain.ReactiveMovieService;
+import net.jazbelt.jazflixboapi.error.InvalidCursorException;
+import net.jazbelt.jazflixboapi.error.MovieNotFoundException;
+import net.jazbelt.jazflixboapi.error.VersionConflictException;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import net.jazbelt.jazflixboapi.model.repository.ReactiveMovieRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveMovieServiceTest {
+
+    IReactiveMovieService service;
+
+    @Mock
+    ReactiveMovieRepository repository;
+
+    Movie movie1;
+
+    Movie movie2;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReactiveMovieService(repository);
+
+        movie1 = new Movie("1", "Movie 1", "First movie", "http://movies.info/1.png", "movie1.mp4", "tag1");
+        movie2 = new Movie("2", "Movie 2", null, "http://movies.info/2.png", "movie2.mp4", null);
+    }
+
+    @Test
+    void retrieveAllMoviesShouldStreamRepositoryCursor() {
+        when(repository.streamAllBy()).thenReturn(Flux.just(movie1, movie2));
+
+        StepVerifier.create(service.retrieveAllMovies())
+                .expectNext(movie1, movie2)
+                .verifyComplete();
+    }
+
+    @Test
+    void retrieveMoviesPageShouldReturnCursorToNextPage() {
+        when(repository.findAllByOrderByIdAsc(Limit.of(2))).thenReturn(Flux.just(movie1, movie2));
+
+        StepVerifier.create(service.retrieveMoviesPage(null, 1))
+                .assertNext(page -> {
+                    assertEquals(1, page.getItems().size());
+                    assertEquals(PageCursor.encode("1"), page.getNext());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void retrieveMoviesPageWithInvalidCursorShouldFail() {
+        StepVerifier.create(service.retrieveMoviesPage("%%%", 1))
+                .expectError(InvalidCursorException.class)
+                .verify();
+    }
+
+    @Test
+    void retrieveMissingMovieShouldFailWithNotFound() {
+        when(repository.findById("x")).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.retrieveSingleMovie("x"))
+                .expectError(MovieNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void createMovieShouldAlwaysSaveEntityWithNullId() {
+        when(repository.save(movie1)).thenReturn(Mono.just(movie1));
+
+        StepVerifier.create(service.createMovie(movie1))
+                .expectNext(movie1)
+                .verifyComplete();
+
+        assertNull(movie1.getId());
+    }
+
+    @Test
+    void updateMovieShouldUsePathId() {
+        when(repository.replaceVersioned("5", null, movie1)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(service.updateMovie("5", movie1)).verifyComplete();
+
+        assertEquals("5", movie1.getId());
+    }
+
+    @Test
+    void updateOutdatedMovieShouldFailWithConflict() {
+        movie1.setVersion(3L);
+        when(repository.replaceVersioned("1", 3L, movie1)).thenReturn(Mono.just(false));
+        when(repository.existsById("1")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(service.updateMovie("1", movie1))
+                .expectError(VersionConflictException.class)
+                .verify();
+    }
+
+    @Test
+    void deleteMissingMovieShouldFailWithNotFound() {
+        when(repository.deleteVersioned("x", null)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(service.deleteMovie("x", null))
+                .expectError(MovieNotFoundException.class)
+                .verify();
+
+        verify(repository, never()).existsById(anyString());
+    }
+}
@@ -0,0 +1,99 @@
+package net.jazbelt.jazflixboapi.unit.domain;
+
+import net.jazbelt.jazflixboapi.domain.IReactiveSectionService;
+import net.jazbelt.jazflixboapi.domain.PageCursor;
+import net.jazbelt.jazflixboapi.domain.ReactiveSectionService;
+import net.jazbelt.jazflixboapi.error.SectionNotFoundException;
+import net.jazbelt.jazflixboapi.error.VersionConflictException;
+import net.jazbelt.jazflixboapi.model.entity.Section;
+import net.jazbelt.jazflixboapi.model.repository.ReactiveSectionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveSectionServiceTest {
+
+    IReactiveSectionService service;
+
+    @Mock
+    ReactiveSectionRepository repository;
+
+    Section home;
+
+    Section movies;
+
+    Section series;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReactiveSectionService(repository);
+
+        home = new Section("1", "icon-home", "Home", "/", 1);
+        movies = new Section("2", "icon-movie", "Movies", "/movies", 2);
+        series = new Section("3", "icon-series", "Series", "/series", 3);
+    }
+
+    @Test
+    void retrieveAllSectionsShouldFollowDisplayOrder() {
+        Section first = movies.withRank("A");
+        Section second = home.withRank("B");
+        when(repository.streamAllBy()).thenReturn(Flux.just(series, second, first));
+
+        StepVerifier.create(service.retrieveAllSections())
+                .expectNext(first, second, series)
+                .verifyComplete();
+    }
+
+    @Test
+    void retrieveSectionsPageShouldReturnCursorToNextPage() {
+        when(repository.findAllByOrderByIdAsc(Limit.of(3))).thenReturn(Flux.just(home, movies, series));
+
+        StepVerifier.create(service.retrieveSectionsPage(null, 2))
+                .assertNext(page -> {
+                    assertEquals(2, page.getItems().size());
+                    assertEquals(PageCursor.encode("2"), page.getNext());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void retrieveMissingSectionShouldFailWithNotFound() {
+        when(repository.findById("x")).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.retrieveSection("x"))
+                .expectError(SectionNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void updateOutdatedSectionShouldFailWithConflict() {
+        home.setVersion(3L);
+        when(repository.replaceVersioned("1", 3L, home)).thenReturn(Mono.just(false));
+        when(repository.existsById("1")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(service.updateSection("1", home))
+                .expectError(VersionConflictException.class)
+                .verify();
+    }
+
+    @Test
+    void deleteMissingSectionShouldFailWithNotFound() {
+        when(repository.deleteVersioned("x", null)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(service.deleteSection("x", null))
+                .expectError(SectionNotFoundException.class)
+                .verify();
+
+        verify(repository, never()).existsById(anyString());
+    }
+}
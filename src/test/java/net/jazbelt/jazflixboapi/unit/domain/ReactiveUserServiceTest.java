@@ -0,0 +1,96 @@
+package net.jazbelt.jazflixboapi.unit.domain;
+
+import net.jazbelt.jazflixboapi.domain.IReactiveUserService;
+import net.jazbelt.jazflixboapi.domain.PageCursor;
+import net.jazbelt.jazflixboapi.domain.ReactiveUserService;
+import net.jazbelt.jazflixboapi.error.UserNotFoundException;
+import net.jazbelt.jazflixboapi.error.VersionConflictException;
+import net.jazbelt.jazflixboapi.model.entity.User;
+import net.jazbelt.jazflixboapi.model.repository.ReactiveUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveUserServiceTest {
+
+    IReactiveUserService service;
+
+    @Mock
+    ReactiveUserRepository repository;
+
+    User john;
+
+    User jack;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReactiveUserService(repository);
+
+        john = new User("abc123", "jdoe@foo.bar", true);
+        jack = new User("xyz456", "jack@foo.bar", false);
+    }
+
+    @Test
+    void retrieveUsersPageAfterCursorShouldStartAfterDecodedId() {
+        when(repository.findByIdGreaterThanOrderByIdAsc("abc123", Limit.of(3))).thenReturn(Flux.just(jack));
+
+        StepVerifier.create(service.retrieveUsersPage(PageCursor.encode("abc123"), 2))
+                .assertNext(page -> {
+                    assertEquals(1, page.getItems().size());
+                    assertNull(page.getNext());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void createUserShouldSaveUnversionedEntityWithNullId() {
+        john.setVersion(3L);
+        when(repository.save(john)).thenReturn(Mono.just(john));
+
+        StepVerifier.create(service.createUser(john))
+                .expectNext(john)
+                .verifyComplete();
+
+        assertNull(john.getId());
+        assertNull(john.getVersion());
+    }
+
+    @Test
+    void updateUserShouldUsePathId() {
+        when(repository.replaceVersioned("5", null, john)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(service.updateUser("5", john)).verifyComplete();
+
+        assertEquals("5", john.getId());
+    }
+
+    @Test
+    void deleteOutdatedUserShouldFailWithConflict() {
+        when(repository.deleteVersioned("abc123", 2L)).thenReturn(Mono.just(false));
+        when(repository.existsById("abc123")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(service.deleteUser("abc123", 2L))
+                .expectError(VersionConflictException.class)
+                .verify();
+    }
+
+    @Test
+    void deleteMissingUserWithVersionShouldFailWithNotFound() {
+        when(repository.deleteVersioned("x", 2L)).thenReturn(Mono.just(false));
+        when(repository.existsById("x")).thenReturn(Mono.just(false));
+
+        StepVerifier.create(service.deleteUser("x", 2L))
+                .expectError(UserNotFoundException.class)
+                .verify();
+    }
+}
@@ -1,19 +1,36 @@
 package net.jazbelt.jazflixboapi.unit.domain;
 
+import net.jazbelt.jazflixboapi.VirtualThreads;
+import net.jazbelt.jazflixboapi.domain.CollectionVersions;
+import net.jazbelt.jazflixboapi.domain.EntityCache;
 import net.jazbelt.jazflixboapi.domain.ISectionService;
 import net.jazbelt.jazflixboapi.domain.SectionService;
+import net.jazbelt.jazflixboapi.domain.SectionSnapshot;
+import net.jazbelt.jazflixboapi.domain.PageCursor;
+import net.jazbelt.jazflixboapi.error.InvalidMoveException;
 import net.jazbelt.jazflixboapi.error.SectionNotFoundException;
+import net.jazbelt.jazflixboapi.error.VersionConflictException;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetResult;
+import net.jazbelt.jazflixboapi.model.dto.BulkFilter;
+import net.jazbelt.jazflixboapi.model.dto.BulkWriteSummary;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
 import net.jazbelt.jazflixboapi.model.entity.Section;
 import net.jazbelt.jazflixboapi.model.repository.SectionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,18 +43,25 @@ public class SectionServiceTest {
     @Mock
     private SectionRepository repository;
 
+    private CollectionVersions versions;
+
     @BeforeEach
     void setup() {
-        service = new SectionService(repository);
+        versions = new CollectionVersions();
+        service = new SectionService(repository, new EntityCache<>("sections", 100, Duration.ofMinutes(1)), versions, new SectionSnapshot());
 
         Section home = new Section("1", "icon-home", "Home", "/", 1);
         Section movies = new Section("2", "icon-movie", "Movies", "/movies", 2);
         Section series = new Section("3", "icon-series", "Series", "/series", 3);
 
-        lenient().when(repository.findAll()).thenReturn(Arrays.asList(home, movies, series));
+        lenient().when(repository.findAll()).thenReturn(Arrays.asList(series, home, movies));
         lenient().when(repository.findById("1")).thenReturn(Optional.of(home));
         lenient().when(repository.findById("x")).thenReturn(Optional.empty());
         lenient().when(repository.save(any(Section.class))).thenReturn(home);
+        lenient().when(repository.replaceVersioned(eq("1"), any(), any(Section.class))).thenReturn(true);
+        lenient().when(repository.deleteVersioned(eq("1"), any())).thenReturn(true);
+        lenient().when(repository.existsById("1")).thenReturn(true);
+        lenient().when(repository.findByIdGreaterThanOrderByIdAsc("1", Limit.of(3))).thenReturn(Arrays.asList(movies, series));
     }
 
     @Test
@@ -45,6 +69,26 @@ public class SectionServiceTest {
         assertNotNull(service);
     }
 
+    @Test
+    void writesShouldIncrementSectionsVersion() {
+        service.createSection(new Section());
+        service.updateSection("1", new Section());
+        service.deleteSection("1");
+
+        assertEquals(3, versions.current(CollectionVersions.SECTIONS));
+    }
+
+    @Test
+    void retrieveSectionsPageShouldStartAfterCursor() {
+        CursorPage<Section> page = service.retrieveSectionsPage(PageCursor.encode("1"), 2);
+
+        verify(repository).findByIdGreaterThanOrderByIdAsc("1", Limit.of(3));
+        assertEquals(2, page.getItems().size());
+        assertEquals("2", page.getItems().get(0).getId());
+        assertEquals("3", page.getItems().get(1).getId());
+        assertNull(page.getNext());
+    }
+
     @Test
     void retrieveAllSectionsSouldReturnListWith3Elements() {
         List<Section> sections = service.retrieveAllSections();
@@ -74,6 +118,25 @@ public class SectionServiceTest {
         assertEquals(3, series.getOrder());
     }
 
+    @Test
+    void retrieveAllSectionsShouldBeServedFromSnapshot() {
+        List<Section> first = service.retrieveAllSections();
+        List<Section> second = service.retrieveAllSections();
+
+        verify(repository, times(1)).findAll();
+        assertSame(first, second);
+        assertThrows(UnsupportedOperationException.class, () -> second.add(new Section()));
+    }
+
+    @Test
+    void writesShouldReplaceSnapshot() {
+        service.retrieveAllSections();
+        service.updateSection("1", new Section());
+        service.retrieveAllSections();
+
+        verify(repository, times(2)).findAll();
+    }
+
     @Test
     void retrieveSectionShouldReturnExistingDocument() {
         Section section = service.retrieveSection("1");
@@ -115,14 +178,14 @@ public class SectionServiceTest {
         Section section = new Section("1", "icon-home", "Home", "/", 1);
         service.updateSection("1", section);
 
-        verify(repository).save(section);
+        verify(repository).replaceVersioned("1", null, section);
     }
 
     @Test
     void updateSectionShouldUsePathId() {
         service.updateSection("1", new Section("2", "test", "Test", "/test", 1));
 
-        verify(repository).save(new Section("1", "test", "Test", "/test", 1));
+        verify(repository).replaceVersioned("1", null, new Section("1", "test", "Test", "/test", 1));
     }
 
     @Test
@@ -134,11 +197,56 @@ public class SectionServiceTest {
         assertEquals("Section [x] not found", ex.getMessage());
     }
 
+    @Test
+    void updateOutdatedSectionVersionShouldThrowConflictException() {
+        when(repository.replaceVersioned(eq("1"), eq(2L), any(Section.class))).thenReturn(false);
+
+        Section section = new Section("1", "icon-home", "Home", "/", 1);
+        section.setVersion(2L);
+
+        VersionConflictException ex = assertThrows(VersionConflictException.class, () ->
+            service.updateSection("1", section)
+        );
+
+        assertEquals("Section [1] is no longer at version 2", ex.getMessage());
+    }
+
+    @Test
+    void patchSectionShouldInvokeRepositoryPatch() {
+        MergePatch patch = new MergePatch(Map.of("title", "Start"));
+        when(repository.patchVersioned("1", null, patch)).thenReturn(true);
+
+        service.patchSection("1", patch, null);
+
+        verify(repository).patchVersioned("1", null, patch);
+        assertEquals(1, versions.current(CollectionVersions.SECTIONS));
+    }
+
+    @Test
+    void deleteSectionsByFilterShouldIncrementSectionsVersion() {
+        BulkFilter filter = new BulkFilter(List.of(), Map.of("order", 1));
+        when(repository.deleteAll(filter)).thenReturn(new BulkWriteSummary(1, 1, 0));
+
+        BulkWriteSummary summary = service.deleteSections(filter);
+
+        assertEquals(1, summary.getModified());
+        assertEquals(1, versions.current(CollectionVersions.SECTIONS));
+    }
+
     @Test
     void deleteSectionShouldInvokeRepositoryMethod() {
         service.deleteSection("1");
 
-        verify(repository).deleteById("1");
+        verify(repository).deleteVersioned("1", null);
+    }
+
+    @Test
+    void deleteOutdatedSectionVersionShouldThrowConflictException() {
+        when(repository.deleteVersioned("1", 2L)).thenReturn(false);
+
+        assertThrows(VersionConflictException.class, () ->
+            service.deleteSection("1", 2L)
+        );
     }
 
     @Test
@@ -149,4 +257,175 @@ public class SectionServiceTest {
 
         assertEquals("Section [x] not found", ex.getMessage());
     }
+
+    private void ranked() {
+        when(repository.findAll()).thenReturn(List.of(
+                new Section("1", "icon-home", "Home", "/", 1).withRank("A"),
+                new Section("2", "icon-movie", "Movies", "/movies", 2).withRank("B"),
+                new Section("3", "icon-series", "Series", "/series", 3).withRank("C")
+        ));
+    }
+
+    @Test
+    void moveSectionShouldOnlyWriteMovedSection() {
+        ranked();
+        when(repository.rankVersioned(eq("3"), isNull(), anyString())).thenReturn(true);
+
+        service.moveSection("3", "2", "1", null);
+
+        ArgumentCaptor<String> rank = ArgumentCaptor.forClass(String.class);
+        verify(repository).rankVersioned(eq("3"), isNull(), rank.capture());
+        verify(repository, never()).rankAll(any());
+        assertTrue("A".compareTo(rank.getValue()) < 0 && rank.getValue().compareTo("B") < 0);
+        assertEquals(1, versions.current(CollectionVersions.SECTIONS));
+    }
+
+    @Test
+    void moveSectionToTheStartShouldRankBeforeFirst() {
+        ranked();
+        when(repository.rankVersioned(eq("2"), isNull(), anyString())).thenReturn(true);
+
+        service.moveSection("2", "1", null, null);
+
+        ArgumentCaptor<String> rank = ArgumentCaptor.forClass(String.class);
+        verify(repository).rankVersioned(eq("2"), isNull(), rank.capture());
+        assertTrue(rank.getValue().compareTo("A") < 0);
+    }
+
+    @Test
+    void moveUnrankedSectionsShouldRankAllFirstInDisplayOrder() {
+        when(repository.rankVersioned(eq("3"), isNull(), anyString())).thenReturn(true);
+
+        service.moveSection("3", null, "1", null);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> ranks = ArgumentCaptor.forClass(Map.class);
+        verify(repository).rankAll(ranks.capture());
+        assertEquals(List.of("1", "2", "3"), List.copyOf(ranks.getValue().keySet()));
+    }
+
+    private void unrankedThenRankedWithBumpedVersions() {
+        AtomicBoolean rankedAll = new AtomicBoolean();
+        List<Section> unranked = List.of(
+                new Section("1", "icon-home", "Home", "/", 1, 4L),
+                new Section("2", "icon-movie", "Movies", "/movies", 2, 4L),
+                new Section("3", "icon-series", "Series", "/series", 3, 4L)
+        );
+        List<Section> ranked = List.of(
+                new Section("1", "icon-home", "Home", "/", 1, 5L).withRank("A"),
+                new Section("2", "icon-movie", "Movies", "/movies", 2, 5L).withRank("B"),
+                new Section("3", "icon-series", "Series", "/series", 3, 5L).withRank("C")
+        );
+
+        lenient().doAnswer(invocation -> {
+            rankedAll.set(true);
+            return null;
+        }).when(repository).rankAll(any());
+        when(repository.findAll()).thenAnswer(invocation -> rankedAll.get() ? ranked : unranked);
+    }
+
+    @Test
+    void moveUnrankedSectionsWithVersionShouldMoveAgainstRankedVersion() {
+        unrankedThenRankedWithBumpedVersions();
+        when(repository.rankVersioned(eq("3"), eq(5L), anyString())).thenReturn(true);
+
+        service.moveSection("3", null, "1", 4L);
+
+        verify(repository).rankAll(any());
+        verify(repository).rankVersioned(eq("3"), eq(5L), anyString());
+    }
+
+    @Test
+    void moveUnrankedSectionsWithOutdatedVersionShouldConflictBeforeRanking() {
+        unrankedThenRankedWithBumpedVersions();
+        when(repository.existsById("3")).thenReturn(true);
+
+        assertThrows(VersionConflictException.class, () -> service.moveSection("3", null, "1", 3L));
+        verify(repository, never()).rankAll(any());
+        verify(repository, never()).rankVersioned(any(), any(), any());
+    }
+
+    @Test
+    void moveSectionWithoutNeighbourShouldThrowInvalidMove() {
+        assertThrows(InvalidMoveException.class, () -> service.moveSection("1", null, null, null));
+    }
+
+    @Test
+    void moveSectionNextToItselfShouldThrowInvalidMove() {
+        assertThrows(InvalidMoveException.class, () -> service.moveSection("1", "1", null, null));
+    }
+
+    @Test
+    void moveSectionBetweenNonAdjacentSectionsShouldThrowInvalidMove() {
+        ranked();
+
+        assertThrows(InvalidMoveException.class, () -> service.moveSection("2", "1", "3", null));
+        assertThrows(InvalidMoveException.class, () -> service.moveSection("1", "x", null, null));
+        verify(repository, never()).rankVersioned(any(), any(), any());
+    }
+
+    @Test
+    void moveNonExistingSectionShouldThrowNotFoundException() {
+        assertThrows(SectionNotFoundException.class, () -> service.moveSection("x", "1", null, null));
+    }
+
+    @Test
+    void moveOutdatedSectionVersionShouldThrowConflictException() {
+        ranked();
+        when(repository.rankVersioned(eq("1"), eq(1L), anyString())).thenReturn(false);
+
+        assertThrows(VersionConflictException.class, () -> service.moveSection("1", null, "3", 1L));
+    }
+
+    @Test
+    void rebalanceSectionsShouldRankAllInOneBulkWrite() {
+        ranked();
+
+        service.rebalanceSections();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> ranks = ArgumentCaptor.forClass(Map.class);
+        verify(repository, times(1)).rankAll(ranks.capture());
+        assertEquals(3, ranks.getValue().size());
+        assertEquals(1, versions.current(CollectionVersions.SECTIONS));
+    }
+
+    @Test
+    void createSectionShouldRankNewSectionLast() {
+        ranked();
+        Section section = new Section(null, "icon-docs", "Docs", "/docs", 4);
+
+        service.createSection(section);
+
+        ArgumentCaptor<Section> saved = ArgumentCaptor.forClass(Section.class);
+        verify(repository).save(saved.capture());
+        assertTrue(saved.getValue().getRank().compareTo("C") > 0);
+    }
+
+    @Test
+    void retrieveSectionsShouldServeSnapshotInRequestedOrder() {
+        BatchGetResult<Section> result = service.retrieveSections(List.of("3", "x", "1"));
+
+        assertEquals(List.of("3", "1"), result.getItems().stream().map(Section::getId).toList());
+        assertEquals(List.of("x"), result.getMissing());
+        verify(repository, times(1)).findAll();
+        verify(repository, never()).findAllById(any());
+    }
+
+    @Test
+    void createSectionShouldIgnoreClientIdAndVersion() {
+        service.createSection(new Section("abc", "icon-test", "Test", "/test", 4, 3L));
+
+        verify(repository).save(argThat(section -> section.getId() == null && section.getVersion() == null));
+    }
+
+    @Test
+    void concurrentCreatesShouldNotPinVirtualThreadCarrier() throws Exception {
+        when(repository.save(any(Section.class))).thenAnswer(invocation -> {
+            Thread.sleep(5);
+            return new Section("4", "icon-test", "Test", "/test", 4);
+        });
+
+        assertTrue(VirtualThreads.pinnedWhile(20, () -> service.createSection(new Section())).isEmpty());
+    }
 }
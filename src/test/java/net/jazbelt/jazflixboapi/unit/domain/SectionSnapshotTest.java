@@ -0,0 +1,69 @@
+package net.jazbelt.jazflixboapi.unit.domain;
+
+import net.jazbelt.jazflixboapi.domain.SectionSnapshot;
+import net.jazbelt.jazflixboapi.model.entity.Section;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SectionSnapshotTest {
+
+    private final SectionSnapshot snapshot = new SectionSnapshot();
+
+    @Test
+    void sectionsShouldBeSortedByOrderThenId() {
+        List<Section> sections = snapshot.get(() -> List.of(
+                new Section("c", "icon", "Third", "/c", 2),
+                new Section("z", "icon", "Last", "/z", null),
+                new Section("b", "icon", "Second", "/b", 1),
+                new Section("a", "icon", "First", "/a", 1)
+        ));
+
+        assertEquals(List.of("a", "b", "c", "z"), sections.stream().map(Section::getId).toList());
+    }
+
+    @Test
+    void rankedSectionsShouldComeFirstByRank() {
+        List<Section> sections = snapshot.get(() -> List.of(
+                new Section("a", "icon", "Unranked", "/a", 1),
+                new Section("b", "icon", "Second", "/b", 1).withRank("W"),
+                new Section("c", "icon", "First", "/c", 9).withRank("V")
+        ));
+
+        assertEquals(List.of("c", "b", "a"), sections.stream().map(Section::getId).toList());
+    }
+
+    @Test
+    void getShouldOnlyLoadOnce() {
+        snapshot.get(() -> List.of(new Section("a", "icon", "First", "/a", 1)));
+
+        List<Section> sections = snapshot.get(() -> fail("snapshot should not be loaded again"));
+
+        assertEquals(1, sections.size());
+    }
+
+    @Test
+    void reloadShouldReplaceSnapshot() {
+        snapshot.get(() -> List.of(new Section("a", "icon", "First", "/a", 1)));
+        snapshot.reload(List::of);
+
+        assertTrue(snapshot.get(() -> fail("snapshot should not be loaded again")).isEmpty());
+    }
+
+    @Test
+    void slowerOlderReloadShouldNotReplaceNewerSnapshot() {
+        AtomicReference<List<Section>> newer = new AtomicReference<>();
+
+        snapshot.reload(() -> {
+            // a later write reloads while this one is still querying
+            newer.set(snapshot.reload(() -> List.of(new Section("b", "icon", "New", "/b", 1))));
+            return List.of(new Section("a", "icon", "Old", "/a", 1));
+        });
+
+        assertEquals("b", snapshot.get(List::of).get(0).getId());
+        assertEquals("b", newer.get().get(0).getId());
+    }
+}
@@ -0,0 +1,173 @@
+package net.jazbelt.jazflixboapi.unit.domain;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import net.jazbelt.jazflixboapi.SlowOperationProperties;
+import net.jazbelt.jazflixboapi.domain.SlowOperationLog;
+import net.jazbelt.jazflixboapi.model.dto.SlowOperation;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlowOperationLogTest {
+
+    private static final ConnectionDescription CONNECTION =
+            new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private static final String FIND = """
+            {"find": "movies", "filter": {"tags": {"$in": ["a", "b", "c"]}, "title": "Up"},
+             "sort": {"_id": 1}, "limit": 20, "$db": "jazflix", "lsid": {"id": 1}}""";
+
+    private static final String INDEXED = """
+            {"queryPlanner": {"winningPlan": {"stage": "LIMIT",
+              "inputStage": {"stage": "FETCH", "inputStage": {"stage": "IXSCAN", "indexName": "tags_id"}}}}}""";
+
+    private SlowOperationProperties properties;
+
+    private List<BsonDocument> explained;
+
+    private String explainOutput;
+
+    private int requestId;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SlowOperationProperties();
+        properties.setThreshold(Duration.ofMillis(100));
+        properties.setBufferSize(2);
+        explained = new ArrayList<>();
+        explainOutput = INDEXED;
+    }
+
+    private SlowOperationLog create() {
+        return new SlowOperationLog(properties, (database, command) -> {
+            explained.add(command);
+            return BsonDocument.parse(explainOutput);
+        }, Runnable::run);
+    }
+
+    private void run(SlowOperationLog log, String name, String command, String response, long millis) {
+        int id = ++requestId;
+        log.commandStarted(new CommandStartedEvent(null, 1L, id, CONNECTION, "jazflix", name, BsonDocument.parse(command)));
+        log.commandSucceeded(new CommandSucceededEvent(null, 1L, id, CONNECTION, "jazflix", name,
+                BsonDocument.parse(response), TimeUnit.MILLISECONDS.toNanos(millis)));
+    }
+
+    @Test
+    void fastCommandShouldNotBeRecorded() {
+        SlowOperationLog log = create();
+
+        run(log, "find", FIND, "{\"cursor\": {\"firstBatch\": []}}", 5);
+
+        assertTrue(log.recent().isEmpty());
+        assertTrue(explained.isEmpty());
+    }
+
+    @Test
+    void slowFindShouldBeRecordedWithMaskedShapeAndPlan() {
+        SlowOperationLog log = create();
+
+        run(log, "find", FIND, "{\"cursor\": {\"firstBatch\": [{}, {}]}}", 250);
+
+        SlowOperation operation = log.recent().get(0);
+        assertEquals("movies", operation.getCollection());
+        assertEquals("find", operation.getCommand());
+        assertEquals(250, operation.getDurationMillis());
+        assertEquals(2L, operation.getDocuments());
+        assertEquals(BsonDocument.parse("""
+                {"find": "movies", "filter": {"tags": {"$in": ["?"]}, "title": "?"}, "sort": {"_id": 1}, "limit": 20}"""),
+                BsonDocument.parse(operation.getShape()));
+        assertEquals("LIMIT > FETCH > IXSCAN tags_id", operation.getPlan());
+        assertFalse(operation.getCollectionScan());
+    }
+
+    @Test
+    void explainShouldRunOnTheOriginalCommandWithoutDriverFields() {
+        SlowOperationLog log = create();
+
+        run(log, "find", FIND, "{\"cursor\": {\"firstBatch\": []}}", 250);
+
+        BsonDocument command = explained.get(0);
+        assertEquals("queryPlanner", command.getString("verbosity").getValue());
+        assertEquals(3, command.getDocument("explain").getDocument("filter").getDocument("tags").getArray("$in").size());
+        assertFalse(command.getDocument("explain").containsKey("$db"));
+        assertFalse(command.getDocument("explain").containsKey("lsid"));
+    }
+
+    @Test
+    void collectionScanShouldBeFlagged() {
+        explainOutput = """
+                {"stages": [{"$cursor": {"queryPlanner": {"winningPlan": {"queryPlan": {"stage": "COLLSCAN"}}}}}]}""";
+        SlowOperationLog log = create();
+
+        run(log, "aggregate", "{\"aggregate\": \"movies\", \"pipeline\": [{\"$match\": {\"year\": 1999}}]}",
+                "{\"cursor\": {\"firstBatch\": []}}", 250);
+
+        SlowOperation operation = log.recent().get(0);
+        assertEquals("COLLSCAN", operation.getPlan());
+        assertTrue(operation.getCollectionScan());
+    }
+
+    @Test
+    void insertShouldBeRecordedWithoutExplain() {
+        SlowOperationLog log = create();
+
+        run(log, "insert", "{\"insert\": \"movies\", \"documents\": [{\"_id\": \"1\"}, {\"_id\": \"2\"}]}",
+                "{\"n\": 2}", 250);
+
+        SlowOperation operation = log.recent().get(0);
+        assertEquals(2L, operation.getDocuments());
+        assertNull(operation.getPlan());
+        assertTrue(explained.isEmpty());
+    }
+
+    @Test
+    void failedExplainShouldStillRecordTheOperation() {
+        SlowOperationLog log = new SlowOperationLog(properties, (database, command) -> {
+            throw new IllegalStateException("boom");
+        }, Runnable::run);
+
+        run(log, "find", FIND, "{\"cursor\": {\"firstBatch\": []}}", 250);
+
+        assertEquals(1, log.recent().size());
+        assertNull(log.recent().get(0).getPlan());
+    }
+
+    @Test
+    void failedCommandShouldNotBeRecorded() {
+        SlowOperationLog log = create();
+
+        log.commandStarted(new CommandStartedEvent(null, 1L, 7, CONNECTION, "jazflix", "find", BsonDocument.parse(FIND)));
+        log.commandFailed(new CommandFailedEvent(null, 1L, 7, CONNECTION, "jazflix", "find",
+                TimeUnit.SECONDS.toNanos(1), new IllegalStateException()));
+
+        assertTrue(log.recent().isEmpty());
+    }
+
+    @Test
+    void bufferShouldKeepTheMostRecentOperations() throws InterruptedException {
+        SlowOperationLog log = create();
+
+        for (String collection : List.of("movies", "sections", "users")) {
+            run(log, "count", "{\"count\": \"" + collection + "\"}", "{\"n\": 1}", 250);
+            Thread.sleep(2);
+        }
+
+        List<SlowOperation> recent = log.recent();
+        assertEquals(2, recent.size());
+        assertEquals("users", recent.get(0).getCollection());
+        assertEquals("sections", recent.get(1).getCollection());
+    }
+}
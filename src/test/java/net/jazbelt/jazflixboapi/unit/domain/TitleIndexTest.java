@@ -0,0 +1,120 @@
+package net.jazbelt.jazflixboapi.unit.domain;
+
+import net.jazbelt.jazflixboapi.domain.TitleIndex;
+import net.jazbelt.jazflixboapi.model.dto.TitleSuggestion;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TitleIndexTest {
+
+    TitleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TitleIndex();
+        index.replaceAll(() -> Stream.of(
+                new Movie("1", "Amélie", null, null, null, null),
+                new Movie("2", "American  Beauty", null, null, null, null),
+                new Movie("3", "Alien", null, null, null, null),
+                new Movie("4", "america", null, null, null, null)
+        ));
+    }
+
+    @Test
+    void foldShouldIgnoreCaseAccentsAndExtraSpaces() {
+        assertEquals("amelie poulain", TitleIndex.fold("  AMÉLIE   Poulain "));
+    }
+
+    @Test
+    void suggestShouldReturnFoldedPrefixMatchesSorted() {
+        List<TitleSuggestion> result = index.suggest("AME", 10);
+
+        assertEquals(List.of("1", "4", "2"), result.stream().map(TitleSuggestion::getId).toList());
+        assertEquals("Amélie", result.get(0).getTitle());
+    }
+
+    @Test
+    void suggestShouldMatchAcrossCollapsedSpaces() {
+        assertEquals("2", index.suggest("american b", 10).get(0).getId());
+    }
+
+    @Test
+    void suggestShouldRespectLimit() {
+        assertEquals(2, index.suggest("a", 2).size());
+    }
+
+    @Test
+    void suggestWithBlankPrefixShouldReturnNothing() {
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void putShouldReplacePreviousTitle() {
+        index.put("3", "Aliens");
+        index.put("5", "Zorro");
+
+        assertEquals("Aliens", index.suggest("alien", 10).get(0).getTitle());
+        assertEquals(1, index.suggest("alien", 10).size());
+        assertEquals("5", index.suggest("zo", 10).get(0).getId());
+    }
+
+    @Test
+    void removeShouldDropTitle() {
+        index.remove("3");
+        index.remove("x");
+
+        assertTrue(index.suggest("ali", 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void replaceAllShouldSettleTitlePutOutOfOrder() {
+        index.put("3", "Aliens");
+        index.put("3", "Alien 3");
+        index.replaceAll(() -> Stream.of(new Movie("3", "Aliens", null, null, null, null)));
+
+        assertEquals(List.of("Aliens"), index.suggest("alien", 10).stream().map(TitleSuggestion::getTitle).toList());
+    }
+
+    @Test
+    void writeDuringReplaceAllShouldApplyToRebuiltIndex() throws Exception {
+        Thread rename = new Thread(() -> index.put("3", "Aliens"));
+
+        index.replaceAll(() -> {
+            rename.start();
+            try {
+                rename.join(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Stream.of(new Movie("3", "Alien", null, null, null, null));
+        });
+        rename.join();
+
+        assertEquals("Aliens", index.suggest("alien", 10).get(0).getTitle());
+        assertEquals(1, index.suggest("alien", 10).size());
+    }
+
+    @Test
+    void concurrentPutsForSameIdShouldKeepOneTitle() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int i = 0; i < 4000; i++) {
+            String title = "Zorro " + i % 8;
+            executor.execute(() -> index.put("9", title));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1, index.suggest("zorro", 10).size());
+    }
+}
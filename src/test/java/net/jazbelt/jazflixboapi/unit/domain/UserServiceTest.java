@@ -1,8 +1,18 @@
 package net.jazbelt.jazflixboapi.unit.domain;
 
+import net.jazbelt.jazflixboapi.domain.AllowList;
+import net.jazbelt.jazflixboapi.domain.CollectionVersions;
+import net.jazbelt.jazflixboapi.domain.EntityCache;
 import net.jazbelt.jazflixboapi.domain.IUserService;
 import net.jazbelt.jazflixboapi.domain.UserService;
+import net.jazbelt.jazflixboapi.error.DuplicateUserException;
+import net.jazbelt.jazflixboapi.error.InvalidCursorException;
+import net.jazbelt.jazflixboapi.error.UserNameMismatchException;
 import net.jazbelt.jazflixboapi.error.UserNotFoundException;
+import net.jazbelt.jazflixboapi.error.VersionConflictException;
+import net.jazbelt.jazflixboapi.model.dto.BatchGetResult;
+import net.jazbelt.jazflixboapi.model.dto.CursorPage;
+import net.jazbelt.jazflixboapi.model.dto.MergePatch;
 import net.jazbelt.jazflixboapi.model.entity.User;
 import net.jazbelt.jazflixboapi.model.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,10 +20,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,9 +42,15 @@ class UserServiceTest {
 
     @Mock UserRepository repository;
 
+    CollectionVersions versions;
+
+    AllowList allowList;
+
     @BeforeEach
     void setUp() {
-        service = new UserService(repository);
+        versions = new CollectionVersions();
+        allowList = new AllowList(100, Duration.ofMinutes(1));
+        service = new UserService(repository, new EntityCache<>("users", 100, Duration.ofMinutes(1)), versions, allowList);
 
         User john = new User("abc123", "jdoe@foo.bar", true);
         User jack = new User("xyz456", "jackie@foo.bar", false);
@@ -43,6 +66,15 @@ class UserServiceTest {
 
         lenient().when(repository.save(any(User.class)))
                 .thenReturn(john);
+        lenient().when(repository.replaceVersioned(eq("abc123"), any(), any(User.class)))
+                .thenReturn(true);
+        lenient().when(repository.deleteVersioned(eq("abc123"), any()))
+                .thenReturn(true);
+        lenient().when(repository.existsById("abc123"))
+                .thenReturn(true);
+
+        lenient().when(repository.findAllByOrderByIdAsc(Limit.of(2)))
+                .thenReturn(Arrays.asList(john, jack));
     }
 
     @Test
@@ -54,6 +86,23 @@ class UserServiceTest {
         assertTrue(user.getEnabled());
     }
 
+    @Test
+    void writesShouldIncrementUsersVersion() {
+        service.createUser(new User());
+        service.updateUser("abc123", new User());
+        service.deleteUser("abc123");
+
+        assertEquals(3, versions.current(CollectionVersions.USERS));
+    }
+
+    @Test
+    void retrieveUserDetailsTwiceShouldHitDatabaseOnce() {
+        service.retrieveUserDetails("abc123");
+        service.retrieveUserDetails("abc123");
+
+        verify(repository, times(1)).findById("abc123");
+    }
+
     @Test
     void retrieveNonExistingUserShouldThrowException() {
         Exception ex = assertThrows(UserNotFoundException.class, () ->
@@ -80,6 +129,23 @@ class UserServiceTest {
         assertFalse(user.getEnabled());
     }
 
+    @Test
+    void retrieveUsersPage() {
+        CursorPage<User> page = service.retrieveUsersPage(null, 1);
+
+        verify(repository).findAllByOrderByIdAsc(Limit.of(2));
+        assertEquals(1, page.getItems().size());
+        assertEquals("abc123", page.getItems().get(0).getId());
+        assertNotNull(page.getNext());
+    }
+
+    @Test
+    void retrieveUsersPageWithInvalidCursorShouldThrowException() {
+        assertThrows(InvalidCursorException.class, () ->
+            service.retrieveUsersPage("%%%", 10)
+        );
+    }
+
     @Test
     void createUser() {
         User input = new User(
@@ -105,14 +171,14 @@ class UserServiceTest {
 
         service.updateUser("abc123", input);
 
-        verify(repository).save(input);
+        verify(repository).replaceVersioned("abc123", null, input);
     }
 
     @Test
     void updateUserWithMismatchIDShouldUsePathId() {
         service.updateUser("abc123", new User("abc12", "jdoe@foo.bar", true));
 
-        verify(repository).save(new User("abc123", "jdoe@foo.bar", true));
+        verify(repository).replaceVersioned("abc123", null, new User("abc123", "jdoe@foo.bar", true));
     }
 
     @Test
@@ -124,10 +190,43 @@ class UserServiceTest {
         assertEquals("User [invalidId] not found", ex.getMessage());
     }
 
+    @Test
+    void updateUserWithOutdatedVersionShouldThrowVersionConflictException() {
+        User input = new User("abc123", "jdoe@foo.bar", true);
+        input.setVersion(4L);
+        when(repository.replaceVersioned("abc123", 4L, input)).thenReturn(false);
+
+        Exception ex = assertThrows(VersionConflictException.class, () ->
+            service.updateUser("abc123", input)
+        );
+
+        assertEquals("User [abc123] is no longer at version 4", ex.getMessage());
+    }
+
+    @Test
+    void patchUserShouldInvokeRepositoryPatch() {
+        MergePatch patch = new MergePatch(Map.of("enabled", false));
+        when(repository.patchVersioned("abc123", null, patch)).thenReturn(true);
+
+        service.patchUser("abc123", patch, null);
+
+        verify(repository).patchVersioned("abc123", null, patch);
+        assertEquals(1, versions.current(CollectionVersions.USERS));
+    }
+
     @Test
     void deleteUser() {
         service.deleteUser("abc123");
-        verify(repository).deleteById("abc123");
+        verify(repository).deleteVersioned("abc123", null);
+    }
+
+    @Test
+    void deleteUserWithOutdatedVersionShouldThrowVersionConflictException() {
+        when(repository.deleteVersioned("abc123", 4L)).thenReturn(false);
+
+        assertThrows(VersionConflictException.class, () ->
+            service.deleteUser("abc123", 4L)
+        );
     }
 
     @Test
@@ -138,4 +237,119 @@ class UserServiceTest {
 
         assertEquals("User [not_exists] not found", ex.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void retrieveUserByName() {
+        when(repository.findByName("jdoe@foo.bar")).thenReturn(Optional.of(new User("abc123", "jdoe@foo.bar", true)));
+
+        assertEquals("abc123", service.retrieveUserByName("jdoe@foo.bar").getId());
+        assertThrows(UserNotFoundException.class, () -> service.retrieveUserByName("nobody@foo.bar"));
+    }
+
+    @Test
+    void upsertUserByNameShouldWriteOnceAndIncrementVersion() {
+        User input = new User(null, "new@foo.bar", true);
+        when(repository.upsertByName("new@foo.bar", input)).thenReturn(new User("new789", "new@foo.bar", true, 0L));
+        long before = versions.current(CollectionVersions.USERS);
+
+        User stored = service.upsertUserByName("new@foo.bar", input);
+
+        assertEquals("new789", stored.getId());
+        assertEquals(before + 1, versions.current(CollectionVersions.USERS));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void upsertUserByNameWithMismatchNameShouldThrowException() {
+        User input = new User(null, "other@foo.bar", true);
+
+        assertThrows(UserNameMismatchException.class, () -> service.upsertUserByName("new@foo.bar", input));
+        verify(repository, never()).upsertByName(any(), any());
+    }
+
+    @Test
+    void createUserWithTakenNameShouldThrowDuplicateUserException() {
+        when(repository.save(any(User.class))).thenThrow(new DuplicateKeyException("E11000"));
+
+        assertThrows(DuplicateUserException.class, () -> service.createUser(new User(null, "jdoe@foo.bar", true)));
+    }
+
+    @Test
+    void isAllowedShouldAnswerFromReloadedAllowList() {
+        when(repository.streamAllBy()).thenReturn(Stream.of(
+                new User("abc123", "jdoe@foo.bar", true),
+                new User("xyz456", "jackie@foo.bar", false)
+        ));
+
+        service.reloadAllowList();
+
+        assertTrue(service.isAllowed("jdoe@foo.bar"));
+        verify(repository, never()).findByName(any());
+    }
+
+    @Test
+    void isAllowedShouldRememberUnknownNames() {
+        when(repository.findByName("nobody@foo.bar")).thenReturn(Optional.empty());
+
+        assertFalse(service.isAllowed("nobody@foo.bar"));
+        assertFalse(service.isAllowed("nobody@foo.bar"));
+
+        verify(repository, times(1)).findByName("nobody@foo.bar");
+    }
+
+    @Test
+    void isAllowedShouldDenyWithoutRememberingWhenLookupFails() {
+        when(repository.findByName("new@foo.bar"))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(Optional.of(new User("new789", "new@foo.bar", true)));
+
+        assertFalse(service.isAllowed("new@foo.bar"));
+        assertTrue(service.isAllowed("new@foo.bar"));
+    }
+
+    @Test
+    void writesShouldMaintainAllowList() {
+        when(repository.save(any(User.class))).thenReturn(new User("new789", "new@foo.bar", true));
+
+        service.createUser(new User(null, "new@foo.bar", true));
+        assertTrue(allowList.allowed("new@foo.bar", name -> fail("Allowed user should not be loaded")));
+
+        when(repository.replaceVersioned(eq("new789"), any(), any(User.class))).thenReturn(true);
+        service.updateUser("new789", new User(null, "new@foo.bar", false));
+        assertEquals(0, allowList.size());
+
+        service.createUser(new User(null, "new@foo.bar", true));
+        when(repository.deleteVersioned(eq("new789"), any())).thenReturn(true);
+        service.deleteUser("new789");
+        assertEquals(0, allowList.size());
+    }
+
+    @Test
+    void patchUserEnabledShouldRefreshAllowList() {
+        when(repository.patchVersioned(eq("abc123"), any(), any())).thenReturn(true);
+
+        service.patchUser("abc123", new MergePatch(Map.of("enabled", true)), null);
+
+        assertEquals(1, allowList.size());
+        verify(repository).findById("abc123");
+    }
+
+    @Test
+    void retrieveUsersShouldServeCachedUsersAndListMissingIds() {
+        User john = service.retrieveUserDetails("abc123");
+        User jack = new User("xyz789", "jack@foo.bar", false);
+        when(repository.findAllById(Set.of("xyz789", "nope"))).thenReturn(List.of(jack));
+
+        BatchGetResult<User> result = service.retrieveUsers(List.of("abc123", "nope", "xyz789", "abc123"));
+
+        assertEquals(List.of(john, jack), result.getItems());
+        assertEquals(List.of("nope"), result.getMissing());
+    }
+
+    @Test
+    void createUserShouldIgnoreClientIdAndVersion() {
+        service.createUser(new User("abc", "new@foo.bar", true, 3L));
+
+        verify(repository).save(argThat(user -> user.getId() == null && user.getVersion() == null));
+    }
+}
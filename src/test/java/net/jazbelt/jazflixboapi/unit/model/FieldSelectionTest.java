@@ -0,0 +1,44 @@
+package net.jazbelt.jazflixboapi.unit.model;
+
+import net.jazbelt.jazflixboapi.error.InvalidFieldsException;
+import net.jazbelt.jazflixboapi.model.dto.FieldSelection;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FieldSelectionTest {
+
+    @Test
+    void selectionShouldKeepRequestedFieldsWithoutId() {
+        FieldSelection selection = FieldSelection.of(Movie.class, List.of("title", " image", "id", ""));
+
+        assertEquals(Set.of("title", "image"), selection.getNames());
+    }
+
+    @Test
+    void unknownFieldShouldThrowInvalidFieldsException() {
+        InvalidFieldsException ex = assertThrows(InvalidFieldsException.class, () ->
+                FieldSelection.of(Movie.class, List.of("title", "director"))
+        );
+
+        assertEquals("Movie has no field [director]", ex.getMessage());
+    }
+
+    @Test
+    void renderShouldOnlyIncludeIdAndSelectedFields() {
+        Movie movie = new Movie("1", "Movie 1", "first", "1.png", "1.mp4", "tag1");
+        FieldSelection selection = FieldSelection.of(Movie.class, List.of("image", "title"));
+
+        Map<String, Object> result = selection.render(movie);
+
+        assertEquals(List.of("id", "image", "title"), List.copyOf(result.keySet()));
+        assertEquals("1", result.get("id"));
+        assertEquals("1.png", result.get("image"));
+        assertEquals("Movie 1", result.get("title"));
+    }
+}
@@ -0,0 +1,37 @@
+package net.jazbelt.jazflixboapi.unit.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.jazbelt.jazflixboapi.model.entity.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MovieTagsTest {
+
+    @Test
+    void parseTagsShouldTrimLowerCaseAndDropDuplicates() {
+        assertEquals(List.of("movies", "cartoon"), Movie.parseTags(" Movies,cartoon,, CARTOON "));
+    }
+
+    @Test
+    void parseTagsOfNullShouldReturnNull() {
+        assertNull(Movie.parseTags(null));
+    }
+
+    @Test
+    void setExtraShouldUpdateTags() {
+        Movie movie = new Movie("1", "Movie 1", null, "1.png", "1.mp4", "tag1");
+        movie.setExtra("tag2,tag3");
+
+        assertEquals(List.of("tag2", "tag3"), movie.getTags());
+    }
+
+    @Test
+    void tagsShouldBeIgnoredWhenReadFromJson() throws Exception {
+        Movie movie = new ObjectMapper().readValue("{\"extra\":\"a,b\",\"tags\":[\"c\"]}", Movie.class);
+
+        assertEquals(List.of("a", "b"), movie.getTags());
+    }
+}